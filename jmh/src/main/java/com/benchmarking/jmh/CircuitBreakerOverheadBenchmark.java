@@ -0,0 +1,151 @@
+package com.benchmarking.jmh;
+
+import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosAsyncClient;
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosClientBuilder;
+import com.azure.cosmos.models.CosmosItemResponse;
+import com.azure.cosmos.models.PartitionKey;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Point read dispatch in gateway mode with the partition level circuit breaker enabled and disabled, against a
+// GatewayStub with East US and West US as preferred regions. Run with -prof gc for gc.alloc.rate.norm.
+//  - HEALTHY     - both regions answer, the breaker only records successes
+//  - TRIPPING    - East US cycles through failing as many reads in a row as the breaker tolerates and then answering
+//                  again, the partition goes Healthy -> Unavailable -> HealthyTentative -> Healthy in every cycle
+//  - FAILED_OVER - East US fails every read and the breaker has tripped during setup, reads go to West US directly
+// The SDK keeps a tripped partition unavailable for at least 30 seconds and looks for partitions to recover once a
+// minute at most, so a TRIPPING cycle takes about a minute. Iterations last a minute so that every iteration covers
+// a full cycle : the recovery to HealthyTentative, the successful reads back to Healthy and the next trip, with reads
+// going to West US directly while the partition is unavailable.
+// Without the breaker failed reads from East US are retried in West US in both failing states.
+// Every trial forks its own JVM, so the system properties set up per trial do not leak into other trials.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 60)
+@Measurement(iterations = 3, time = 60)
+@Fork(1)
+public class CircuitBreakerOverheadBenchmark {
+
+    private static final String MASTER_KEY = "C2y6yDjf5/R+ob0N8A7Cgv30VRDJIWEHLM+4QDU5DE2nQ9nDuVTqobD4b8mGGyPMbIZnqyMsEcaGQy67XIw/Jw==";
+
+    private static final int CONSECUTIVE_READ_FAILURES_TOLERATED = 10;
+
+    public enum PartitionState {
+        HEALTHY(0, 1),
+        // the breaker trips on the tolerated count of failures in a row, a HealthyTentative partition needs as many
+        // successes in a row to become Healthy again
+        TRIPPING(CONSECUTIVE_READ_FAILURES_TOLERATED, CONSECUTIVE_READ_FAILURES_TOLERATED * 2),
+        FAILED_OVER(1, 0);
+
+        // East US fails the first firstRegionFailureCount reads of every cycle and answers the next firstRegionSuccessCount
+        private final int firstRegionFailureCount;
+
+        private final int firstRegionSuccessCount;
+
+        PartitionState(int firstRegionFailureCount, int firstRegionSuccessCount) {
+            this.firstRegionFailureCount = firstRegionFailureCount;
+            this.firstRegionSuccessCount = firstRegionSuccessCount;
+        }
+    }
+
+    @Param({"true", "false"})
+    public boolean isPartitionLevelCircuitBreakerEnabled;
+
+    @Param({"HEALTHY", "TRIPPING", "FAILED_OVER"})
+    public PartitionState partitionState;
+
+    @Param({"1000"})
+    public int itemCount;
+
+    private GatewayStubProcess gatewayStubProcess;
+
+    private CosmosAsyncClient cosmosAsyncClient;
+
+    private CosmosAsyncContainer cosmosAsyncContainer;
+
+    private String[] ids;
+
+    private PartitionKey[] partitionKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        System.setProperty(
+                "COSMOS.PARTITION_LEVEL_CIRCUIT_BREAKER_CONFIG",
+                "{\"isPartitionLevelCircuitBreakerEnabled\": " + this.isPartitionLevelCircuitBreakerEnabled + ", "
+                        + "\"circuitBreakerType\": \"CONSECUTIVE_EXCEPTION_COUNT_BASED\","
+                        + "\"consecutiveExceptionCountToleratedForReads\": " + CONSECUTIVE_READ_FAILURES_TOLERATED + ","
+                        + "\"consecutiveExceptionCountToleratedForWrites\": 5"
+                        + "}");
+
+        this.gatewayStubProcess = GatewayStubProcess.start(
+                this.partitionState.firstRegionFailureCount,
+                this.partitionState.firstRegionSuccessCount);
+        this.gatewayStubProcess.trustCertificate();
+
+        this.cosmosAsyncClient = new CosmosClientBuilder()
+                .endpoint(this.gatewayStubProcess.getEndpoint(0))
+                .key(MASTER_KEY)
+                .preferredRegions(Arrays.asList(GatewayStub.REGIONS))
+                .multipleWriteRegionsEnabled(true)
+                .consistencyLevel(ConsistencyLevel.SESSION)
+                .gatewayMode()
+                .buildAsyncClient();
+
+        this.cosmosAsyncContainer = this.cosmosAsyncClient
+                .getDatabase(GatewayStub.DATABASE_NAME)
+                .getContainer(GatewayStub.CONTAINER_NAME);
+
+        this.ids = new String[this.itemCount];
+        this.partitionKeys = new PartitionKey[this.itemCount];
+
+        for (int i = 0; i < this.itemCount; i++) {
+            this.ids[i] = String.valueOf(i + 1);
+            this.partitionKeys[i] = new PartitionKey(this.ids[i]);
+        }
+
+        // loads the account, container and partition key range caches and, when East US fails, trips the breaker
+        for (int i = 0; i < CONSECUTIVE_READ_FAILURES_TOLERATED * 2; i++) {
+            readItem();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (this.cosmosAsyncClient != null) {
+            this.cosmosAsyncClient.close();
+        }
+
+        if (this.gatewayStubProcess != null) {
+            this.gatewayStubProcess.close();
+        }
+    }
+
+    @Benchmark
+    public CosmosItemResponse<ObjectNode> readItem() {
+        int index = ThreadLocalRandom.current().nextInt(this.itemCount);
+
+        return this.cosmosAsyncContainer
+                .readItem(this.ids[index], this.partitionKeys[index], ObjectNode.class)
+                .block();
+    }
+}
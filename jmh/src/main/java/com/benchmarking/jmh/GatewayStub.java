@@ -0,0 +1,258 @@
+package com.benchmarking.jmh;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A two region, multi-write account answering just enough of the gateway protocol for point reads
+//  - GET /                                   - database account with both regions as read and write locations
+//  - GET /dbs/<db>/colls/<coll>              - a container partitioned by /id
+//  - GET /dbs/<db>/colls/<coll>/pkranges     - a single partition key range, 304 once the client has it
+//  - GET /dbs/<db>/colls/<coll>/docs/<id>    - an item with that id, or 503 for the failing reads in the first region
+// Every region listens on its own port of the loopback address. The client only speaks TLS to a gateway, so the stub
+// serves HTTPS with the localhost certificate of a PKCS12 key store, see GatewayStubProcess. The stub runs in its
+// own process so that its allocations do not show up in the benchmark's allocation rate.
+public final class GatewayStub implements AutoCloseable {
+
+    static final String DATABASE_NAME = "benchmarkDatabase";
+
+    static final String CONTAINER_NAME = "benchmarkContainer";
+
+    static final String[] REGIONS = {"East US", "West US"};
+
+    private static final String DATABASE_RID = "xYkOAA==";
+
+    private static final String CONTAINER_RID = "xYkOAMVhLzs=";
+
+    private static final String PARTITION_KEY_RANGES_ETAG = "\"00000000-0000-0000-0000-000000000001\"";
+
+    private final HttpsServer[] httpsServers = new HttpsServer[REGIONS.length];
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    private final AtomicLong lsn = new AtomicLong(1);
+
+    private final AtomicLong firstRegionReads = new AtomicLong();
+
+    private final int firstRegionFailureCount;
+
+    private final int firstRegionSuccessCount;
+
+    // item reads in the first region cycle through firstRegionFailureCount reads answered with 503, none for 0, and
+    // firstRegionSuccessCount reads answered with the item, none for 0
+    public GatewayStub(int firstRegionFailureCount, int firstRegionSuccessCount, Path keyStorePath, String keyStorePassword) throws IOException, GeneralSecurityException {
+        InetAddress loopbackAddress = InetAddress.getLoopbackAddress();
+        HttpsConfigurator httpsConfigurator = new HttpsConfigurator(buildSslContext(keyStorePath, keyStorePassword));
+
+        this.firstRegionFailureCount = firstRegionFailureCount;
+        this.firstRegionSuccessCount = firstRegionSuccessCount;
+
+        for (int i = 0; i < REGIONS.length; i++) {
+            boolean isFirstRegion = i == 0;
+
+            this.httpsServers[i] = HttpsServer.create(new InetSocketAddress(loopbackAddress, 0), 1024);
+            this.httpsServers[i].setHttpsConfigurator(httpsConfigurator);
+            this.httpsServers[i].createContext("/", exchange -> handle(exchange, isFirstRegion));
+            this.httpsServers[i].setExecutor(this.executorService);
+        }
+
+        for (HttpsServer httpsServer : this.httpsServers) {
+            httpsServer.start();
+        }
+    }
+
+    public int getPort(int regionIndex) {
+        return this.httpsServers[regionIndex].getAddress().getPort();
+    }
+
+    public String getEndpoint(int regionIndex) {
+        return toEndpoint(getPort(regionIndex));
+    }
+
+    static String toEndpoint(int port) {
+        return "https://localhost:" + port + "/";
+    }
+
+    @Override
+    public void close() {
+        for (HttpsServer httpsServer : this.httpsServers) {
+            httpsServer.stop(0);
+        }
+
+        this.executorService.shutdownNow();
+    }
+
+    private static SSLContext buildSslContext(Path keyStorePath, String keyStorePassword) throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+
+        try (InputStream inputStream = Files.newInputStream(keyStorePath)) {
+            keyStore.load(inputStream, keyStorePassword.toCharArray());
+        }
+
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, keyStorePassword.toCharArray());
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+        return sslContext;
+    }
+
+    private void handle(HttpExchange exchange, boolean isFirstRegion) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+
+            if (path.equals("/")) {
+                respond(exchange, 200, getDatabaseAccount());
+            } else if (path.endsWith("/pkranges")) {
+                String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+
+                if (PARTITION_KEY_RANGES_ETAG.equals(ifNoneMatch)) {
+                    respond(exchange, 304, null);
+                } else {
+                    exchange.getResponseHeaders().set("etag", PARTITION_KEY_RANGES_ETAG);
+                    exchange.getResponseHeaders().set("x-ms-item-count", "1");
+                    respond(exchange, 200, getPartitionKeyRanges());
+                }
+            } else if (path.contains("/docs/")) {
+                if (isFirstRegion && isFailing()) {
+                    exchange.getResponseHeaders().set("x-ms-substatus", "21008");
+                    respond(exchange, 503, "{\"code\":\"ServiceUnavailable\",\"message\":\"Injected by the gateway stub.\"}");
+                } else {
+                    String id = path.substring(path.lastIndexOf('/') + 1);
+
+                    exchange.getResponseHeaders().set("x-ms-session-token", "0:-1#" + this.lsn.incrementAndGet());
+                    exchange.getResponseHeaders().set("etag", "\"00000000-0000-0000-0000-000000000000\"");
+                    respond(exchange, 200, getItem(id));
+                }
+            } else if (path.matches("/dbs/[^/]+/colls/[^/]+/?")) {
+                respond(exchange, 200, getContainer());
+            } else {
+                respond(exchange, 404, "{\"code\":\"NotFound\",\"message\":\"The gateway stub does not serve " + path + ".\"}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean isFailing() {
+        if (this.firstRegionFailureCount == 0) {
+            return false;
+        }
+
+        if (this.firstRegionSuccessCount == 0) {
+            return true;
+        }
+
+        return this.firstRegionReads.getAndIncrement() % (this.firstRegionFailureCount + this.firstRegionSuccessCount) < this.firstRegionFailureCount;
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        String activityId = exchange.getRequestHeaders().getFirst("x-ms-activity-id");
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("x-ms-request-charge", "1.0");
+
+        if (activityId != null) {
+            exchange.getResponseHeaders().set("x-ms-activity-id", activityId);
+        }
+
+        if (body == null) {
+            exchange.sendResponseHeaders(statusCode, -1);
+            return;
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    private String getDatabaseAccount() {
+        StringBuilder locations = new StringBuilder();
+
+        for (int i = 0; i < REGIONS.length; i++) {
+            if (i > 0) {
+                locations.append(',');
+            }
+
+            locations.append("{\"name\":\"").append(REGIONS[i])
+                    .append("\",\"databaseAccountEndpoint\":\"").append(getEndpoint(i)).append("\"}");
+        }
+
+        return "{\"_self\":\"\",\"id\":\"gateway-stub\",\"_rid\":\"gateway-stub.documents.azure.com\","
+                + "\"media\":\"//media/\",\"addresses\":\"//addresses/\",\"_dbs\":\"//dbs/\","
+                + "\"writableLocations\":[" + locations + "],"
+                + "\"readableLocations\":[" + locations + "],"
+                + "\"enableMultipleWriteLocations\":true,"
+                + "\"userReplicationPolicy\":{\"asyncReplication\":false,\"minReplicaSetSize\":3,\"maxReplicasetSize\":4},"
+                + "\"userConsistencyPolicy\":{\"defaultConsistencyLevel\":\"Session\"},"
+                + "\"systemReplicationPolicy\":{\"minReplicaSetSize\":3,\"maxReplicasetSize\":4},"
+                + "\"readPolicy\":{\"primaryReadCoefficient\":1,\"secondaryReadCoefficient\":1},"
+                + "\"queryEngineConfiguration\":\"{}\"}";
+    }
+
+    private static String getContainer() {
+        return "{\"id\":\"" + CONTAINER_NAME + "\",\"_rid\":\"" + CONTAINER_RID + "\","
+                + "\"_self\":\"dbs/" + DATABASE_RID + "/colls/" + CONTAINER_RID + "/\","
+                + "\"_etag\":\"\\\"00000000-0000-0000-0000-000000000000\\\"\",\"_ts\":1700000000,"
+                + "\"partitionKey\":{\"paths\":[\"/id\"],\"kind\":\"Hash\",\"version\":2},"
+                + "\"indexingPolicy\":{\"indexingMode\":\"consistent\",\"automatic\":true,"
+                + "\"includedPaths\":[{\"path\":\"/*\"}],\"excludedPaths\":[{\"path\":\"/\\\"_etag\\\"/?\"}]}}";
+    }
+
+    private static String getPartitionKeyRanges() {
+        return "{\"_rid\":\"" + CONTAINER_RID + "\",\"_count\":1,\"PartitionKeyRanges\":[{"
+                + "\"_rid\":\"xYkOAMVhLzsCAAAAAAAAUA==\",\"id\":\"0\",\"_etag\":\"\\\"00000000-0000-0000-0000-000000000000\\\"\","
+                + "\"minInclusive\":\"\",\"maxExclusive\":\"FF\",\"ridPrefix\":0,\"_self\":\"\",\"throughputFraction\":1,"
+                + "\"status\":\"online\",\"parents\":[],\"_ts\":1700000000}]}";
+    }
+
+    private static String getItem(String id) {
+        return "{\"id\":\"" + id + "\",\"_rid\":\"xYkOAMVhLzsBAAAAAAAAAA==\","
+                + "\"_self\":\"dbs/" + DATABASE_RID + "/colls/" + CONTAINER_RID + "/docs/xYkOAMVhLzsBAAAAAAAAAA==/\","
+                + "\"_etag\":\"\\\"00000000-0000-0000-0000-000000000000\\\"\",\"_ts\":1700000000}";
+    }
+
+    // arguments : <firstRegionFailureCount> <firstRegionSuccessCount> <key store path> <key store password>
+    // prints the port of every region on one line, then serves until stdin is closed by the parent process
+    public static void main(String[] args) throws IOException, GeneralSecurityException {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("Expected <firstRegionFailureCount> <firstRegionSuccessCount> <key store path> <key store password>.");
+        }
+
+        try (GatewayStub gatewayStub = new GatewayStub(Integer.parseInt(args[0]), Integer.parseInt(args[1]), Paths.get(args[2]), args[3])) {
+            StringBuilder ports = new StringBuilder();
+
+            for (int i = 0; i < REGIONS.length; i++) {
+                ports.append(i == 0 ? "" : " ").append(gatewayStub.getPort(i));
+            }
+
+            System.out.println(ports);
+            System.out.flush();
+
+            while (System.in.read() != -1) {
+                // ignore input, the stub only waits for the parent to go away
+            }
+        }
+    }
+}
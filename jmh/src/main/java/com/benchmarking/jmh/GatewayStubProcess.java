@@ -0,0 +1,129 @@
+package com.benchmarking.jmh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+// Runs a GatewayStub in a child JVM on the benchmark's class path. The child exits once its stdin is closed,
+// which also happens when the benchmark JVM dies without tearing down.
+// The stub's localhost certificate is generated with the JDK's keytool into a temporary PKCS12 key store, which
+// the benchmark JVM trusts through javax.net.ssl.trustStore, see trustCertificate.
+final class GatewayStubProcess implements AutoCloseable {
+
+    private static final String KEY_STORE_PASSWORD = "gateway-stub";
+
+    private final Process process;
+
+    private final Path keyStoreDirectory;
+
+    private final Path keyStorePath;
+
+    private final int[] ports;
+
+    private GatewayStubProcess(Process process, Path keyStoreDirectory, Path keyStorePath, int[] ports) {
+        this.process = process;
+        this.keyStoreDirectory = keyStoreDirectory;
+        this.keyStorePath = keyStorePath;
+        this.ports = ports;
+    }
+
+    static GatewayStubProcess start(int firstRegionFailureCount, int firstRegionSuccessCount) throws IOException {
+        Path keyStoreDirectory = Files.createTempDirectory("gateway-stub");
+        Path keyStorePath = keyStoreDirectory.resolve("gateway-stub.p12");
+
+        run(getJdkTool("keytool"),
+                "-genkeypair",
+                "-alias", "gateway-stub",
+                "-keyalg", "EC",
+                "-dname", "CN=localhost",
+                "-ext", "SAN=dns:localhost,ip:127.0.0.1",
+                "-validity", "2",
+                "-storetype", "PKCS12",
+                "-keystore", keyStorePath.toString(),
+                "-storepass", KEY_STORE_PASSWORD);
+
+        Process process = new ProcessBuilder(
+                getJdkTool("java"),
+                // without it responses wait out delayed acknowledgements of the client
+                "-Dsun.net.httpserver.nodelay=true",
+                "-cp",
+                System.getProperty("java.class.path"),
+                GatewayStub.class.getName(),
+                String.valueOf(firstRegionFailureCount),
+                String.valueOf(firstRegionSuccessCount),
+                keyStorePath.toString(),
+                KEY_STORE_PASSWORD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = reader.readLine();
+
+        if (line == null) {
+            process.destroyForcibly();
+            throw new IOException("The gateway stub exited before reporting its ports.");
+        }
+
+        String[] portsAsStrings = line.trim().split(" ");
+        int[] ports = new int[portsAsStrings.length];
+
+        for (int i = 0; i < ports.length; i++) {
+            ports[i] = Integer.parseInt(portsAsStrings[i]);
+        }
+
+        return new GatewayStubProcess(process, keyStoreDirectory, keyStorePath, ports);
+    }
+
+    // has to happen before the first client is built, the client's TLS context is created once per client
+    void trustCertificate() {
+        System.setProperty("javax.net.ssl.trustStore", this.keyStorePath.toString());
+        System.setProperty("javax.net.ssl.trustStorePassword", KEY_STORE_PASSWORD);
+        System.setProperty("javax.net.ssl.trustStoreType", "PKCS12");
+    }
+
+    String getEndpoint(int regionIndex) {
+        return GatewayStub.toEndpoint(this.ports[regionIndex]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.process.getOutputStream().close();
+
+        try {
+            if (!this.process.waitFor(10, TimeUnit.SECONDS)) {
+                this.process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.process.destroyForcibly();
+        }
+
+        Files.deleteIfExists(this.keyStorePath);
+        Files.deleteIfExists(this.keyStoreDirectory);
+    }
+
+    private static String getJdkTool(String name) {
+        return Paths.get(System.getProperty("java.home"), "bin", name).toString();
+    }
+
+    private static void run(String... command) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("Failed to run " + command[0] + ", exit code : " + process.exitValue());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + command[0], e);
+        }
+    }
+}
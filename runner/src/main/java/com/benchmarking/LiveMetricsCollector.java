@@ -0,0 +1,113 @@
+package com.benchmarking;
+
+import com.benchmarking.metrics.CircuitBreakerAnalyzer;
+import com.benchmarking.metrics.PrometheusWriter;
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.target.FaultRuleSnapshot;
+import com.benchmarking.workload.OperationDispatcher;
+import com.benchmarking.workload.OperationType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Writes the run state of every workload into a snapshot of the LiveMetricsEndpoint. Everything read here is
+// either a striped counter, an atomic or a volatile the workload threads update anyway, nothing is locked against them.
+//  - operations and request charge by operation type and outcome, in-flight operations
+//  - operations by the region they were first sent to and the region they completed in, a rise of the final region
+//    operations outside the first preferred region is a breaker driven region shift
+//  - fault windows, those in which a failover has been observed and the operations failed before it
+//  - fault rules, whether they are enabled and their hits
+class LiveMetricsCollector implements Consumer<PrometheusWriter> {
+
+    private final List<WorkloadUnit> workloadUnits;
+
+    private final PhaseTracker phaseTracker;
+
+    LiveMetricsCollector(List<WorkloadUnit> workloadUnits, PhaseTracker phaseTracker) {
+        this.workloadUnits = workloadUnits;
+        this.phaseTracker = phaseTracker;
+    }
+
+    @Override
+    public void accept(PrometheusWriter writer) {
+        writer.gauge("cosmos_benchmark_phase", "The scenario phase which is currently running.")
+                .sample(1, "phase", this.phaseTracker.getCurrentPhase());
+
+        for (WorkloadUnit workloadUnit : this.workloadUnits) {
+            writeOperations(writer, workloadUnit);
+            writeRegionTraffic(writer, workloadUnit);
+            writeCircuitBreaker(writer, workloadUnit);
+            writeFaultRules(writer, workloadUnit);
+        }
+    }
+
+    private static void writeOperations(PrometheusWriter writer, WorkloadUnit workloadUnit) {
+        String workload = workloadUnit.getName();
+        OperationDispatcher operationDispatcher = workloadUnit.getOperationDispatcher();
+        PrometheusWriter.Family operations = writer.counter("cosmos_benchmark_operations_total", "Completed operations.");
+        PrometheusWriter.Family requestCharge = writer.counter("cosmos_benchmark_request_charge_total", "Request units charged for completed operations.");
+
+        for (OperationType operationType : OperationType.values()) {
+            long successfulOperations = operationDispatcher.getSuccessfulOperationCount(operationType);
+            long failedOperations = operationDispatcher.getFailedOperationCount(operationType);
+
+            if (successfulOperations + failedOperations == 0) {
+                continue;
+            }
+
+            operations.sample(successfulOperations, "workload", workload, "operation_type", operationType.name(), "outcome", "success");
+            operations.sample(failedOperations, "workload", workload, "operation_type", operationType.name(), "outcome", "failure");
+            requestCharge.sample(operationDispatcher.getRequestCharge(operationType), "workload", workload, "operation_type", operationType.name());
+        }
+
+        writer.gauge("cosmos_benchmark_in_flight_operations", "Operations issued but not yet completed.")
+                .sample(operationDispatcher.getInFlightOperationCount(), "workload", workload);
+        writer.gauge("cosmos_benchmark_target_operations_per_second", "The rate the workload engine currently aims for.")
+                .sample(workloadUnit.getWorkloadEngine().getTargetOperationsPerSecond(), "workload", workload);
+    }
+
+    // totals are keyed dimension/region/outcome
+    private static void writeRegionTraffic(PrometheusWriter writer, WorkloadUnit workloadUnit) {
+        PrometheusWriter.Family regionOperations = writer.counter(
+                "cosmos_benchmark_region_operations_total",
+                "Operations by the region they were first sent to (firstRegion) and the region they completed in (finalRegion).");
+
+        for (Map.Entry<String, Long> entry : workloadUnit.getRegionTrafficCounters().getTotals().entrySet()) {
+            String key = entry.getKey();
+            int regionStart = key.indexOf('/');
+            int regionEnd = key.lastIndexOf('/');
+
+            regionOperations.sample(entry.getValue(),
+                    "workload", workloadUnit.getName(),
+                    "dimension", key.substring(0, regionStart),
+                    "region", key.substring(regionStart + 1, regionEnd),
+                    "outcome", "successes".equals(key.substring(regionEnd + 1)) ? "success" : "failure");
+        }
+    }
+
+    private static void writeCircuitBreaker(PrometheusWriter writer, WorkloadUnit workloadUnit) {
+        String workload = workloadUnit.getName();
+        CircuitBreakerAnalyzer circuitBreakerAnalyzer = workloadUnit.getCircuitBreakerAnalyzer();
+
+        writer.counter("cosmos_benchmark_fault_windows_total", "Faults injected into a region and feed range.")
+                .sample(circuitBreakerAnalyzer.getFaultWindowCount(), "workload", workload);
+        writer.counter("cosmos_benchmark_failed_over_fault_windows_total", "Fault windows in which operations have failed over to another region.")
+                .sample(circuitBreakerAnalyzer.getTimesToFirstFailover().size(), "workload", workload);
+        writer.counter("cosmos_benchmark_failed_operations_before_failover_total", "Operations on faulted feed ranges which failed before the first failover.")
+                .sample(circuitBreakerAnalyzer.getFailedOperationsBeforeFailover(), "workload", workload);
+    }
+
+    private static void writeFaultRules(PrometheusWriter writer, WorkloadUnit workloadUnit) {
+        String workload = workloadUnit.getName();
+        PrometheusWriter.Family enabled = writer.gauge("cosmos_benchmark_fault_rule_enabled", "1 while a fault rule is enabled.");
+        PrometheusWriter.Family injections = writer.counter("cosmos_benchmark_fault_rule_injections_total", "Injections of a fault rule.");
+        PrometheusWriter.Family hits = writer.counter("cosmos_benchmark_fault_rule_hits_total", "Requests a fault rule has been applied to.");
+
+        for (FaultRuleSnapshot snapshot : workloadUnit.getWorkloadTarget().getFaultRuleSnapshots()) {
+            enabled.sample(snapshot.isEnabled() ? 1 : 0, "workload", workload, "rule", snapshot.getRuleId());
+            injections.sample(snapshot.getInjectionCount(), "workload", workload, "rule", snapshot.getRuleId());
+            hits.sample(snapshot.getHitCount(), "workload", workload, "rule", snapshot.getRuleId());
+        }
+    }
+}
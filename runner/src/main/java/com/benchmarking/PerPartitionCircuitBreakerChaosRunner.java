@@ -0,0 +1,957 @@
+package com.benchmarking;
+
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.benchmarking.coordination.CoordinationAgent;
+import com.benchmarking.coordination.CoordinationMessage;
+import com.benchmarking.coordination.CoordinationMode;
+import com.benchmarking.coordination.MetricsSnapshot;
+import com.benchmarking.diagnostics.DiagnosticsCollector;
+import com.benchmarking.diagnostics.DiagnosticsWriter;
+import com.benchmarking.faults.FaultInjectionPayload;
+import com.benchmarking.faults.FaultInjectionPayloadCache;
+import com.benchmarking.faults.FaultTargetResolver;
+import com.benchmarking.metrics.AvailabilityStrategyAnalyzer;
+import com.benchmarking.metrics.CircuitBreakerAnalyzer;
+import com.benchmarking.metrics.FaultRuleReporter;
+import com.benchmarking.metrics.JvmResourceMonitor;
+import com.benchmarking.metrics.LatencyKey;
+import com.benchmarking.metrics.LatencyRecorder;
+import com.benchmarking.metrics.LiveMetricsEndpoint;
+import com.benchmarking.metrics.MetricsReporter;
+import com.benchmarking.metrics.RegionTrafficCounters;
+import com.benchmarking.metrics.RegionTrafficReporter;
+import com.benchmarking.metrics.RunSummary;
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.scenario.ScenarioScheduler;
+import com.benchmarking.target.CosmosWorkloadBackend;
+import com.benchmarking.target.SimulatedWorkloadBackend;
+import com.benchmarking.target.WorkloadBackend;
+import com.benchmarking.target.WorkloadTarget;
+import com.benchmarking.workload.CompositeWorkloadEngine;
+import com.benchmarking.workload.FeedRangeRoutingCache;
+import com.benchmarking.workload.HotspotKeyGenerator;
+import com.benchmarking.workload.KeyGenerator;
+import com.benchmarking.workload.KeyPool;
+import com.benchmarking.workload.KeySubset;
+import com.benchmarking.workload.LoadMode;
+import com.benchmarking.workload.OperationDispatcher;
+import com.benchmarking.workload.ReactiveWorkloadEngine;
+import com.benchmarking.workload.SequentialKeyGenerator;
+import com.benchmarking.workload.SubsetKeyGenerator;
+import com.benchmarking.workload.ThreadedWorkloadEngine;
+import com.benchmarking.workload.UniformKeyGenerator;
+import com.benchmarking.workload.WorkerMode;
+import com.benchmarking.workload.WorkloadEngine;
+import com.benchmarking.workload.ZipfianKeyGenerator;
+import com.entities.FaultInjectionParameters;
+import com.entities.Scenario;
+import com.entities.ScenarioFault;
+import com.entities.ScenarioPhase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utils.Configuration;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PerPartitionCircuitBreakerChaosRunner {
+
+    private static final int WORKLOAD_STATISTICS_LOGGING_INTERVAL_IN_SECONDS = 10;
+
+    private static final AtomicBoolean IS_STOPPED = new AtomicBoolean(false);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // daemon, shared by consecutive runs of a sweep and must not keep the JVM alive once the last run has ended
+    private static final Scheduler FAULT_INJECTION_SCHEDULER = Schedulers.newSingle("fault-injector-single", true);
+
+    private static final Logger logger = LoggerFactory.getLogger(PerPartitionCircuitBreakerChaosRunner.class);
+
+    // Steps to carry out:
+    //  1. Create one or more clients, of a live account or of an in-process simulated account
+    //  2. Create database and one or more containers if not already exists
+    //  3. Create some non-zero positive count of items in the container
+    //  4. Open connections and populate caches, then optionally run a warm-up load until throughput is stable and reset all metrics
+    //  5. Issue a mix of point operations and queries at a paced rate, either from a reactive pipeline or from independent workers, until some finite duration
+    //  6. In parallel with 5, schedule fault injections to 1 or more feed ranges, either periodically or along the phases of a scenario
+    // Runs may follow each other in one JVM, see CircuitBreakerSweep, clients read the circuit breaker config when they are built.
+    public RunSummary run(Configuration config) {
+
+        System.setProperty("COSMOS.PARTITION_LEVEL_CIRCUIT_BREAKER_CONFIG", buildPartitionLevelCircuitBreakerConfig(config));
+
+        if (config.getClientCount() < 1 || config.getContainerCount() < 1) {
+            throw new IllegalArgumentException("clientCount and containerCount should be positive.");
+        }
+
+        IS_STOPPED.set(false);
+
+        long startTimeInNanos = System.nanoTime();
+        WorkloadWarmup workloadWarmup = new WorkloadWarmup(
+                config.getWarmupDuration(),
+                config.getWarmupTargetOperationsPerSecond(),
+                config.getWarmupStabilityTolerance());
+
+        WorkloadBackend workloadBackend = null;
+        List<WorkloadUnit> workloadUnits = new ArrayList<>();
+        WorkloadEngine workloadEngine = null;
+        ScenarioScheduler scenarioScheduler = null;
+        MetricsReporter metricsReporter = null;
+        DiagnosticsWriter diagnosticsWriter = null;
+        RegionTrafficReporter regionTrafficReporter = null;
+        FaultRuleReporter faultRuleReporter = null;
+        LiveMetricsEndpoint liveMetricsEndpoint = null;
+        CoordinationAgent coordinationAgent = null;
+        Disposable faultInjectorSubscription = null;
+        PhaseTracker phaseTracker = new PhaseTracker();
+        JvmResourceMonitor jvmResourceMonitor = new JvmResourceMonitor();
+        AvailabilityStrategyAnalyzer availabilityStrategyAnalyzer = config.isThresholdBasedAvailabilityStrategyEnabled()
+                ? new AvailabilityStrategyAnalyzer()
+                : null;
+        Path runOutputDirectory = Paths.get(
+                config.getMetricsOutputDirectory(),
+                "run-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now()));
+
+        try (FaultInjectionPayloadCache faultInjectionPayloadCache = buildFaultInjectionPayloadCache()) {
+            Scenario scenario;
+
+            // an agent takes the scenario, the base target rate and the fault injection payload from the coordinator
+            if (config.getCoordinationMode() == CoordinationMode.AGENT) {
+                coordinationAgent = CoordinationAgent.connect(config.getCoordinatorAddress(), getAgentId(config));
+
+                CoordinationMessage configuration = coordinationAgent.getConfiguration();
+
+                config.setTargetOperationsPerSecond(configuration.getTargetOperationsPerSecond())
+                        .setFaultInjectionPayloadId(configuration.getFaultInjectionPayloadId())
+                        .setScenarioId(configuration.getScenarioId());
+
+                scenario = configuration.getScenario() == null
+                        ? null
+                        : validateScenario(config, OBJECT_MAPPER.readValue(configuration.getScenario(), Scenario.class), faultInjectionPayloadCache);
+            } else {
+                scenario = loadScenario(config, faultInjectionPayloadCache);
+            }
+
+            if (config.getWarmupTargetOperationsPerSecond() != null && config.getTargetOperationsPerSecond() <= 0) {
+                throw new IllegalArgumentException("warmupTargetOperationsPerSecond requires a bounded targetOperationsPerSecond.");
+            }
+
+            workloadBackend = buildWorkloadBackend(config);
+
+            List<String> containerIds = getContainerIds(config);
+
+            // service side resources and documents are set up once per container
+            for (String containerId : containerIds) {
+                workloadBackend.setupContainer(containerId, config.getItemCountToPreCreate());
+            }
+
+            Duration containerSetupDuration = Duration.ofNanos(System.nanoTime() - startTimeInNanos);
+            long clientInitializationStartTimeInNanos = System.nanoTime();
+
+            workloadBackend.initializeClients(containerIds);
+
+            Duration clientInitializationDuration = Duration.ofNanos(System.nanoTime() - clientInitializationStartTimeInNanos);
+
+            KeyPool keyPool = new KeyPool(config.getItemCountToPreCreate());
+            Set<String> faultInjectionPayloadIds = getFaultInjectionPayloadIds(config, scenario);
+
+            Map<String, FeedRangeRoutingCache> feedRangeRoutingCachesByContainerId = new LinkedHashMap<>();
+            Map<String, FaultTargetResolver> faultTargetResolversByContainerId = new LinkedHashMap<>();
+
+            for (String containerId : containerIds) {
+                WorkloadTarget workloadTarget = workloadBackend.getWorkloadTarget(0, containerId);
+                PartitionKeyDefinition partitionKeyDefinition = workloadTarget.getPartitionKeyDefinition().block();
+                List<FeedRange> feedRanges = workloadTarget.getFeedRanges().block();
+                FaultTargetResolver faultTargetResolver = new FaultTargetResolver(containerId, partitionKeyDefinition, feedRanges);
+
+                faultTargetResolversByContainerId.put(containerId, faultTargetResolver);
+                feedRangeRoutingCachesByContainerId.put(
+                        containerId,
+                        buildFeedRangeRoutingCache(feedRanges, partitionKeyDefinition, keyPool, faultTargetResolver, faultInjectionPayloadIds, faultInjectionPayloadCache));
+
+                // a split changes what selectors resolve to, keys keep the feed range they were mapped to at startup
+                faultTargetResolver.addFeedRangeListener(() -> updateFaultedFeedRanges(
+                        feedRangeRoutingCachesByContainerId.get(containerId),
+                        faultTargetResolver,
+                        faultInjectionPayloadIds,
+                        faultInjectionPayloadCache));
+            }
+
+            // an edited payload may target other feed ranges, keep the faulted / healthy tags in line with it
+            faultInjectionPayloadCache.addReloadListener(ignore -> {
+                for (String containerId : containerIds) {
+                    updateFaultedFeedRanges(
+                            feedRangeRoutingCachesByContainerId.get(containerId),
+                            faultTargetResolversByContainerId.get(containerId),
+                            faultInjectionPayloadIds,
+                            faultInjectionPayloadCache);
+                }
+            });
+            faultInjectionPayloadCache.startWatching();
+
+            diagnosticsWriter = new DiagnosticsWriter(config.getDiagnosticsBufferCapacity(), runOutputDirectory);
+            diagnosticsWriter.start();
+
+            for (int i = 0; i < workloadBackend.getClientCount(); i++) {
+                for (String containerId : containerIds) {
+                    workloadUnits.add(buildWorkloadUnit(
+                            config,
+                            "client-" + i + "/" + containerId,
+                            workloadBackend.getWorkloadTarget(i, containerId),
+                            keyPool,
+                            feedRangeRoutingCachesByContainerId.get(containerId),
+                            diagnosticsWriter,
+                            availabilityStrategyAnalyzer,
+                            phaseTracker));
+                }
+            }
+
+            metricsReporter = buildMetricsReporter(config, runOutputDirectory, workloadUnits);
+            regionTrafficReporter = new RegionTrafficReporter(getRegionTrafficCountersByWorkload(workloadUnits), phaseTracker, runOutputDirectory);
+            faultRuleReporter = new FaultRuleReporter(getWorkloadTargetsByWorkload(workloadUnits), phaseTracker, runOutputDirectory, config.getFaultRulePollingInterval());
+
+            if (config.getMetricsEndpointPort() != null) {
+                liveMetricsEndpoint = new LiveMetricsEndpoint(
+                        config.getMetricsEndpointPort(),
+                        config.getMetricsEndpointRefreshInterval(),
+                        new LiveMetricsCollector(workloadUnits, phaseTracker));
+
+                metricsReporter.addIntervalListener(liveMetricsEndpoint::onIntervalReported);
+            }
+
+            logger.info("Workload target : {}, workload mix : {}, key distribution : {} over {} keys of subset : {}, clients : {}, containers : {}",
+                    config.getWorkloadTarget(),
+                    config.getWorkloadMix(),
+                    config.getKeyDistribution(),
+                    keyPool.size(),
+                    config.getTargetKeySubset(),
+                    config.getClientCount(),
+                    config.getContainerCount());
+
+            workloadEngine = buildWorkloadEngine(workloadUnits);
+
+            Duration warmupDuration = workloadWarmup.isEnabled()
+                    ? workloadWarmup.run(workloadEngine, workloadUnits, phaseTracker, IS_STOPPED)
+                    : Duration.ZERO;
+
+            logger.info("Startup - container setup : {} ms, client initialization : {} ms, warm-up : {} ms",
+                    containerSetupDuration.toMillis(),
+                    clientInitializationDuration.toMillis(),
+                    warmupDuration.toMillis());
+
+            // an agent starts measuring together with all other agents, after a warm-up the load keeps running meanwhile
+            if (coordinationAgent != null) {
+                CoordinationMessage start = coordinationAgent.awaitStart();
+                long startDelayInMillis = start.getStartTimeInEpochMillis() - System.currentTimeMillis();
+
+                phaseTracker.setCurrentPhase(start.getPhase());
+
+                if (startDelayInMillis > 0) {
+                    Thread.sleep(startDelayInMillis);
+                }
+            }
+
+            // operations of the warm-up still in flight are attributed to the warmup phase
+            if (workloadWarmup.isEnabled()) {
+                resetMetrics(workloadUnits, availabilityStrategyAnalyzer);
+            } else {
+                workloadEngine.start();
+            }
+
+            metricsReporter.start();
+            regionTrafficReporter.start();
+            faultRuleReporter.start();
+
+            if (liveMetricsEndpoint != null) {
+                liveMetricsEndpoint.start();
+            }
+
+            Duration runDuration;
+
+            if (coordinationAgent != null) {
+                coordinationAgent.startListening(
+                        phaseTracker,
+                        workloadEngine,
+                        faultInjectionPayloadId -> injectFault(faultInjectionPayloadId, faultInjectionPayloadCache, faultTargetResolversByContainerId, workloadUnits),
+                        IS_STOPPED);
+
+                // the coordinator decides when the run ends
+                runDuration = Duration.ofSeconds(Integer.MAX_VALUE);
+
+                logger.info("Agent {} started, the coordinator runs the cluster for {}",
+                        coordinationAgent.getAgentId(),
+                        Duration.ofMillis(coordinationAgent.getConfiguration().getRunDurationInMillis()));
+            } else if (scenario != null) {
+                scenarioScheduler = new ScenarioScheduler(
+                        scenario,
+                        workloadEngine,
+                        phaseTracker,
+                        faultInjectionPayloadId -> injectFault(faultInjectionPayloadId, faultInjectionPayloadCache, faultTargetResolversByContainerId, workloadUnits),
+                        IS_STOPPED);
+
+                scenarioScheduler.start();
+
+                runDuration = scenario.getTotalDuration();
+            } else {
+                Flux<Void> faultInjectorProcess = startFaultInjectorProcess(config, faultInjectionPayloadCache, faultTargetResolversByContainerId, workloadUnits);
+
+                faultInjectorSubscription = faultInjectorProcess.subscribe();
+
+                runDuration = config.getRunDuration();
+            }
+
+            int oneSecondLoopCountRequired = (int) runDuration.getSeconds();
+
+            logger.info("One second loop count required for workload run : {}", oneSecondLoopCountRequired);
+
+            for (int i = 0; i < oneSecondLoopCountRequired && !IS_STOPPED.get(); i++) {
+                Thread.sleep(1_000);
+
+                if ((i + 1) % WORKLOAD_STATISTICS_LOGGING_INTERVAL_IN_SECONDS == 0) {
+                    logWorkloadStatistics(workloadUnits, phaseTracker);
+                    workloadEngine.logStatistics();
+                    diagnosticsWriter.logStatistics();
+                    jvmResourceMonitor.logStatistics();
+                }
+            }
+
+            IS_STOPPED.set(true);
+
+            for (WorkloadUnit workloadUnit : workloadUnits) {
+                if (workloadUnits.size() > 1) {
+                    logger.info("Circuit breaker report for workload : {}", workloadUnit.getName());
+                }
+
+                workloadUnit.getCircuitBreakerAnalyzer().logReport();
+            }
+
+            if (availabilityStrategyAnalyzer != null) {
+                availabilityStrategyAnalyzer.writeReport(runOutputDirectory);
+            }
+
+            jvmResourceMonitor.logSummary();
+
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+
+            if (faultInjectorSubscription != null) {
+                faultInjectorSubscription.dispose();
+            }
+
+            if (scenarioScheduler != null) {
+                scenarioScheduler.stop();
+            }
+
+            if (workloadEngine != null) {
+                workloadEngine.stop();
+            }
+
+            if (metricsReporter != null) {
+                metricsReporter.close();
+            }
+
+            if (diagnosticsWriter != null) {
+                diagnosticsWriter.close();
+            }
+
+            if (regionTrafficReporter != null) {
+                regionTrafficReporter.close();
+            }
+
+            if (faultRuleReporter != null) {
+                faultRuleReporter.close();
+            }
+
+            if (liveMetricsEndpoint != null) {
+                liveMetricsEndpoint.close();
+            }
+
+            if (coordinationAgent != null) {
+                sendMetricsSnapshot(coordinationAgent, metricsReporter, workloadUnits);
+                coordinationAgent.close();
+            }
+
+            if (workloadBackend != null) {
+                workloadBackend.close();
+            }
+        }
+
+        return buildRunSummary(metricsReporter, workloadUnits);
+    }
+
+    private static String buildPartitionLevelCircuitBreakerConfig(Configuration config) {
+        return "{\"isPartitionLevelCircuitBreakerEnabled\": " + config.isPartitionLevelCircuitBreakerEnabled() + ", "
+                + "\"circuitBreakerType\": \"" + config.getCircuitBreakerType() + "\","
+                + "\"consecutiveExceptionCountToleratedForReads\": " + config.getConsecutiveExceptionCountToleratedForReads() + ","
+                + "\"consecutiveExceptionCountToleratedForWrites\": " + config.getConsecutiveExceptionCountToleratedForWrites()
+                + "}";
+    }
+
+    // the reporter is closed, so its run-wide histograms are complete
+    private static RunSummary buildRunSummary(MetricsReporter metricsReporter, List<WorkloadUnit> workloadUnits) {
+        List<Histogram> histograms = new ArrayList<>();
+        List<Histogram> faultedFeedRangesHistograms = new ArrayList<>();
+
+        for (Map.Entry<String, Map<LatencyKey, Histogram>> entry : metricsReporter.getCumulativeHistograms().entrySet()) {
+            if (!entry.getKey().equals("uncorrected") && !entry.getKey().endsWith("-uncorrected")) {
+                continue;
+            }
+
+            for (Map.Entry<LatencyKey, Histogram> histogramEntry : entry.getValue().entrySet()) {
+                histograms.add(histogramEntry.getValue());
+
+                if (FeedRangeRoutingCache.FAULTED.equals(histogramEntry.getKey().getPartitionHealth())) {
+                    faultedFeedRangesHistograms.add(histogramEntry.getValue());
+                }
+            }
+        }
+
+        long successfulOperationCount = 0;
+        long failedOperationCount = 0;
+        int faultWindowCount = 0;
+        List<Duration> timesToFirstFailover = new ArrayList<>();
+        long failedOperationsBeforeFailover = 0;
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            CircuitBreakerAnalyzer circuitBreakerAnalyzer = workloadUnit.getCircuitBreakerAnalyzer();
+
+            successfulOperationCount += workloadUnit.getOperationDispatcher().getSuccessfulOperationCount();
+            failedOperationCount += workloadUnit.getOperationDispatcher().getFailedOperationCount();
+            faultWindowCount += circuitBreakerAnalyzer.getFaultWindowCount();
+            timesToFirstFailover.addAll(circuitBreakerAnalyzer.getTimesToFirstFailover());
+            failedOperationsBeforeFailover += circuitBreakerAnalyzer.getFailedOperationsBeforeFailover();
+        }
+
+        return new RunSummary(
+                successfulOperationCount,
+                failedOperationCount,
+                MetricsReporter.merge(histograms),
+                MetricsReporter.merge(faultedFeedRangesHistograms),
+                faultWindowCount,
+                timesToFirstFailover,
+                failedOperationsBeforeFailover);
+    }
+
+    // the reporters are closed, so their run-wide histograms are complete
+    private static void sendMetricsSnapshot(CoordinationAgent coordinationAgent, MetricsReporter metricsReporter, List<WorkloadUnit> workloadUnits) {
+        MetricsSnapshot metricsSnapshot = new MetricsSnapshot(coordinationAgent.getAgentId());
+
+        if (metricsReporter != null) {
+            for (Map.Entry<String, Map<LatencyKey, Histogram>> entry : metricsReporter.getCumulativeHistograms().entrySet()) {
+                metricsSnapshot.addHistograms(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            metricsSnapshot.addCounter("operations/successful", workloadUnit.getOperationDispatcher().getSuccessfulOperationCount());
+            metricsSnapshot.addCounter("operations/failed", workloadUnit.getOperationDispatcher().getFailedOperationCount());
+
+            for (Map.Entry<String, Long> entry : workloadUnit.getRegionTrafficCounters().getTotals().entrySet()) {
+                metricsSnapshot.addCounter(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            coordinationAgent.sendSnapshot(metricsSnapshot);
+        } catch (IOException e) {
+            logger.error("Failed to send the results of agent {} to the coordinator.", coordinationAgent.getAgentId(), e);
+        }
+    }
+
+    private static String getAgentId(Configuration config) {
+        return config.getAgentId() != null ? config.getAgentId() : "agent-" + ProcessHandle.current().pid();
+    }
+
+    private static WorkloadUnit buildWorkloadUnit(
+            Configuration config,
+            String name,
+            WorkloadTarget workloadTarget,
+            KeyPool keyPool,
+            FeedRangeRoutingCache feedRangeRoutingCache,
+            DiagnosticsWriter diagnosticsWriter,
+            AvailabilityStrategyAnalyzer availabilityStrategyAnalyzer,
+            PhaseTracker phaseTracker) {
+
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        LatencyRecorder correctedLatencyRecorder = config.getLoadMode() == LoadMode.OPEN_LOOP ? new LatencyRecorder() : null;
+
+        CircuitBreakerAnalyzer circuitBreakerAnalyzer = new CircuitBreakerAnalyzer(feedRangeRoutingCache);
+
+        DiagnosticsCollector diagnosticsCollector = new DiagnosticsCollector(
+                name,
+                config.getDiagnosticsSamplingRate(),
+                config.getDiagnosticsCapturesPerFaultWindow(),
+                config.getDiagnosticsLatencyThreshold(),
+                circuitBreakerAnalyzer,
+                diagnosticsWriter);
+
+        RegionTrafficCounters regionTrafficCounters = new RegionTrafficCounters(getPreferredRegions(config), feedRangeRoutingCache);
+
+        OperationDispatcher operationDispatcher = new OperationDispatcher(
+                workloadTarget,
+                config.getWorkloadMix(),
+                keyPool,
+                buildKeyGenerator(config, feedRangeRoutingCache),
+                feedRangeRoutingCache,
+                latencyRecorder,
+                correctedLatencyRecorder,
+                circuitBreakerAnalyzer,
+                diagnosticsCollector,
+                availabilityStrategyAnalyzer,
+                regionTrafficCounters,
+                phaseTracker,
+                IS_STOPPED);
+
+        return new WorkloadUnit(
+                name,
+                workloadTarget,
+                circuitBreakerAnalyzer,
+                regionTrafficCounters,
+                latencyRecorder,
+                correctedLatencyRecorder,
+                diagnosticsCollector,
+                operationDispatcher,
+                buildWorkloadEngine(config, operationDispatcher));
+    }
+
+    private static void resetMetrics(List<WorkloadUnit> workloadUnits, AvailabilityStrategyAnalyzer availabilityStrategyAnalyzer) {
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            workloadUnit.resetMetrics();
+        }
+
+        if (availabilityStrategyAnalyzer != null) {
+            availabilityStrategyAnalyzer.reset();
+        }
+
+        logger.info("Metrics reset after the warm-up");
+    }
+
+    private static void logWorkloadStatistics(List<WorkloadUnit> workloadUnits, PhaseTracker phaseTracker) {
+        long operationCountDelta = 0;
+        long successfulOperationCount = 0;
+        long failedOperationCount = 0;
+        int inFlightOperationCount = 0;
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            OperationDispatcher operationDispatcher = workloadUnit.getOperationDispatcher();
+            long workloadOperationCountDelta = workloadUnit.getOperationCountDelta();
+
+            if (workloadUnits.size() > 1) {
+                logger.info("Workload statistics - workload : {}, ops/sec : {}, successful : {}, failed : {}, in-flight : {}",
+                        workloadUnit.getName(),
+                        workloadOperationCountDelta / WORKLOAD_STATISTICS_LOGGING_INTERVAL_IN_SECONDS,
+                        operationDispatcher.getSuccessfulOperationCount(),
+                        operationDispatcher.getFailedOperationCount(),
+                        operationDispatcher.getInFlightOperationCount());
+            }
+
+            operationCountDelta += workloadOperationCountDelta;
+            successfulOperationCount += operationDispatcher.getSuccessfulOperationCount();
+            failedOperationCount += operationDispatcher.getFailedOperationCount();
+            inFlightOperationCount += operationDispatcher.getInFlightOperationCount();
+
+            operationDispatcher.logStatistics();
+            workloadUnit.getDiagnosticsCollector().logStatistics();
+        }
+
+        logger.info("Workload statistics - phase : {}, ops/sec : {}, successful : {}, failed : {}, in-flight : {}",
+                phaseTracker.getCurrentPhase(),
+                operationCountDelta / WORKLOAD_STATISTICS_LOGGING_INTERVAL_IN_SECONDS,
+                successfulOperationCount,
+                failedOperationCount,
+                inFlightOperationCount);
+    }
+
+    private static List<String> getContainerIds(Configuration config) {
+        List<String> containerIds = new ArrayList<>();
+
+        if (config.getContainerCount() == 1) {
+            containerIds.add(config.getContainerName());
+            return containerIds;
+        }
+
+        for (int i = 0; i < config.getContainerCount(); i++) {
+            containerIds.add(config.getContainerName() + "-" + i);
+        }
+
+        return containerIds;
+    }
+
+    private static Map<String, RegionTrafficCounters> getRegionTrafficCountersByWorkload(List<WorkloadUnit> workloadUnits) {
+        Map<String, RegionTrafficCounters> regionTrafficCountersByWorkload = new LinkedHashMap<>();
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            regionTrafficCountersByWorkload.put(workloadUnit.getName(), workloadUnit.getRegionTrafficCounters());
+        }
+
+        return regionTrafficCountersByWorkload;
+    }
+
+    private static Map<String, WorkloadTarget> getWorkloadTargetsByWorkload(List<WorkloadUnit> workloadUnits) {
+        Map<String, WorkloadTarget> workloadTargetsByWorkload = new LinkedHashMap<>();
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            workloadTargetsByWorkload.put(workloadUnit.getName(), workloadUnit.getWorkloadTarget());
+        }
+
+        return workloadTargetsByWorkload;
+    }
+
+    // series are named after their workload when there is more than one, the name ends up in file names
+    private static MetricsReporter buildMetricsReporter(
+            Configuration config,
+            Path runOutputDirectory,
+            List<WorkloadUnit> workloadUnits) {
+
+        Map<String, LatencyRecorder> latencyRecordersByName = new LinkedHashMap<>();
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            String prefix = workloadUnits.size() == 1 ? "" : workloadUnit.getName().replace('/', '-') + "-";
+
+            latencyRecordersByName.put(prefix + "uncorrected", workloadUnit.getLatencyRecorder());
+
+            if (workloadUnit.getCorrectedLatencyRecorder() != null) {
+                latencyRecordersByName.put(prefix + "corrected", workloadUnit.getCorrectedLatencyRecorder());
+            }
+        }
+
+        return new MetricsReporter(
+                latencyRecordersByName,
+                config.getMetricsReportingInterval(),
+                runOutputDirectory);
+    }
+
+    private static FaultInjectionPayloadCache buildFaultInjectionPayloadCache() {
+        Path root = FileSystems.getDefault().getPath("").toAbsolutePath();
+
+        return new FaultInjectionPayloadCache(Paths.get(root.toString(), "fault-injection-payload"));
+    }
+
+    private static FeedRangeRoutingCache buildFeedRangeRoutingCache(
+            List<FeedRange> feedRanges,
+            PartitionKeyDefinition partitionKeyDefinition,
+            KeyPool keyPool,
+            FaultTargetResolver faultTargetResolver,
+            Set<String> faultInjectionPayloadIds,
+            FaultInjectionPayloadCache faultInjectionPayloadCache) throws IOException {
+
+        long startTimeInMillis = System.currentTimeMillis();
+
+        FeedRangeRoutingCache feedRangeRoutingCache = new FeedRangeRoutingCache(feedRanges, partitionKeyDefinition, keyPool);
+
+        markFaultedFeedRanges(feedRangeRoutingCache, faultTargetResolver, faultInjectionPayloadIds, faultInjectionPayloadCache);
+
+        logger.info("Mapped {} keys onto {} feed ranges in {} ms, {} keys belong to faulted feed ranges",
+                feedRangeRoutingCache.getKeyCount(),
+                feedRangeRoutingCache.getFeedRangeCount(),
+                System.currentTimeMillis() - startTimeInMillis,
+                feedRangeRoutingCache.getKeyIndices(true).length);
+
+        return feedRangeRoutingCache;
+    }
+
+    // a feed range is faulted if any fault of the run targets it
+    private static void markFaultedFeedRanges(
+            FeedRangeRoutingCache feedRangeRoutingCache,
+            FaultTargetResolver faultTargetResolver,
+            Set<String> faultInjectionPayloadIds,
+            FaultInjectionPayloadCache faultInjectionPayloadCache) throws IOException {
+
+        List<FeedRange> faultedFeedRanges = new ArrayList<>();
+
+        for (String faultInjectionPayloadId : faultInjectionPayloadIds) {
+            FaultInjectionPayload faultInjectionPayload = faultInjectionPayloadCache.get(faultInjectionPayloadId);
+
+            if (faultInjectionPayload != null) {
+                faultedFeedRanges.addAll(faultTargetResolver.resolve(faultInjectionPayload).getFeedRanges());
+            }
+        }
+
+        feedRangeRoutingCache.setFaultedFeedRanges(faultedFeedRanges);
+    }
+
+    private static void updateFaultedFeedRanges(
+            FeedRangeRoutingCache feedRangeRoutingCache,
+            FaultTargetResolver faultTargetResolver,
+            Set<String> faultInjectionPayloadIds,
+            FaultInjectionPayloadCache faultInjectionPayloadCache) {
+
+        try {
+            markFaultedFeedRanges(feedRangeRoutingCache, faultTargetResolver, faultInjectionPayloadIds, faultInjectionPayloadCache);
+        } catch (IOException e) {
+            logger.error("Failed to update faulted feed ranges.", e);
+        }
+    }
+
+    private static Set<String> getFaultInjectionPayloadIds(Configuration config, Scenario scenario) {
+        Set<String> faultInjectionPayloadIds = new LinkedHashSet<>();
+
+        if (scenario == null) {
+            faultInjectionPayloadIds.add(config.getFaultInjectionPayloadId());
+            return faultInjectionPayloadIds;
+        }
+
+        for (ScenarioPhase phase : scenario.getPhases()) {
+            for (ScenarioFault fault : phase.getFaults()) {
+                faultInjectionPayloadIds.add(fault.getFaultInjectionPayloadId());
+            }
+        }
+
+        return faultInjectionPayloadIds;
+    }
+
+    private static KeyGenerator buildKeyGenerator(Configuration config, FeedRangeRoutingCache feedRangeRoutingCache) {
+        KeySubset targetKeySubset = config.getTargetKeySubset();
+
+        if (targetKeySubset == KeySubset.ALL) {
+            return buildKeyGenerator(config, feedRangeRoutingCache.getKeyCount());
+        }
+
+        int[] keyIndices = feedRangeRoutingCache.getKeyIndices(targetKeySubset == KeySubset.FAULTED);
+
+        if (keyIndices.length == 0) {
+            throw new IllegalStateException("No pre-created key belongs to the " + targetKeySubset + " key subset.");
+        }
+
+        return new SubsetKeyGenerator(buildKeyGenerator(config, keyIndices.length), keyIndices);
+    }
+
+    private static KeyGenerator buildKeyGenerator(Configuration config, int keyCount) {
+        switch (config.getKeyDistribution()) {
+            case UNIFORM:
+                return new UniformKeyGenerator(keyCount);
+            case ZIPFIAN:
+                return new ZipfianKeyGenerator(keyCount, config.getZipfianSkew());
+            case HOTSPOT:
+                return new HotspotKeyGenerator(keyCount, config.getHotspotKeyFraction(), config.getHotspotOperationFraction());
+            case SEQUENTIAL:
+                return new SequentialKeyGenerator(keyCount);
+            default:
+                throw new UnsupportedOperationException("Unsupported key distribution : " + config.getKeyDistribution());
+        }
+    }
+
+    private static WorkloadEngine buildWorkloadEngine(List<WorkloadUnit> workloadUnits) {
+        if (workloadUnits.size() == 1) {
+            return workloadUnits.get(0).getWorkloadEngine();
+        }
+
+        List<WorkloadEngine> workloadEngines = new ArrayList<>();
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            workloadEngines.add(workloadUnit.getWorkloadEngine());
+        }
+
+        return new CompositeWorkloadEngine(workloadEngines);
+    }
+
+    private static WorkloadEngine buildWorkloadEngine(Configuration config, OperationDispatcher operationDispatcher) {
+
+        if (config.getWorkerMode() == WorkerMode.REACTIVE) {
+            return new ReactiveWorkloadEngine(
+                    operationDispatcher,
+                    config.getMaxInFlightOperations(),
+                    config.getTargetOperationsPerSecond(),
+                    config.getLoadMode(),
+                    IS_STOPPED);
+        }
+
+        return new ThreadedWorkloadEngine(
+                operationDispatcher,
+                config.getWorkerMode(),
+                config.getOperationTaskCount(),
+                config.getTargetOperationsPerSecond(),
+                config.getLoadMode(),
+                IS_STOPPED);
+    }
+
+    private static WorkloadBackend buildWorkloadBackend(Configuration config) {
+        List<String> preferredRegions = getPreferredRegions(config);
+
+        switch (config.getWorkloadTarget()) {
+            case SIMULATED:
+                return new SimulatedWorkloadBackend(config, preferredRegions);
+            case COSMOS:
+                return new CosmosWorkloadBackend(config, preferredRegions);
+            default:
+                throw new IllegalArgumentException("Unsupported workload target : " + config.getWorkloadTarget());
+        }
+    }
+
+    private static List<String> getPreferredRegions(Configuration config) {
+        List<String> preferredRegions = new ArrayList<>();
+
+        for (String preferredRegion : config.getCommaSeparatedPreferredRegions().split(",")) {
+            if (!preferredRegion.trim().isEmpty()) {
+                preferredRegions.add(preferredRegion.trim());
+            }
+        }
+
+        return preferredRegions;
+    }
+
+    // every workload gets its own rules, a rule can only be configured on a single container instance,
+    // feed range selectors are resolved once per container against its current feed ranges
+    private static Mono<Void> injectFault(
+            String faultInjectionPayloadId,
+            FaultInjectionPayloadCache faultInjectionPayloadCache,
+            Map<String, FaultTargetResolver> faultTargetResolversByContainerId,
+            List<WorkloadUnit> workloadUnits) {
+
+        FaultInjectionPayload faultInjectionPayload;
+
+        try {
+            faultInjectionPayload = faultInjectionPayloadCache.get(faultInjectionPayloadId);
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+
+        if (faultInjectionPayload == null) {
+            return Mono.error(new IllegalArgumentException("Fault injection payload " + faultInjectionPayloadId + " does not exist."));
+        }
+
+        Map<String, Mono<FaultInjectionPayload>> resolvedPayloadsByContainerId = new HashMap<>();
+        List<Mono<Void>> faultInjections = new ArrayList<>();
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            WorkloadTarget workloadTarget = workloadUnit.getWorkloadTarget();
+
+            Mono<FaultInjectionPayload> resolvedPayload = resolvedPayloadsByContainerId.computeIfAbsent(
+                    workloadTarget.getContainerId(),
+                    containerId -> resolveFaultTargets(faultInjectionPayload, workloadTarget, faultTargetResolversByContainerId.get(containerId)));
+
+            faultInjections.add(resolvedPayload.flatMap(payload -> injectFault(payload, workloadTarget, workloadUnit.getCircuitBreakerAnalyzer())));
+        }
+
+        return Mono.when(faultInjections);
+    }
+
+    // the feed ranges are read again so that selectors follow splits
+    private static Mono<FaultInjectionPayload> resolveFaultTargets(
+            FaultInjectionPayload faultInjectionPayload,
+            WorkloadTarget workloadTarget,
+            FaultTargetResolver faultTargetResolver) {
+
+        return workloadTarget
+                .getFeedRanges()
+                .map(feedRanges -> {
+                    faultTargetResolver.updateFeedRanges(feedRanges);
+                    return faultTargetResolver.resolve(faultInjectionPayload);
+                })
+                .cache();
+    }
+
+    // the payload is parsed and its conditions are built once, rules are reused across injections
+    private static Mono<Void> injectFault(
+            FaultInjectionPayload faultInjectionPayload,
+            WorkloadTarget workloadTarget,
+            CircuitBreakerAnalyzer circuitBreakerAnalyzer) {
+
+        List<FaultInjectionPayload.Fault> faults = faultInjectionPayload.getFaults();
+
+        // fault windows start once the faults are in effect
+        return workloadTarget
+                .injectFaults(faultInjectionPayload)
+                .doOnSuccess(faultIds -> {
+                    for (int i = 0; i < faults.size(); i++) {
+                        FaultInjectionParameters faultInjectionParameter = faults.get(i).getFaultInjectionParameters();
+
+                        circuitBreakerAnalyzer.onFaultInjected(
+                                faultIds.get(i),
+                                faultInjectionParameter.getRegion(),
+                                faults.get(i).getFeedRange(),
+                                faultInjectionParameter.getFaultInjectionDuration());
+                    }
+                })
+                .then();
+    }
+
+    private static Flux<Void> startFaultInjectorProcess(
+            Configuration config,
+            FaultInjectionPayloadCache faultInjectionPayloadCache,
+            Map<String, FaultTargetResolver> faultTargetResolversByContainerId,
+            List<WorkloadUnit> workloadUnits) {
+        return Mono.just(1)
+                .delayElement(config.getFaultInjectionPeriodicity())
+                .publishOn(FAULT_INJECTION_SCHEDULER)
+                .repeat(() -> !IS_STOPPED.get())
+                .flatMap(ignore -> {
+                    // the workload may end while the next injection is pending, later runs of a sweep reuse this JVM
+                    if (IS_STOPPED.get()) {
+                        return Mono.<Void>empty();
+                    }
+
+                    logger.info("Attempting to inject faults defined in file : {} into {} workloads", config.getFaultInjectionPayloadId(), workloadUnits.size());
+                    return injectFault(config.getFaultInjectionPayloadId(), faultInjectionPayloadCache, faultTargetResolversByContainerId, workloadUnits);
+                })
+                .onErrorComplete()
+                .subscribeOn(FAULT_INJECTION_SCHEDULER);
+    }
+
+    private static Scenario loadScenario(Configuration config, FaultInjectionPayloadCache faultInjectionPayloadCache) throws IOException {
+        String scenarioId = config.getScenarioId();
+
+        if (scenarioId == null) {
+            return null;
+        }
+
+        Path root = FileSystems.getDefault().getPath("").toAbsolutePath();
+        Path targetPath = Paths.get(root.toString(), "scenarios", scenarioId);
+
+        if (!Files.exists(targetPath)) {
+            throw new IllegalArgumentException("Scenario file " + targetPath + " does not exist.");
+        }
+
+        Scenario scenario;
+
+        try (InputStream in = Files.newInputStream(targetPath)) {
+            scenario = OBJECT_MAPPER.readValue(in.readAllBytes(), Scenario.class);
+        }
+
+        validateScenario(config, scenario, faultInjectionPayloadCache);
+
+        logger.info("Loaded scenario : {} with {} phases running for {}", scenarioId, scenario.getPhases().size(), scenario.getTotalDuration());
+
+        return scenario;
+    }
+
+    private static Scenario validateScenario(Configuration config, Scenario scenario, FaultInjectionPayloadCache faultInjectionPayloadCache) throws IOException {
+        for (ScenarioPhase phase : scenario.getPhases()) {
+            if (phase.getTargetOperationsPerSecond() > 0 && config.getTargetOperationsPerSecond() <= 0) {
+                throw new IllegalArgumentException("Scenario phase " + phase.getName() + " sets a target ops/sec, which requires a bounded targetOperationsPerSecond.");
+            }
+
+            for (ScenarioFault fault : phase.getFaults()) {
+                if (faultInjectionPayloadCache.get(fault.getFaultInjectionPayloadId()) == null) {
+                    throw new IllegalArgumentException("Scenario phase " + phase.getName() + " references fault injection payload "
+                            + fault.getFaultInjectionPayloadId() + " which does not exist.");
+                }
+            }
+        }
+
+        return scenario;
+    }
+}
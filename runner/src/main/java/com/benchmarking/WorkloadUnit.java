@@ -0,0 +1,121 @@
+package com.benchmarking;
+
+import com.benchmarking.diagnostics.DiagnosticsCollector;
+import com.benchmarking.metrics.CircuitBreakerAnalyzer;
+import com.benchmarking.metrics.LatencyRecorder;
+import com.benchmarking.metrics.RegionTrafficCounters;
+import com.benchmarking.target.WorkloadTarget;
+import com.benchmarking.workload.OperationDispatcher;
+import com.benchmarking.workload.WorkloadEngine;
+
+// The workload of one client against one container, together with the state it is measured with.
+// Feed range routing is shared by all clients of a container, everything else belongs to the client / container pair.
+class WorkloadUnit {
+
+    private final String name;
+
+    private final WorkloadTarget workloadTarget;
+
+    private final CircuitBreakerAnalyzer circuitBreakerAnalyzer;
+
+    private final RegionTrafficCounters regionTrafficCounters;
+
+    private final LatencyRecorder latencyRecorder;
+
+    private final LatencyRecorder correctedLatencyRecorder;
+
+    private final DiagnosticsCollector diagnosticsCollector;
+
+    private final OperationDispatcher operationDispatcher;
+
+    private final WorkloadEngine workloadEngine;
+
+    private long previousOperationCount;
+
+    WorkloadUnit(
+            String name,
+            WorkloadTarget workloadTarget,
+            CircuitBreakerAnalyzer circuitBreakerAnalyzer,
+            RegionTrafficCounters regionTrafficCounters,
+            LatencyRecorder latencyRecorder,
+            LatencyRecorder correctedLatencyRecorder,
+            DiagnosticsCollector diagnosticsCollector,
+            OperationDispatcher operationDispatcher,
+            WorkloadEngine workloadEngine) {
+
+        this.name = name;
+        this.workloadTarget = workloadTarget;
+        this.circuitBreakerAnalyzer = circuitBreakerAnalyzer;
+        this.regionTrafficCounters = regionTrafficCounters;
+        this.latencyRecorder = latencyRecorder;
+        this.correctedLatencyRecorder = correctedLatencyRecorder;
+        this.diagnosticsCollector = diagnosticsCollector;
+        this.operationDispatcher = operationDispatcher;
+        this.workloadEngine = workloadEngine;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    WorkloadTarget getWorkloadTarget() {
+        return this.workloadTarget;
+    }
+
+    CircuitBreakerAnalyzer getCircuitBreakerAnalyzer() {
+        return this.circuitBreakerAnalyzer;
+    }
+
+    RegionTrafficCounters getRegionTrafficCounters() {
+        return this.regionTrafficCounters;
+    }
+
+    LatencyRecorder getLatencyRecorder() {
+        return this.latencyRecorder;
+    }
+
+    // null in closed loop mode
+    LatencyRecorder getCorrectedLatencyRecorder() {
+        return this.correctedLatencyRecorder;
+    }
+
+    DiagnosticsCollector getDiagnosticsCollector() {
+        return this.diagnosticsCollector;
+    }
+
+    OperationDispatcher getOperationDispatcher() {
+        return this.operationDispatcher;
+    }
+
+    WorkloadEngine getWorkloadEngine() {
+        return this.workloadEngine;
+    }
+
+    // everything this workload has measured so far, the circuit breaker analyzer only holds fault windows
+    void resetMetrics() {
+        this.operationDispatcher.resetStatistics();
+        this.latencyRecorder.reset();
+
+        if (this.correctedLatencyRecorder != null) {
+            this.correctedLatencyRecorder.reset();
+        }
+
+        this.regionTrafficCounters.reset();
+        this.diagnosticsCollector.resetStatistics();
+        this.previousOperationCount = 0;
+    }
+
+    long getOperationCount() {
+        return this.operationDispatcher.getSuccessfulOperationCount() + this.operationDispatcher.getFailedOperationCount();
+    }
+
+    // operations completed since the previous call
+    long getOperationCountDelta() {
+        long operationCount = getOperationCount();
+        long operationCountDelta = operationCount - this.previousOperationCount;
+
+        this.previousOperationCount = operationCount;
+
+        return operationCountDelta;
+    }
+}
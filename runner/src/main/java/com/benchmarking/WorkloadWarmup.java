@@ -0,0 +1,139 @@
+package com.benchmarking;
+
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.workload.WorkloadEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs the workload under the warmup phase before anything is measured, so that connection setup, cache population
+// and JIT compilation do not end up in the latencies and circuit breaker counters of the run
+//  - the warm-up load runs at its own target rate, the run's rate is restored afterwards
+//  - the warm-up ends once the throughputs of the last STABILITY_WINDOW_IN_SECONDS seconds all lie within the
+//    stability tolerance of their mean, or after the maximum warm-up duration
+//  - the workload engine keeps running into the measured run, the caller resets the metrics
+class WorkloadWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadWarmup.class);
+
+    private static final String WARMUP_PHASE = "warmup";
+
+    private static final int STABILITY_WINDOW_IN_SECONDS = 5;
+
+    private final Duration maxDuration;
+
+    // null for the run's rate
+    private final Integer targetOperationsPerSecond;
+
+    private final double stabilityTolerance;
+
+    WorkloadWarmup(Duration maxDuration, Integer targetOperationsPerSecond, double stabilityTolerance) {
+        if (maxDuration.isNegative()) {
+            throw new IllegalArgumentException("warmupDuration should not be negative.");
+        }
+
+        if (stabilityTolerance <= 0) {
+            throw new IllegalArgumentException("warmupStabilityTolerance should be positive.");
+        }
+
+        this.maxDuration = maxDuration;
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+        this.stabilityTolerance = stabilityTolerance;
+    }
+
+    boolean isEnabled() {
+        return !this.maxDuration.isZero();
+    }
+
+    // starts the workload engine, returns the time spent warming up
+    Duration run(WorkloadEngine workloadEngine, List<WorkloadUnit> workloadUnits, PhaseTracker phaseTracker, AtomicBoolean isStopped) throws InterruptedException {
+        String measuredPhase = phaseTracker.getCurrentPhase();
+        int measuredTargetOperationsPerSecond = workloadEngine.getTargetOperationsPerSecond();
+        long[] throughputs = new long[STABILITY_WINDOW_IN_SECONDS];
+        long startTimeInNanos = System.nanoTime();
+        long previousOperationCount = 0;
+        int elapsedSeconds = 0;
+        boolean isStable = false;
+
+        phaseTracker.setCurrentPhase(WARMUP_PHASE);
+
+        // the run validates that a warm-up rate is only set on a bounded run
+        if (this.targetOperationsPerSecond != null) {
+            workloadEngine.setTargetOperationsPerSecond(this.targetOperationsPerSecond);
+        }
+
+        workloadEngine.start();
+
+        logger.info("Warming up for at most {}", this.maxDuration);
+
+        while (!isStable && !isStopped.get() && Duration.ofSeconds(elapsedSeconds).compareTo(this.maxDuration) < 0) {
+            Thread.sleep(1_000);
+
+            long operationCount = getOperationCount(workloadUnits);
+
+            throughputs[elapsedSeconds % STABILITY_WINDOW_IN_SECONDS] = operationCount - previousOperationCount;
+            previousOperationCount = operationCount;
+            elapsedSeconds++;
+
+            isStable = elapsedSeconds >= STABILITY_WINDOW_IN_SECONDS && isStable(throughputs);
+        }
+
+        if (this.targetOperationsPerSecond != null) {
+            workloadEngine.setTargetOperationsPerSecond(measuredTargetOperationsPerSecond);
+        }
+
+        phaseTracker.setCurrentPhase(measuredPhase);
+
+        Duration warmupDuration = Duration.ofNanos(System.nanoTime() - startTimeInNanos);
+
+        if (isStable) {
+            logger.info("Warm-up throughput stable at {} ops/sec after {} ms", Math.round(getMean(throughputs)), warmupDuration.toMillis());
+        } else {
+            logger.warn("Warm-up throughput not stable after {} ms, last {} seconds : {} ops/sec",
+                    warmupDuration.toMillis(),
+                    STABILITY_WINDOW_IN_SECONDS,
+                    Math.round(getMean(throughputs)));
+        }
+
+        return warmupDuration;
+    }
+
+    private boolean isStable(long[] throughputs) {
+        double mean = getMean(throughputs);
+
+        if (mean <= 0) {
+            return false;
+        }
+
+        for (long throughput : throughputs) {
+            if (Math.abs(throughput - mean) > this.stabilityTolerance * mean) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static double getMean(long[] throughputs) {
+        long sum = 0;
+
+        for (long throughput : throughputs) {
+            sum += throughput;
+        }
+
+        return sum / (double) throughputs.length;
+    }
+
+    private static long getOperationCount(List<WorkloadUnit> workloadUnits) {
+        long operationCount = 0;
+
+        for (WorkloadUnit workloadUnit : workloadUnits) {
+            operationCount += workloadUnit.getOperationCount();
+        }
+
+        return operationCount;
+    }
+}
@@ -0,0 +1,145 @@
+package com.benchmarking.coordination;
+
+import com.benchmarking.metrics.MetricsReporter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+// Merges the snapshots of all agents into one cluster-wide report
+//  - histograms of the same series and key are added up and written to a final HdrHistogram log per series,
+//    and summarized per scenario phase and across the run
+//  - counters of the same name are summed, per-agent and cluster-wide values are written to counters.csv
+class ClusterReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterReport.class);
+
+    // histograms hold microseconds, log max values in milliseconds
+    private static final double MAX_VALUE_UNIT_RATIO = 1_000d;
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private static final String CLUSTER = "cluster";
+
+    private final Path outputDirectory;
+
+    // series -> tag -> histogram
+    private final Map<String, Map<String, Histogram>> histogramsBySeries = new TreeMap<>();
+
+    // series -> phase -> histogram
+    private final Map<String, Map<String, Histogram>> phaseHistogramsBySeries = new TreeMap<>();
+
+    // agent -> counter -> value, the cluster-wide totals come first
+    private final Map<String, Map<String, Long>> countersByAgent = new LinkedHashMap<>();
+
+    ClusterReport(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+        this.countersByAgent.put(CLUSTER, new TreeMap<>());
+    }
+
+    void add(MetricsSnapshot snapshot) throws DataFormatException {
+        for (MetricsSnapshot.HistogramSnapshot histogramSnapshot : snapshot.getHistograms()) {
+            Histogram histogram = histogramSnapshot.decodeHistogram();
+
+            this.histogramsBySeries
+                    .computeIfAbsent(histogramSnapshot.getSeries(), ignore -> new HashMap<>())
+                    .computeIfAbsent(histogramSnapshot.getTag(), ignore -> new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS))
+                    .add(histogram);
+            this.phaseHistogramsBySeries
+                    .computeIfAbsent(histogramSnapshot.getSeries(), ignore -> new HashMap<>())
+                    .computeIfAbsent(histogramSnapshot.getPhase(), ignore -> new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS))
+                    .add(histogram);
+        }
+
+        Map<String, Long> agentCounters = this.countersByAgent.computeIfAbsent(snapshot.getAgentId(), ignore -> new TreeMap<>());
+
+        for (Map.Entry<String, Long> entry : snapshot.getCounters().entrySet()) {
+            agentCounters.merge(entry.getKey(), entry.getValue(), Long::sum);
+            this.countersByAgent.get(CLUSTER).merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+    }
+
+    // phases are summarized in the given order, phases the coordinator does not know of come last
+    void write(long startTimeInEpochMillis, List<String> phases) throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        long endTimeInEpochMillis = System.currentTimeMillis();
+
+        for (Map.Entry<String, Map<String, Histogram>> entry : this.histogramsBySeries.entrySet()) {
+            String series = entry.getKey();
+
+            writeFinalLog(series, entry.getValue(), startTimeInEpochMillis, endTimeInEpochMillis);
+
+            logger.info("Cluster {} latency summary by phase (ms) :", series);
+
+            Map<String, Histogram> phaseHistograms = this.phaseHistogramsBySeries.get(series);
+            Set<String> orderedPhases = new LinkedHashSet<>(phases);
+            orderedPhases.addAll(phaseHistograms.keySet());
+
+            for (String phase : orderedPhases) {
+                Histogram phaseHistogram = phaseHistograms.get(phase);
+
+                if (phaseHistogram != null) {
+                    logger.info("  {} - {}", phase, MetricsReporter.summarize(phaseHistogram));
+                }
+            }
+
+            logger.info("  all - {}", MetricsReporter.summarize(MetricsReporter.merge(entry.getValue().values())));
+        }
+
+        writeCounters();
+
+        for (Map.Entry<String, Map<String, Long>> entry : this.countersByAgent.entrySet()) {
+            logger.info("Counters of {} - {}", entry.getKey(), entry.getValue());
+        }
+
+        logger.info("Cluster report written to : {}", this.outputDirectory.toAbsolutePath());
+    }
+
+    private void writeFinalLog(String series, Map<String, Histogram> histogramsByTag, long startTimeInEpochMillis, long endTimeInEpochMillis) throws IOException {
+        try (PrintStream finalLogStream = new PrintStream(this.outputDirectory.resolve("final-" + series + ".hlog").toFile())) {
+            HistogramLogWriter finalLogWriter = new HistogramLogWriter(finalLogStream);
+
+            finalLogWriter.outputLogFormatVersion();
+            finalLogWriter.outputStartTime(startTimeInEpochMillis);
+            finalLogWriter.setBaseTime(startTimeInEpochMillis);
+            finalLogWriter.outputLegend();
+
+            List<String> tags = new ArrayList<>(histogramsByTag.keySet());
+            tags.sort(null);
+
+            for (String tag : tags) {
+                Histogram histogram = histogramsByTag.get(tag);
+
+                histogram.setTag(tag);
+                finalLogWriter.outputIntervalHistogram(0, (endTimeInEpochMillis - startTimeInEpochMillis) / 1_000d, histogram, MAX_VALUE_UNIT_RATIO);
+            }
+        }
+    }
+
+    private void writeCounters() throws IOException {
+        try (PrintStream countersStream = new PrintStream(this.outputDirectory.resolve("counters.csv").toFile())) {
+            countersStream.println("agent,counter,value");
+
+            for (Map.Entry<String, Map<String, Long>> agentEntry : this.countersByAgent.entrySet()) {
+                for (Map.Entry<String, Long> counterEntry : agentEntry.getValue().entrySet()) {
+                    countersStream.println(agentEntry.getKey() + "," + counterEntry.getKey() + "," + counterEntry.getValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.benchmarking.coordination;
+
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.workload.WorkloadEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// The agent side of a coordinated run. Agents may be launched before the coordinator, connecting is retried
+// for CONNECT_TIMEOUT. Once started, the agent applies phase, rate and fault messages of the coordinator
+// on a dedicated thread until the coordinator stops the run or goes away.
+public class CoordinationAgent implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoordinationAgent.class);
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final Duration CONNECT_RETRY_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Duration CONFIGURE_TIMEOUT = Duration.ofMinutes(1);
+
+    // the slowest agent may still be pre-creating documents
+    private static final Duration START_TIMEOUT = Duration.ofHours(1);
+
+    private final String agentId;
+
+    private final CoordinationConnection connection;
+
+    private final CoordinationMessage configuration;
+
+    private volatile boolean isClosed;
+
+    private CoordinationAgent(String agentId, CoordinationConnection connection, CoordinationMessage configuration) {
+        this.agentId = agentId;
+        this.connection = connection;
+        this.configuration = configuration;
+    }
+
+    public static CoordinationAgent connect(String coordinatorAddress, String agentId) throws IOException, InterruptedException {
+        InetSocketAddress socketAddress = CoordinationConnection.parseAddress(coordinatorAddress);
+        long deadlineInMillis = System.currentTimeMillis() + CONNECT_TIMEOUT.toMillis();
+
+        while (true) {
+            Socket socket = new Socket();
+
+            try {
+                socket.connect(socketAddress, (int) CONNECT_RETRY_INTERVAL.toMillis());
+            } catch (IOException e) {
+                socket.close();
+
+                if (System.currentTimeMillis() > deadlineInMillis) {
+                    throw new IOException("Could not connect to the coordinator at " + coordinatorAddress + " within " + CONNECT_TIMEOUT + ".", e);
+                }
+
+                Thread.sleep(CONNECT_RETRY_INTERVAL.toMillis());
+                continue;
+            }
+
+            CoordinationConnection connection = new CoordinationConnection(socket);
+
+            try {
+                connection.send(new CoordinationMessage(CoordinationMessage.Type.HELLO).setAgentId(agentId));
+                CoordinationMessage configuration = connection.receive(CoordinationMessage.Type.CONFIGURE, CONFIGURE_TIMEOUT);
+
+                logger.info("Agent {} joined the coordinator at {}, scenario : {}", agentId, coordinatorAddress, configuration.getScenarioId());
+
+                return new CoordinationAgent(agentId, connection, configuration);
+            } catch (IOException e) {
+                connection.close();
+                throw e;
+            }
+        }
+    }
+
+    public String getAgentId() {
+        return this.agentId;
+    }
+
+    public CoordinationMessage getConfiguration() {
+        return this.configuration;
+    }
+
+    // reports that the agent is set up and waits for the coordinator to start the run
+    public CoordinationMessage awaitStart() throws IOException {
+        this.connection.send(new CoordinationMessage(CoordinationMessage.Type.READY).setAgentId(this.agentId));
+
+        CoordinationMessage start = this.connection.receive(CoordinationMessage.Type.START, START_TIMEOUT);
+
+        logger.info("Agent {} starts in {} ms", this.agentId, start.getStartTimeInEpochMillis() - System.currentTimeMillis());
+
+        return start;
+    }
+
+    public void startListening(
+            PhaseTracker phaseTracker,
+            WorkloadEngine workloadEngine,
+            Function<String, Mono<Void>> faultInjector,
+            AtomicBoolean isStopped) {
+
+        Thread listenerThread = new Thread(() -> listen(phaseTracker, workloadEngine, faultInjector, isStopped), "coordination-agent");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    public void sendSnapshot(MetricsSnapshot snapshot) throws IOException {
+        this.connection.send(new CoordinationMessage(CoordinationMessage.Type.SNAPSHOT)
+                .setAgentId(this.agentId)
+                .setSnapshot(snapshot));
+    }
+
+    @Override
+    public void close() {
+        this.isClosed = true;
+        this.connection.close();
+    }
+
+    private void listen(
+            PhaseTracker phaseTracker,
+            WorkloadEngine workloadEngine,
+            Function<String, Mono<Void>> faultInjector,
+            AtomicBoolean isStopped) {
+
+        try {
+            CoordinationMessage message;
+
+            while ((message = this.connection.receive()) != null) {
+                switch (message.getType()) {
+                    case PHASE:
+                        phaseTracker.setCurrentPhase(message.getPhase());
+                        logger.info("Coordinator started phase : {}", message.getPhase());
+                        break;
+                    case RATE:
+                        workloadEngine.setTargetOperationsPerSecond(message.getTargetOperationsPerSecond());
+                        break;
+                    case FAULT:
+                        String faultInjectionPayloadId = message.getFaultInjectionPayloadId();
+
+                        logger.info("Coordinator requested faults defined in file : {}", faultInjectionPayloadId);
+                        faultInjector
+                                .apply(faultInjectionPayloadId)
+                                .subscribe(
+                                        ignore -> {},
+                                        throwable -> logger.error("Failed to inject faults defined in file : {}", faultInjectionPayloadId, throwable));
+                        break;
+                    case STOP:
+                        logger.info("Coordinator stopped the run.");
+                        isStopped.set(true);
+                        return;
+                    default:
+                        logger.warn("Ignoring unexpected {} message from the coordinator.", message.getType());
+                }
+            }
+
+            logger.error("Coordinator closed the connection, stopping the run.");
+        } catch (IOException | RuntimeException e) {
+            if (this.isClosed) {
+                return;
+            }
+
+            logger.error("Lost the connection to the coordinator, stopping the run.", e);
+        }
+
+        isStopped.set(true);
+    }
+}
@@ -0,0 +1,98 @@
+package com.benchmarking.coordination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+// A TCP connection between the coordinator and one agent which exchanges CoordinationMessages as JSON lines.
+// Messages are sent from several threads, a connection is read from a single thread at a time.
+class CoordinationConnection implements AutoCloseable {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Socket socket;
+
+    private final BufferedReader reader;
+
+    private final Writer writer;
+
+    CoordinationConnection(Socket socket) throws IOException {
+        socket.setTcpNoDelay(true);
+
+        this.socket = socket;
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    synchronized void send(CoordinationMessage message) throws IOException {
+        this.writer.write(OBJECT_MAPPER.writeValueAsString(message));
+        this.writer.write('\n');
+        this.writer.flush();
+    }
+
+    // null once the other side closed the connection
+    CoordinationMessage receive() throws IOException {
+        String line = this.reader.readLine();
+
+        return line == null ? null : OBJECT_MAPPER.readValue(line, CoordinationMessage.class);
+    }
+
+    // fails if the other side closes the connection, sends another message type or does not answer in time
+    CoordinationMessage receive(CoordinationMessage.Type expectedType, Duration timeout) throws IOException {
+        this.socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+
+        CoordinationMessage message;
+
+        try {
+            message = receive();
+        } catch (SocketTimeoutException e) {
+            throw new IOException("No " + expectedType + " message from " + this.socket.getRemoteSocketAddress() + " within " + timeout + ".", e);
+        } finally {
+            this.socket.setSoTimeout(0);
+        }
+
+        if (message == null) {
+            throw new IOException(this.socket.getRemoteSocketAddress() + " closed the connection while waiting for " + expectedType + ".");
+        }
+
+        if (message.getType() != expectedType) {
+            throw new IOException("Expected " + expectedType + " from " + this.socket.getRemoteSocketAddress() + " but received " + message.getType() + ".");
+        }
+
+        return message;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.socket.close();
+        } catch (IOException e) {
+            // nothing left to do with the connection
+        }
+    }
+
+    // host:port
+    static InetSocketAddress parseAddress(String address) {
+        int separatorIndex = address.lastIndexOf(':');
+
+        if (separatorIndex <= 0 || separatorIndex == address.length() - 1) {
+            throw new IllegalArgumentException("coordinatorAddress should be of the form host:port, was : " + address);
+        }
+
+        try {
+            return new InetSocketAddress(address.substring(0, separatorIndex), Integer.parseInt(address.substring(separatorIndex + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("coordinatorAddress should be of the form host:port, was : " + address, e);
+        }
+    }
+}
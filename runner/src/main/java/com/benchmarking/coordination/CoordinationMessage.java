@@ -0,0 +1,142 @@
+package com.benchmarking.coordination;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One message of the coordination protocol, sent as a single JSON line. A run goes through
+//  - agent : HELLO, coordinator : CONFIGURE with the scenario, the base target rate and the run duration
+//  - agent : READY once its containers and documents are set up, coordinator : START once all agents are ready
+//  - coordinator : PHASE, RATE and FAULT along the scenario timeline, then STOP
+//  - agent : SNAPSHOT with its final histograms and counters
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CoordinationMessage {
+
+    public enum Type {
+        HELLO,
+        CONFIGURE,
+        READY,
+        START,
+        PHASE,
+        RATE,
+        FAULT,
+        STOP,
+        SNAPSHOT
+    }
+
+    private Type type;
+
+    private String agentId;
+
+    private String scenarioId;
+
+    // the scenario file content, agents do not need a copy of the scenario file
+    private String scenario;
+
+    private String faultInjectionPayloadId;
+
+    private Integer targetOperationsPerSecond;
+
+    private Long runDurationInMillis;
+
+    private Long startTimeInEpochMillis;
+
+    private String phase;
+
+    private MetricsSnapshot snapshot;
+
+    public CoordinationMessage() {
+    }
+
+    public CoordinationMessage(Type type) {
+        this.type = type;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public CoordinationMessage setType(Type type) {
+        this.type = type;
+        return this;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public CoordinationMessage setAgentId(String agentId) {
+        this.agentId = agentId;
+        return this;
+    }
+
+    public String getScenarioId() {
+        return scenarioId;
+    }
+
+    public CoordinationMessage setScenarioId(String scenarioId) {
+        this.scenarioId = scenarioId;
+        return this;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public CoordinationMessage setScenario(String scenario) {
+        this.scenario = scenario;
+        return this;
+    }
+
+    public String getFaultInjectionPayloadId() {
+        return faultInjectionPayloadId;
+    }
+
+    public CoordinationMessage setFaultInjectionPayloadId(String faultInjectionPayloadId) {
+        this.faultInjectionPayloadId = faultInjectionPayloadId;
+        return this;
+    }
+
+    public Integer getTargetOperationsPerSecond() {
+        return targetOperationsPerSecond;
+    }
+
+    public CoordinationMessage setTargetOperationsPerSecond(Integer targetOperationsPerSecond) {
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+        return this;
+    }
+
+    public Long getRunDurationInMillis() {
+        return runDurationInMillis;
+    }
+
+    public CoordinationMessage setRunDurationInMillis(Long runDurationInMillis) {
+        this.runDurationInMillis = runDurationInMillis;
+        return this;
+    }
+
+    public Long getStartTimeInEpochMillis() {
+        return startTimeInEpochMillis;
+    }
+
+    public CoordinationMessage setStartTimeInEpochMillis(Long startTimeInEpochMillis) {
+        this.startTimeInEpochMillis = startTimeInEpochMillis;
+        return this;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public CoordinationMessage setPhase(String phase) {
+        this.phase = phase;
+        return this;
+    }
+
+    public MetricsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public CoordinationMessage setSnapshot(MetricsSnapshot snapshot) {
+        this.snapshot = snapshot;
+        return this;
+    }
+}
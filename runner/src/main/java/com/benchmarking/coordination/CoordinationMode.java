@@ -0,0 +1,10 @@
+package com.benchmarking.coordination;
+
+public enum CoordinationMode {
+    // a single independent process
+    STANDALONE,
+    // hands out the scenario and the start time, drives phases and faults and merges the results of all agents
+    COORDINATOR,
+    // runs the workload as instructed by the coordinator and reports its results back to it
+    AGENT
+}
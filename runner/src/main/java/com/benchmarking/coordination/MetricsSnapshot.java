@@ -0,0 +1,144 @@
+package com.benchmarking.coordination;
+
+import com.benchmarking.metrics.LatencyKey;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+// The final results of one agent, run-wide histograms per latency series and key and monotonic counters.
+// Histograms travel in the compressed HdrHistogram encoding so that the coordinator merges them losslessly.
+public class MetricsSnapshot {
+
+    private String agentId;
+
+    private List<HistogramSnapshot> histograms = new ArrayList<>();
+
+    private Map<String, Long> counters = new LinkedHashMap<>();
+
+    public MetricsSnapshot() {
+    }
+
+    public MetricsSnapshot(String agentId) {
+        this.agentId = agentId;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public MetricsSnapshot setAgentId(String agentId) {
+        this.agentId = agentId;
+        return this;
+    }
+
+    public List<HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    public MetricsSnapshot setHistograms(List<HistogramSnapshot> histograms) {
+        this.histograms = histograms;
+        return this;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public MetricsSnapshot setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+        return this;
+    }
+
+    public MetricsSnapshot addHistograms(String series, Map<LatencyKey, Histogram> histogramsByKey) {
+        for (Map.Entry<LatencyKey, Histogram> entry : histogramsByKey.entrySet()) {
+            Histogram histogram = entry.getValue();
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+
+            histogram.encodeIntoCompressedByteBuffer(buffer);
+            buffer.flip();
+
+            byte[] encodedHistogram = new byte[buffer.remaining()];
+            buffer.get(encodedHistogram);
+
+            this.histograms.add(new HistogramSnapshot(
+                    series,
+                    entry.getKey().getPhase(),
+                    entry.getKey().toTag(),
+                    Base64.getEncoder().encodeToString(encodedHistogram)));
+        }
+
+        return this;
+    }
+
+    public MetricsSnapshot addCounter(String name, long value) {
+        this.counters.merge(name, value, Long::sum);
+        return this;
+    }
+
+    public static class HistogramSnapshot {
+
+        private String series;
+
+        private String phase;
+
+        private String tag;
+
+        private String encodedHistogram;
+
+        public HistogramSnapshot() {
+        }
+
+        public HistogramSnapshot(String series, String phase, String tag, String encodedHistogram) {
+            this.series = series;
+            this.phase = phase;
+            this.tag = tag;
+            this.encodedHistogram = encodedHistogram;
+        }
+
+        public String getSeries() {
+            return series;
+        }
+
+        public HistogramSnapshot setSeries(String series) {
+            this.series = series;
+            return this;
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public HistogramSnapshot setPhase(String phase) {
+            this.phase = phase;
+            return this;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public HistogramSnapshot setTag(String tag) {
+            this.tag = tag;
+            return this;
+        }
+
+        public String getEncodedHistogram() {
+            return encodedHistogram;
+        }
+
+        public HistogramSnapshot setEncodedHistogram(String encodedHistogram) {
+            this.encodedHistogram = encodedHistogram;
+            return this;
+        }
+
+        public Histogram decodeHistogram() throws DataFormatException {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(this.encodedHistogram)), 0);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.benchmarking.coordination;
+
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.scenario.ScenarioScheduler;
+import com.benchmarking.workload.WorkloadEngine;
+import com.entities.Scenario;
+import com.entities.ScenarioPhase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utils.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Coordinates a run across several runner processes, on one machine or several.
+// Steps to carry out:
+//  1. Wait for agentCount agents to connect and hand each of them the scenario, the base target rate and the run duration
+//  2. Wait for all agents to set up their containers and documents
+//  3. Hand out a start time coordinationStartDelay in the future, agents start their workload at that wall clock time
+//  4. Play the scenario timeline and broadcast its phase, rate and fault steps, or broadcast the periodic fault injection
+//  5. Stop all agents, collect their histogram and counter snapshots and merge them into a cluster-wide report
+// Agents on different machines rely on synchronized wall clocks, e.g. through NTP, to start together.
+public class RunCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunCoordinator.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Duration HELLO_TIMEOUT = Duration.ofSeconds(30);
+
+    // agents may have to pre-create documents
+    private static final Duration READY_TIMEOUT = Duration.ofHours(1);
+
+    // agents flush their reporters before sending their snapshot
+    private static final Duration SNAPSHOT_TIMEOUT = Duration.ofMinutes(5);
+
+    private final List<Agent> agents = new CopyOnWriteArrayList<>();
+
+    public void run(Configuration config) {
+
+        if (config.getAgentCount() < 1) {
+            throw new IllegalArgumentException("agentCount should be positive.");
+        }
+
+        AtomicBoolean isStopped = new AtomicBoolean(false);
+        ScenarioScheduler scenarioScheduler = null;
+        Path clusterOutputDirectory = Paths.get(
+                config.getMetricsOutputDirectory(),
+                "cluster-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now()));
+
+        try (ServerSocket serverSocket = new ServerSocket(CoordinationConnection.parseAddress(config.getCoordinatorAddress()).getPort())) {
+            String scenarioContent = readScenario(config);
+            Scenario scenario = scenarioContent == null ? null : OBJECT_MAPPER.readValue(scenarioContent, Scenario.class);
+            Duration runDuration = scenario == null ? config.getRunDuration() : scenario.getTotalDuration();
+
+            CoordinationMessage configuration = new CoordinationMessage(CoordinationMessage.Type.CONFIGURE)
+                    .setScenarioId(config.getScenarioId())
+                    .setScenario(scenarioContent)
+                    .setFaultInjectionPayloadId(config.getFaultInjectionPayloadId())
+                    .setTargetOperationsPerSecond(config.getTargetOperationsPerSecond())
+                    .setRunDurationInMillis(runDuration.toMillis());
+
+            logger.info("Coordinator listening on port {}, waiting for {} agents", serverSocket.getLocalPort(), config.getAgentCount());
+
+            acceptAgents(serverSocket, config.getAgentCount(), configuration);
+
+            for (Agent agent : this.agents) {
+                agent.connection.receive(CoordinationMessage.Type.READY, READY_TIMEOUT);
+                logger.info("Agent {} is ready", agent.agentId);
+            }
+
+            long startTimeInEpochMillis = System.currentTimeMillis() + config.getCoordinationStartDelay().toMillis();
+
+            broadcast(new CoordinationMessage(CoordinationMessage.Type.START)
+                    .setStartTimeInEpochMillis(startTimeInEpochMillis)
+                    .setPhase(scenario == null ? PhaseTracker.DEFAULT_PHASE : scenario.getPhases().get(0).getName()));
+
+            sleepUntil(startTimeInEpochMillis);
+
+            logger.info("Run started on {} agents, running for {}", this.agents.size(), runDuration);
+
+            if (scenario != null) {
+                PhaseTracker phaseTracker = new PhaseTracker();
+                phaseTracker.addPhaseListener(phase -> broadcast(new CoordinationMessage(CoordinationMessage.Type.PHASE).setPhase(phase)));
+
+                scenarioScheduler = new ScenarioScheduler(
+                        scenario,
+                        new BroadcastingWorkloadEngine(config.getTargetOperationsPerSecond()),
+                        phaseTracker,
+                        faultInjectionPayloadId -> Mono.fromRunnable(() -> broadcastFault(faultInjectionPayloadId)),
+                        isStopped);
+
+                scenarioScheduler.start();
+                sleepUntil(startTimeInEpochMillis + runDuration.toMillis());
+            } else {
+                runPeriodicFaultInjection(config, startTimeInEpochMillis + runDuration.toMillis());
+            }
+
+            isStopped.set(true);
+
+            broadcast(new CoordinationMessage(CoordinationMessage.Type.STOP));
+
+            ClusterReport clusterReport = new ClusterReport(clusterOutputDirectory);
+
+            for (Agent agent : this.agents) {
+                try {
+                    clusterReport.add(agent.connection.receive(CoordinationMessage.Type.SNAPSHOT, SNAPSHOT_TIMEOUT).getSnapshot());
+                } catch (IOException e) {
+                    logger.error("Agent {} did not report its results, the cluster report does not include them.", agent.agentId, e);
+                }
+            }
+
+            clusterReport.write(startTimeInEpochMillis, getPhases(scenario));
+
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        } finally {
+
+            if (scenarioScheduler != null) {
+                scenarioScheduler.stop();
+            }
+
+            for (Agent agent : this.agents) {
+                agent.connection.close();
+            }
+        }
+    }
+
+    private void acceptAgents(ServerSocket serverSocket, int agentCount, CoordinationMessage configuration) throws IOException {
+        while (this.agents.size() < agentCount) {
+            Socket socket = serverSocket.accept();
+            CoordinationConnection connection = new CoordinationConnection(socket);
+
+            try {
+                String agentId = connection.receive(CoordinationMessage.Type.HELLO, HELLO_TIMEOUT).getAgentId();
+
+                for (Agent agent : this.agents) {
+                    if (agent.agentId.equals(agentId)) {
+                        throw new IOException("Agent id " + agentId + " is already taken.");
+                    }
+                }
+
+                connection.send(configuration);
+                this.agents.add(new Agent(agentId, connection));
+
+                logger.info("Agent {} joined from {} ({}/{})", agentId, socket.getRemoteSocketAddress(), this.agents.size(), agentCount);
+            } catch (IOException e) {
+                logger.error("Rejected a connection from {}", socket.getRemoteSocketAddress(), e);
+                connection.close();
+            }
+        }
+    }
+
+    // the first injection happens one period into the run, like in a standalone run
+    private void runPeriodicFaultInjection(Configuration config, long endTimeInEpochMillis) throws InterruptedException {
+        long periodInMillis = config.getFaultInjectionPeriodicity().toMillis();
+        long nextFaultInjectionTimeInEpochMillis = System.currentTimeMillis() + periodInMillis;
+
+        while (nextFaultInjectionTimeInEpochMillis < endTimeInEpochMillis) {
+            sleepUntil(nextFaultInjectionTimeInEpochMillis);
+            broadcastFault(config.getFaultInjectionPayloadId());
+            nextFaultInjectionTimeInEpochMillis += periodInMillis;
+        }
+
+        sleepUntil(endTimeInEpochMillis);
+    }
+
+    private void broadcastFault(String faultInjectionPayloadId) {
+        logger.info("Broadcasting faults defined in file : {} to {} agents", faultInjectionPayloadId, this.agents.size());
+        broadcast(new CoordinationMessage(CoordinationMessage.Type.FAULT).setFaultInjectionPayloadId(faultInjectionPayloadId));
+    }
+
+    // an agent which cannot be reached anymore is dropped from the run
+    private void broadcast(CoordinationMessage message) {
+        for (Agent agent : this.agents) {
+            try {
+                agent.connection.send(message);
+            } catch (IOException e) {
+                logger.error("Lost agent {}, dropping it from the run.", agent.agentId, e);
+                this.agents.remove(agent);
+                agent.connection.close();
+            }
+        }
+    }
+
+    private static String readScenario(Configuration config) throws IOException {
+        String scenarioId = config.getScenarioId();
+
+        if (scenarioId == null) {
+            return null;
+        }
+
+        Path root = FileSystems.getDefault().getPath("").toAbsolutePath();
+        Path targetPath = Paths.get(root.toString(), "scenarios", scenarioId);
+
+        if (!Files.exists(targetPath)) {
+            throw new IllegalArgumentException("Scenario file " + targetPath + " does not exist.");
+        }
+
+        return new String(Files.readAllBytes(targetPath), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> getPhases(Scenario scenario) {
+        List<String> phases = new ArrayList<>();
+
+        if (scenario == null) {
+            phases.add(PhaseTracker.DEFAULT_PHASE);
+            return phases;
+        }
+
+        for (ScenarioPhase phase : scenario.getPhases()) {
+            phases.add(phase.getName());
+        }
+
+        return phases;
+    }
+
+    private static void sleepUntil(long timeInEpochMillis) throws InterruptedException {
+        long remainingInMillis = timeInEpochMillis - System.currentTimeMillis();
+
+        while (remainingInMillis > 0) {
+            Thread.sleep(remainingInMillis);
+            remainingInMillis = timeInEpochMillis - System.currentTimeMillis();
+        }
+    }
+
+    private static final class Agent {
+
+        private final String agentId;
+
+        private final CoordinationConnection connection;
+
+        private Agent(String agentId, CoordinationConnection connection) {
+            this.agentId = agentId;
+            this.connection = connection;
+        }
+    }
+
+    // lets the scenario scheduler drive the rate of all agents, every agent applies the rate to each of its workloads
+    private final class BroadcastingWorkloadEngine implements WorkloadEngine {
+
+        private volatile int targetOperationsPerSecond;
+
+        private BroadcastingWorkloadEngine(int targetOperationsPerSecond) {
+            this.targetOperationsPerSecond = targetOperationsPerSecond;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+            if (targetOperationsPerSecond == this.targetOperationsPerSecond) {
+                return;
+            }
+
+            this.targetOperationsPerSecond = targetOperationsPerSecond;
+            broadcast(new CoordinationMessage(CoordinationMessage.Type.RATE).setTargetOperationsPerSecond(targetOperationsPerSecond));
+        }
+
+        @Override
+        public int getTargetOperationsPerSecond() {
+            return this.targetOperationsPerSecond;
+        }
+
+        @Override
+        public void logStatistics() {
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.benchmarking.diagnostics;
+
+public enum CaptureReason {
+    FAULT_WINDOW,
+    LATENCY_THRESHOLD,
+    SAMPLED
+}
@@ -0,0 +1,75 @@
+package com.benchmarking.diagnostics;
+
+import com.azure.cosmos.CosmosDiagnosticsContext;
+
+// What the request path hands over to the writer, the diagnostics context is only serialized by the writer.
+final class DiagnosticsCapture {
+
+    private final long timestampInMillis;
+
+    private final String workloadName;
+
+    private final String phase;
+
+    private final String operationType;
+
+    private final CaptureReason captureReason;
+
+    private final boolean isSuccess;
+
+    private final long latencyInNanos;
+
+    private final CosmosDiagnosticsContext diagnosticsContext;
+
+    DiagnosticsCapture(
+            long timestampInMillis,
+            String workloadName,
+            String phase,
+            String operationType,
+            CaptureReason captureReason,
+            boolean isSuccess,
+            long latencyInNanos,
+            CosmosDiagnosticsContext diagnosticsContext) {
+
+        this.timestampInMillis = timestampInMillis;
+        this.workloadName = workloadName;
+        this.phase = phase;
+        this.operationType = operationType;
+        this.captureReason = captureReason;
+        this.isSuccess = isSuccess;
+        this.latencyInNanos = latencyInNanos;
+        this.diagnosticsContext = diagnosticsContext;
+    }
+
+    long getTimestampInMillis() {
+        return timestampInMillis;
+    }
+
+    String getWorkloadName() {
+        return workloadName;
+    }
+
+    String getPhase() {
+        return phase;
+    }
+
+    String getOperationType() {
+        return operationType;
+    }
+
+    CaptureReason getCaptureReason() {
+        return captureReason;
+    }
+
+    boolean isSuccess() {
+        return isSuccess;
+    }
+
+    long getLatencyInNanos() {
+        return latencyInNanos;
+    }
+
+    CosmosDiagnosticsContext getDiagnosticsContext() {
+        return diagnosticsContext;
+    }
+}
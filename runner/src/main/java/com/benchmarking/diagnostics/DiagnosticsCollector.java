@@ -0,0 +1,116 @@
+package com.benchmarking.diagnostics;
+
+import com.azure.cosmos.CosmosDiagnosticsContext;
+import com.benchmarking.metrics.CircuitBreakerAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// Decides which operations of one workload get their diagnostics captured and hands them to the shared
+// DiagnosticsWriter. Diagnostics of an operation are captured if it is slower than the latency threshold,
+// if it is one of the first failed operations of a fault window, or if it is a failed operation picked
+// by the sampling rate. Deciding and enqueueing is all the request path does.
+public class DiagnosticsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsCollector.class);
+
+    private final String workloadName;
+
+    private final double samplingRate;
+
+    private final int capturesPerFaultWindow;
+
+    private final long latencyThresholdInNanos;
+
+    private final CircuitBreakerAnalyzer circuitBreakerAnalyzer;
+
+    private final DiagnosticsWriter diagnosticsWriter;
+
+    private final LongAdder[] capturedDiagnosticsByReason = new LongAdder[CaptureReason.values().length];
+
+    public DiagnosticsCollector(
+            String workloadName,
+            double samplingRate,
+            int capturesPerFaultWindow,
+            Duration latencyThreshold,
+            CircuitBreakerAnalyzer circuitBreakerAnalyzer,
+            DiagnosticsWriter diagnosticsWriter) {
+
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("diagnosticsSamplingRate should be between 0 and 1.");
+        }
+
+        if (capturesPerFaultWindow < 0) {
+            throw new IllegalArgumentException("diagnosticsCapturesPerFaultWindow should not be negative.");
+        }
+
+        this.workloadName = workloadName;
+        this.samplingRate = samplingRate;
+        this.capturesPerFaultWindow = capturesPerFaultWindow;
+        this.latencyThresholdInNanos = latencyThreshold.toNanos();
+        this.circuitBreakerAnalyzer = circuitBreakerAnalyzer;
+        this.diagnosticsWriter = diagnosticsWriter;
+
+        for (CaptureReason captureReason : CaptureReason.values()) {
+            this.capturedDiagnosticsByReason[captureReason.ordinal()] = new LongAdder();
+        }
+    }
+
+    public void onOperationCompleted(
+            String phase,
+            String operationType,
+            int keyIndex,
+            CosmosDiagnosticsContext diagnosticsContext,
+            boolean isSuccess,
+            long latencyInNanos) {
+
+        if (diagnosticsContext == null) {
+            return;
+        }
+
+        CaptureReason captureReason;
+
+        if (latencyInNanos >= this.latencyThresholdInNanos) {
+            captureReason = CaptureReason.LATENCY_THRESHOLD;
+        } else if (isSuccess) {
+            return;
+        } else if (this.capturesPerFaultWindow > 0 && this.circuitBreakerAnalyzer.tryClaimDiagnosticsCapture(keyIndex, this.capturesPerFaultWindow)) {
+            captureReason = CaptureReason.FAULT_WINDOW;
+        } else if (this.samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < this.samplingRate) {
+            captureReason = CaptureReason.SAMPLED;
+        } else {
+            return;
+        }
+
+        DiagnosticsCapture capture = new DiagnosticsCapture(
+                System.currentTimeMillis(),
+                this.workloadName,
+                phase,
+                operationType,
+                captureReason,
+                isSuccess,
+                latencyInNanos,
+                diagnosticsContext);
+
+        if (this.diagnosticsWriter.offer(capture)) {
+            this.capturedDiagnosticsByReason[captureReason.ordinal()].increment();
+        }
+    }
+
+    // captures already handed to the writer are still written
+    public void resetStatistics() {
+        for (LongAdder capturedDiagnostics : this.capturedDiagnosticsByReason) {
+            capturedDiagnostics.reset();
+        }
+    }
+
+    public void logStatistics() {
+        logger.info("  diagnostics captures - fault window : {}, latency threshold : {}, sampled : {}",
+                this.capturedDiagnosticsByReason[CaptureReason.FAULT_WINDOW.ordinal()].sum(),
+                this.capturedDiagnosticsByReason[CaptureReason.LATENCY_THRESHOLD.ordinal()].sum(),
+                this.capturedDiagnosticsByReason[CaptureReason.SAMPLED.ordinal()].sum());
+    }
+}
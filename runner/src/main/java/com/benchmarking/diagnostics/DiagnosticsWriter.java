@@ -0,0 +1,202 @@
+package com.benchmarking.diagnostics;
+
+import com.azure.cosmos.CosmosDiagnosticsContext;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+// Writes captured diagnostics off the request path, shared by the DiagnosticsCollectors of all workloads.
+//  - the request path only enqueues a reference to the diagnostics context into a bounded queue without waiting,
+//    captures which do not fit are dropped and counted
+//  - a background writer serializes the diagnostics and appends them as JSON lines to gzip files which
+//    are rolled every MAX_CAPTURES_PER_FILE captures so that completed files can be read during a run
+public class DiagnosticsWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsWriter.class);
+
+    private static final int MAX_CAPTURES_PER_FILE = 10_000;
+
+    private static final long WRITER_IDLE_PARK_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long WRITER_TERMINATION_TIMEOUT_IN_MILLIS = 10_000;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private final Path outputDirectory;
+
+    private final int bufferCapacity;
+
+    private final BlockingQueue<DiagnosticsCapture> captures;
+
+    private final LongAdder droppedCaptures = new LongAdder();
+
+    // only accessed from the writer thread
+    private long writtenCaptures;
+
+    private volatile boolean isClosed;
+
+    private Thread writerThread;
+
+    private Writer fileWriter;
+
+    public DiagnosticsWriter(int bufferCapacity, Path outputDirectory) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("diagnosticsBufferCapacity should be greater than zero.");
+        }
+
+        this.outputDirectory = outputDirectory;
+        this.bufferCapacity = bufferCapacity;
+        this.captures = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        this.writerThread = new Thread(this::runWriter, "diagnostics-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        logger.info("Writing captured diagnostics to : {} with buffer capacity : {}",
+                this.outputDirectory.toAbsolutePath(),
+                this.bufferCapacity);
+    }
+
+    public long getDroppedCaptureCount() {
+        return this.droppedCaptures.sum();
+    }
+
+    public void logStatistics() {
+        logger.info("  diagnostics writer - dropped captures : {}", this.droppedCaptures.sum());
+    }
+
+    @Override
+    public void close() {
+        this.isClosed = true;
+
+        if (this.writerThread == null) {
+            return;
+        }
+
+        LockSupport.unpark(this.writerThread);
+
+        try {
+            this.writerThread.join(WRITER_TERMINATION_TIMEOUT_IN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        logger.info("Diagnostics writer closed - dropped captures : {}", this.droppedCaptures.sum());
+    }
+
+    boolean offer(DiagnosticsCapture capture) {
+        if (this.isClosed) {
+            return false;
+        }
+
+        if (this.captures.offer(capture)) {
+            return true;
+        }
+
+        this.droppedCaptures.increment();
+        return false;
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                // read the flag first so that whatever was enqueued before close is drained
+                boolean isClosed = this.isClosed;
+
+                int drainedCaptures = drain();
+
+                if (isClosed) {
+                    break;
+                }
+
+                if (drainedCaptures == 0) {
+                    LockSupport.parkNanos(WRITER_IDLE_PARK_IN_NANOS);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Diagnostics writer failed, no more diagnostics will be written.", e);
+        } finally {
+            closeFileWriter();
+        }
+    }
+
+    private int drain() throws IOException {
+        int drainedCaptures = 0;
+        DiagnosticsCapture capture;
+
+        while ((capture = this.captures.poll()) != null) {
+            write(capture);
+            drainedCaptures++;
+        }
+
+        return drainedCaptures;
+    }
+
+    private void write(DiagnosticsCapture capture) throws IOException {
+        if (this.writtenCaptures % MAX_CAPTURES_PER_FILE == 0) {
+            closeFileWriter();
+
+            Path filePath = this.outputDirectory.resolve(String.format("diagnostics-%04d.jsonl.gz", this.writtenCaptures / MAX_CAPTURES_PER_FILE));
+
+            this.fileWriter = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(filePath)),
+                    StandardCharsets.UTF_8));
+        }
+
+        CosmosDiagnosticsContext diagnosticsContext = capture.getDiagnosticsContext();
+
+        try (JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(this.fileWriter)) {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeStringField("timestamp", Instant.ofEpochMilli(capture.getTimestampInMillis()).toString());
+            jsonGenerator.writeStringField("workload", capture.getWorkloadName());
+            jsonGenerator.writeStringField("phase", capture.getPhase());
+            jsonGenerator.writeStringField("operationType", capture.getOperationType());
+            jsonGenerator.writeStringField("captureReason", capture.getCaptureReason().name());
+            jsonGenerator.writeBooleanField("isSuccess", capture.isSuccess());
+            jsonGenerator.writeNumberField("latencyInMs", capture.getLatencyInNanos() / 1_000_000d);
+            jsonGenerator.writeNumberField("statusCode", diagnosticsContext.getStatusCode());
+            jsonGenerator.writeNumberField("subStatusCode", diagnosticsContext.getSubStatusCode());
+            jsonGenerator.writeFieldName("diagnostics");
+            jsonGenerator.writeRawValue(diagnosticsContext.toJson());
+            jsonGenerator.writeEndObject();
+        }
+
+        this.fileWriter.write('\n');
+        this.writtenCaptures++;
+    }
+
+    private void closeFileWriter() {
+        if (this.fileWriter == null) {
+            return;
+        }
+
+        try {
+            this.fileWriter.close();
+        } catch (IOException e) {
+            logger.error("Failed to close diagnostics file.", e);
+        }
+
+        this.fileWriter = null;
+    }
+}
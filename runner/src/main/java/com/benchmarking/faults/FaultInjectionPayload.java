@@ -0,0 +1,214 @@
+package com.benchmarking.faults;
+
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.test.faultinjection.FaultInjectionCondition;
+import com.azure.cosmos.test.faultinjection.FaultInjectionConditionBuilder;
+import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionErrorResultBuilder;
+import com.azure.cosmos.test.faultinjection.FaultInjectionEndpointBuilder;
+import com.azure.cosmos.test.faultinjection.FaultInjectionOperationType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionResultBuilders;
+import com.azure.cosmos.test.faultinjection.FaultInjectionServerErrorResultBuilder;
+import com.azure.cosmos.test.faultinjection.FaultInjectionServerErrorType;
+import com.azure.cosmos.test.faultinjection.IFaultInjectionResult;
+import com.entities.FaultInjectionParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// The parsed content of one fault injection payload file together with the fault injection conditions
+// and results built from it, one Fault per (fault injection parameters, feed range, operation type) combination,
+// a fault without operation types applies to all of them. Immutable, a changed payload file yields a new instance.
+// A fault's rule id is derived from the payload id and the fault's position, it stays the same across reloads.
+// Fault injection parameters with a feed range selector only yield faults once FaultTargetResolver has resolved the
+// payload against a container, which creates a new instance with the selected feed ranges.
+//  - server errors get the payload's delay for RESPONSE_DELAY / CONNECTION_DELAY and its injection rate
+//  - connection errors close or reset connections every connectionErrorInterval, the injection rate is the share
+//    of connections affected
+public final class FaultInjectionPayload {
+
+    private final String payloadId;
+
+    private final List<FaultInjectionParameters> faultInjectionParameters;
+
+    private final List<Fault> faults;
+
+    FaultInjectionPayload(String payloadId, List<FaultInjectionParameters> faultInjectionParameters) {
+        this(payloadId, faultInjectionParameters, Collections.emptyMap());
+    }
+
+    // selectedFeedRanges holds the feed ranges of the fault injection parameters with a feed range selector
+    FaultInjectionPayload(
+            String payloadId,
+            List<FaultInjectionParameters> faultInjectionParameters,
+            Map<FaultInjectionParameters, List<FeedRange>> selectedFeedRanges) {
+
+        List<Fault> faults = new ArrayList<>();
+        String ruleIdPrefix = payloadId.endsWith(".json") ? payloadId.substring(0, payloadId.length() - ".json".length()) : payloadId;
+
+        for (FaultInjectionParameters faultInjectionParameter : faultInjectionParameters) {
+            IFaultInjectionResult faultInjectionResult = buildResult(faultInjectionParameter);
+            List<FaultInjectionOperationType> operationTypes = faultInjectionParameter.getOperationTypes() == null
+                    ? Collections.singletonList(null)
+                    : faultInjectionParameter.getOperationTypes();
+
+            List<FeedRange> feedRanges = faultInjectionParameter.getFeedRangeSelector() == null
+                    ? parseFeedRanges(faultInjectionParameter.getBase64EncodedFeedRanges())
+                    : selectedFeedRanges.getOrDefault(faultInjectionParameter, Collections.emptyList());
+
+            for (FeedRange feedRange : feedRanges) {
+                for (FaultInjectionOperationType operationType : operationTypes) {
+                    FaultInjectionConditionBuilder faultInjectionConditionBuilder = new FaultInjectionConditionBuilder()
+                            .connectionType(faultInjectionParameter.getConnectionType())
+                            .endpoints(new FaultInjectionEndpointBuilder(feedRange).build())
+                            .region(faultInjectionParameter.getRegion());
+
+                    if (operationType != null) {
+                        faultInjectionConditionBuilder = faultInjectionConditionBuilder.operationType(operationType);
+                    }
+
+                    faults.add(new Fault(
+                            ruleIdPrefix + "-" + faults.size(),
+                            faultInjectionParameter,
+                            feedRange,
+                            operationType,
+                            faultInjectionConditionBuilder.build(),
+                            faultInjectionResult));
+                }
+            }
+        }
+
+        this.payloadId = payloadId;
+        this.faultInjectionParameters = Collections.unmodifiableList(faultInjectionParameters);
+        this.faults = Collections.unmodifiableList(faults);
+    }
+
+    public String getPayloadId() {
+        return payloadId;
+    }
+
+    public List<FaultInjectionParameters> getFaultInjectionParameters() {
+        return faultInjectionParameters;
+    }
+
+    public List<Fault> getFaults() {
+        return faults;
+    }
+
+    // true if the payload has to be resolved against a container before it is injected
+    public boolean hasFeedRangeSelectors() {
+        for (FaultInjectionParameters faultInjectionParameter : this.faultInjectionParameters) {
+            if (faultInjectionParameter.getFeedRangeSelector() != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static List<FeedRange> parseFeedRanges(List<String> base64EncodedFeedRanges) {
+        List<FeedRange> feedRanges = new ArrayList<>();
+
+        for (String base64EncodedFeedRange : base64EncodedFeedRanges) {
+            feedRanges.add(FeedRange.fromString(base64EncodedFeedRange));
+        }
+
+        return feedRanges;
+    }
+
+    private static IFaultInjectionResult buildResult(FaultInjectionParameters faultInjectionParameter) {
+        Double injectionRate = faultInjectionParameter.getInjectionRate();
+
+        if (faultInjectionParameter.getConnectionErrorType() != null) {
+            FaultInjectionConnectionErrorResultBuilder connectionErrorResultBuilder = FaultInjectionResultBuilders
+                    .getResultBuilder(faultInjectionParameter.getConnectionErrorType())
+                    .interval(faultInjectionParameter.getConnectionErrorInterval());
+
+            if (injectionRate != null) {
+                connectionErrorResultBuilder = connectionErrorResultBuilder.threshold(injectionRate);
+            }
+
+            return connectionErrorResultBuilder.build();
+        }
+
+        FaultInjectionServerErrorType serverErrorType = faultInjectionParameter.getServerErrorType();
+        FaultInjectionServerErrorResultBuilder serverErrorResultBuilder = FaultInjectionResultBuilders.getResultBuilder(serverErrorType);
+
+        if (serverErrorType == FaultInjectionServerErrorType.RESPONSE_DELAY || serverErrorType == FaultInjectionServerErrorType.CONNECTION_DELAY) {
+            serverErrorResultBuilder = serverErrorResultBuilder.delay(faultInjectionParameter.getConnectionOrResponseDelayDuration());
+        }
+
+        if (injectionRate != null) {
+            serverErrorResultBuilder = serverErrorResultBuilder.injectionRate(injectionRate);
+        }
+
+        return serverErrorResultBuilder.build();
+    }
+
+    public List<FeedRange> getFeedRanges() {
+        List<FeedRange> feedRanges = new ArrayList<>();
+
+        for (Fault fault : this.faults) {
+            feedRanges.add(fault.getFeedRange());
+        }
+
+        return feedRanges;
+    }
+
+    public static final class Fault {
+
+        private final String ruleId;
+
+        private final FaultInjectionParameters faultInjectionParameters;
+
+        private final FeedRange feedRange;
+
+        // null for all operation types
+        private final FaultInjectionOperationType operationType;
+
+        private final FaultInjectionCondition condition;
+
+        private final IFaultInjectionResult result;
+
+        private Fault(
+                String ruleId,
+                FaultInjectionParameters faultInjectionParameters,
+                FeedRange feedRange,
+                FaultInjectionOperationType operationType,
+                FaultInjectionCondition condition,
+                IFaultInjectionResult result) {
+
+            this.ruleId = ruleId;
+            this.faultInjectionParameters = faultInjectionParameters;
+            this.feedRange = feedRange;
+            this.operationType = operationType;
+            this.condition = condition;
+            this.result = result;
+        }
+
+        public String getRuleId() {
+            return ruleId;
+        }
+
+        public FaultInjectionParameters getFaultInjectionParameters() {
+            return faultInjectionParameters;
+        }
+
+        public FeedRange getFeedRange() {
+            return feedRange;
+        }
+
+        public FaultInjectionOperationType getOperationType() {
+            return operationType;
+        }
+
+        public FaultInjectionCondition getCondition() {
+            return condition;
+        }
+
+        public IFaultInjectionResult getResult() {
+            return result;
+        }
+    }
+}
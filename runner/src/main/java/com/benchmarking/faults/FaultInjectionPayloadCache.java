@@ -0,0 +1,189 @@
+package com.benchmarking.faults;
+
+import com.entities.FaultInjectionParameters;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Parses every fault injection payload file once and keeps the result, so repeated injections do not
+// re-read and re-parse the file or rebuild the fault injection conditions.
+//  - a payload is loaded the first time it is asked for
+//  - once watching, a create / modify / delete of a payload file which was asked for reloads it, so that faults can be edited during a long running soak without restarting the load
+//  - a payload file which fails to parse on reload keeps the previously cached version
+public class FaultInjectionPayloadCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjectionPayloadCache.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path payloadDirectory;
+
+    private final Map<String, FaultInjectionPayload> payloadsById = new ConcurrentHashMap<>();
+
+    // survives a delete so that a payload file which is replaced by delete and create is picked up again
+    private final Set<String> requestedPayloadIds = ConcurrentHashMap.newKeySet();
+
+    private final List<Consumer<FaultInjectionPayload>> reloadListeners = new CopyOnWriteArrayList<>();
+
+    private WatchService watchService;
+
+    private Thread watcherThread;
+
+    public FaultInjectionPayloadCache(Path payloadDirectory) {
+        this.payloadDirectory = payloadDirectory;
+    }
+
+    // null if no payload file with the given id exists
+    public FaultInjectionPayload get(String payloadId) throws IOException {
+        FaultInjectionPayload payload = this.payloadsById.get(payloadId);
+
+        if (payload != null) {
+            return payload;
+        }
+
+        this.requestedPayloadIds.add(payloadId);
+
+        payload = load(payloadId);
+
+        if (payload == null) {
+            return null;
+        }
+
+        FaultInjectionPayload existingPayload = this.payloadsById.putIfAbsent(payloadId, payload);
+
+        return existingPayload != null ? existingPayload : payload;
+    }
+
+    // invoked on the watcher thread with the reloaded payload
+    public void addReloadListener(Consumer<FaultInjectionPayload> reloadListener) {
+        this.reloadListeners.add(reloadListener);
+    }
+
+    public void startWatching() throws IOException {
+        if (!Files.isDirectory(this.payloadDirectory)) {
+            logger.warn("Fault injection payload directory {} does not exist, payload changes will not be picked up.", this.payloadDirectory);
+            return;
+        }
+
+        this.watchService = this.payloadDirectory.getFileSystem().newWatchService();
+        this.payloadDirectory.register(
+                this.watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        this.watcherThread = new Thread(this::watch, "fault-injection-payload-watcher");
+        this.watcherThread.setDaemon(true);
+        this.watcherThread.start();
+
+        logger.info("Watching fault injection payload directory : {}", this.payloadDirectory.toAbsolutePath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.watchService != null) {
+            this.watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey watchKey = this.watchService.take();
+
+                for (WatchEvent<?> watchEvent : watchKey.pollEvents()) {
+                    if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // events were lost, reload everything which is cached
+                        for (String payloadId : this.requestedPayloadIds) {
+                            reload(payloadId);
+                        }
+
+                        continue;
+                    }
+
+                    reload(((Path) watchEvent.context()).getFileName().toString());
+                }
+
+                if (!watchKey.reset()) {
+                    logger.warn("Fault injection payload directory {} is no longer accessible, stopped watching.", this.payloadDirectory);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed on shutdown
+        }
+    }
+
+    private void reload(String payloadId) {
+        // payloads which were never asked for are loaded lazily
+        if (!this.requestedPayloadIds.contains(payloadId)) {
+            return;
+        }
+
+        try {
+            Path targetPath = this.payloadDirectory.resolve(payloadId);
+
+            // editors truncate before writing, the modification which follows carries the content
+            if (Files.exists(targetPath) && Files.size(targetPath) == 0) {
+                return;
+            }
+
+            FaultInjectionPayload payload = load(payloadId);
+
+            if (payload == null) {
+                if (this.payloadsById.remove(payloadId) == null) {
+                    return;
+                }
+
+                logger.warn("Fault injection payload {} was deleted and will no longer be injected.", payloadId);
+                return;
+            }
+
+            this.payloadsById.put(payloadId, payload);
+
+            logger.info("Reloaded fault injection payload {} with {} faults.", payloadId, payload.getFaults().size());
+
+            for (Consumer<FaultInjectionPayload> reloadListener : this.reloadListeners) {
+                reloadListener.accept(payload);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to reload fault injection payload {}, keeping the previous version.", payloadId, e);
+        }
+    }
+
+    private FaultInjectionPayload load(String payloadId) throws IOException {
+        Path targetPath = this.payloadDirectory.resolve(payloadId);
+
+        if (!Files.exists(targetPath)) {
+            return null;
+        }
+
+        try (InputStream in = Files.newInputStream(targetPath)) {
+
+            byte[] allBytes = in.readAllBytes();
+
+            List<FaultInjectionParameters> faultInjectionParameters = OBJECT_MAPPER.readValue(allBytes, new TypeReference<List<FaultInjectionParameters>>() {});
+
+            return new FaultInjectionPayload(payloadId, faultInjectionParameters);
+        }
+    }
+}
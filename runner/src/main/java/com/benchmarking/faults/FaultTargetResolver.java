@@ -0,0 +1,213 @@
+package com.benchmarking.faults;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import com.azure.cosmos.implementation.routing.Range;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.benchmarking.workload.FeedRangeRoutingCache;
+import com.entities.FaultInjectionParameters;
+import com.entities.FeedRangeSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Resolves the feed range selectors of fault injection payloads against the physical feed ranges of one container.
+//  - a payload is resolved once and the result reused, so that random selections stay the same across injections
+//    and fault rules can be reused, until the payload is reloaded or the feed ranges change
+//  - the feed ranges are enumerated at startup and updated before every injection, a split yields new feed ranges,
+//    every payload is resolved again then and the feed range listeners are invoked
+//  - payloads without selectors are returned as they are
+public class FaultTargetResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultTargetResolver.class);
+
+    private final String containerId;
+
+    private final PartitionKeyDefinition partitionKeyDefinition;
+
+    private final List<Runnable> feedRangeListeners = new CopyOnWriteArrayList<>();
+
+    // guarded by this
+    private final Map<String, ResolvedPayload> resolvedPayloadsByPayloadId = new HashMap<>();
+
+    // sorted by their effective partition key range, guarded by this
+    private List<FeedRange> feedRanges;
+
+    private List<Range<String>> ranges;
+
+    public FaultTargetResolver(String containerId, PartitionKeyDefinition partitionKeyDefinition, List<FeedRange> feedRanges) {
+        this.containerId = containerId;
+        this.partitionKeyDefinition = partitionKeyDefinition;
+
+        setFeedRanges(feedRanges);
+
+        logger.info("Container with ID : {} has {} physical feed ranges.", containerId, this.feedRanges.size());
+    }
+
+    // invoked on the injecting thread once the feed ranges have changed
+    public void addFeedRangeListener(Runnable feedRangeListener) {
+        this.feedRangeListeners.add(feedRangeListener);
+    }
+
+    // true if the feed ranges differ from the previous ones
+    public boolean updateFeedRanges(List<FeedRange> feedRanges) {
+        synchronized (this) {
+            List<Range<String>> previousRanges = this.ranges;
+
+            setFeedRanges(feedRanges);
+
+            if (previousRanges.equals(this.ranges)) {
+                return false;
+            }
+
+            logger.info("Container with ID : {} went from {} to {} physical feed ranges, fault targets are resolved again.",
+                    this.containerId,
+                    previousRanges.size(),
+                    this.ranges.size());
+
+            this.resolvedPayloadsByPayloadId.clear();
+        }
+
+        for (Runnable feedRangeListener : this.feedRangeListeners) {
+            feedRangeListener.run();
+        }
+
+        return true;
+    }
+
+    public synchronized FaultInjectionPayload resolve(FaultInjectionPayload faultInjectionPayload) {
+        if (!faultInjectionPayload.hasFeedRangeSelectors()) {
+            return faultInjectionPayload;
+        }
+
+        ResolvedPayload resolvedPayload = this.resolvedPayloadsByPayloadId.get(faultInjectionPayload.getPayloadId());
+
+        if (resolvedPayload != null && resolvedPayload.payload == faultInjectionPayload) {
+            return resolvedPayload.resolvedPayload;
+        }
+
+        Map<FaultInjectionParameters, List<FeedRange>> selectedFeedRanges = new IdentityHashMap<>();
+
+        for (FaultInjectionParameters faultInjectionParameter : faultInjectionPayload.getFaultInjectionParameters()) {
+            FeedRangeSelector feedRangeSelector = faultInjectionParameter.getFeedRangeSelector();
+
+            if (feedRangeSelector == null) {
+                continue;
+            }
+
+            List<FeedRange> feedRanges = select(feedRangeSelector);
+
+            selectedFeedRanges.put(faultInjectionParameter, feedRanges);
+
+            logger.info("Fault injection payload {} selects {} of {} feed ranges of container with ID : {} through {}",
+                    faultInjectionPayload.getPayloadId(),
+                    feedRanges.size(),
+                    this.feedRanges.size(),
+                    this.containerId,
+                    feedRangeSelector);
+        }
+
+        resolvedPayload = new ResolvedPayload(
+                faultInjectionPayload,
+                new FaultInjectionPayload(
+                        faultInjectionPayload.getPayloadId(),
+                        faultInjectionPayload.getFaultInjectionParameters(),
+                        selectedFeedRanges));
+
+        this.resolvedPayloadsByPayloadId.put(faultInjectionPayload.getPayloadId(), resolvedPayload);
+
+        return resolvedPayload.resolvedPayload;
+    }
+
+    private void setFeedRanges(List<FeedRange> feedRanges) {
+        List<FeedRange> sortedFeedRanges = new ArrayList<>(feedRanges);
+
+        sortedFeedRanges.sort(Comparator.comparing(feedRange -> FeedRangeRoutingCache.toRange(feedRange).getMin()));
+
+        List<Range<String>> ranges = new ArrayList<>(sortedFeedRanges.size());
+
+        for (FeedRange feedRange : sortedFeedRanges) {
+            ranges.add(FeedRangeRoutingCache.toRange(feedRange));
+        }
+
+        this.feedRanges = Collections.unmodifiableList(sortedFeedRanges);
+        this.ranges = ranges;
+    }
+
+    private List<FeedRange> select(FeedRangeSelector feedRangeSelector) {
+        switch (feedRangeSelector.getKind()) {
+            case RANDOM:
+                return selectRandomly(feedRangeSelector.getCount());
+            case FRACTION:
+                return selectRandomly((int) Math.ceil(feedRangeSelector.getFraction() * this.feedRanges.size()));
+            case KEY:
+                return Collections.singletonList(this.feedRanges.get(findFeedRangeIndex(feedRangeSelector.getPartitionKeyValue())));
+            default:
+                return this.feedRanges;
+        }
+    }
+
+    // in feed range order
+    private List<FeedRange> selectRandomly(int count) {
+        if (count >= this.feedRanges.size()) {
+            return this.feedRanges;
+        }
+
+        List<Integer> feedRangeIndices = new ArrayList<>(this.feedRanges.size());
+
+        for (int i = 0; i < this.feedRanges.size(); i++) {
+            feedRangeIndices.add(i);
+        }
+
+        Collections.shuffle(feedRangeIndices, ThreadLocalRandom.current());
+
+        List<Integer> selectedFeedRangeIndices = new ArrayList<>(feedRangeIndices.subList(0, count));
+        Collections.sort(selectedFeedRangeIndices);
+
+        List<FeedRange> selectedFeedRanges = new ArrayList<>(count);
+
+        for (int feedRangeIndex : selectedFeedRangeIndices) {
+            selectedFeedRanges.add(this.feedRanges.get(feedRangeIndex));
+        }
+
+        return selectedFeedRanges;
+    }
+
+    // ranges are sorted and contiguous, the last one whose min does not exceed the key's effective partition key owns it
+    private int findFeedRangeIndex(String partitionKeyValue) {
+        String effectivePartitionKey = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+                BridgeInternal.getPartitionKeyInternal(new PartitionKey(partitionKeyValue)),
+                this.partitionKeyDefinition);
+
+        for (int i = this.ranges.size() - 1; i > 0; i--) {
+            if (this.ranges.get(i).getMin().compareTo(effectivePartitionKey) <= 0) {
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+    private static final class ResolvedPayload {
+
+        private final FaultInjectionPayload payload;
+
+        private final FaultInjectionPayload resolvedPayload;
+
+        private ResolvedPayload(FaultInjectionPayload payload, FaultInjectionPayload resolvedPayload) {
+            this.payload = payload;
+            this.resolvedPayload = resolvedPayload;
+        }
+    }
+}
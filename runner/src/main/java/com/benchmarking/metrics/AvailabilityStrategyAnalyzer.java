@@ -0,0 +1,202 @@
+package com.benchmarking.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Weighs what the threshold based availability strategy costs against the latency it saves, by phase and operation type
+//  - amplification ratio : requests sent per operation, an operation hedged to n further regions sends n + 1 requests
+//  - extra request charge : charge of hedged operations beyond what as many non-hedged operations of the same phase and
+//    operation type were charged on average, the charge of a single request of an operation is not known
+//  - latency gain : p50 / p99 of the control group issued without the strategy minus p50 / p99 with the strategy,
+//    only reported with a positive availabilityStrategyControlFraction
+// The report is logged and written to availability-strategy.csv at the end of the run, phases in order of appearance.
+public class AvailabilityStrategyAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStrategyAnalyzer.class);
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
+
+    // histograms hold microseconds, latencies are reported in milliseconds
+    private static final double VALUE_UNIT_RATIO = 1_000d;
+
+    private static final String TABLE_ROW_FORMAT = "%-16s %-8s %10s %8s %8s %8s %12s %10s %10s %10s %10s %10s";
+
+    private final List<String> phases = new CopyOnWriteArrayList<>();
+
+    // phase -> operation type -> statistics with and without the strategy
+    private final Map<String, Map<String, GroupStatistics[]>> statisticsByPhase = new ConcurrentHashMap<>();
+
+    public void onOperationCompleted(
+            String phase,
+            String operationType,
+            boolean isAvailabilityStrategyApplied,
+            int hedgedRequestCount,
+            double requestCharge,
+            long latencyInNanos) {
+
+        Map<String, GroupStatistics[]> statisticsByOperationType = this.statisticsByPhase.get(phase);
+
+        if (statisticsByOperationType == null) {
+            statisticsByOperationType = this.statisticsByPhase.computeIfAbsent(phase, ignore -> {
+                this.phases.add(phase);
+                return new ConcurrentHashMap<>();
+            });
+        }
+
+        GroupStatistics[] groupStatistics = statisticsByOperationType.computeIfAbsent(
+                operationType,
+                ignore -> new GroupStatistics[] {new GroupStatistics(), new GroupStatistics()});
+
+        groupStatistics[isAvailabilityStrategyApplied ? 0 : 1].record(hedgedRequestCount, requestCharge, latencyInNanos);
+    }
+
+    public void reset() {
+        this.statisticsByPhase.clear();
+        this.phases.clear();
+    }
+
+    public void writeReport(Path outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory);
+
+        logger.info("Availability strategy report :");
+        logger.info(String.format(
+                Locale.ROOT,
+                TABLE_ROW_FORMAT,
+                "phase", "type", "operations", "hedged", "requests", "ampl.", "extra RU", "p50", "p99", "control", "p50 gain", "p99 gain"));
+
+        try (PrintStream reportStream = new PrintStream(outputDirectory.resolve("availability-strategy.csv").toFile())) {
+            reportStream.println("phase,operationType,operations,hedgedOperations,hedgedRequests,amplificationRatio,"
+                    + "requestCharge,extraRequestCharge,p50LatencyInMillis,p99LatencyInMillis,controlOperations,"
+                    + "controlRequestCharge,controlP50LatencyInMillis,controlP99LatencyInMillis,"
+                    + "p50LatencyGainInMillis,p99LatencyGainInMillis");
+
+            for (String phase : this.phases) {
+                for (Map.Entry<String, GroupStatistics[]> entry : this.statisticsByPhase.get(phase).entrySet()) {
+                    GroupStatistics applied = entry.getValue()[0];
+                    GroupStatistics control = entry.getValue()[1];
+
+                    long operations = applied.operations.sum();
+                    long hedgedOperations = applied.hedgedOperations.sum();
+                    long hedgedRequests = applied.hedgedRequests.sum();
+                    double amplificationRatio = operations == 0 ? Double.NaN : (operations + hedgedRequests) / (double) operations;
+                    double extraRequestCharge = getExtraRequestCharge(applied);
+                    double p50 = getLatencyInMillis(applied.latencyHistogram, 50);
+                    double p99 = getLatencyInMillis(applied.latencyHistogram, 99);
+                    double controlP50 = getLatencyInMillis(control.latencyHistogram, 50);
+                    double controlP99 = getLatencyInMillis(control.latencyHistogram, 99);
+
+                    reportStream.println(String.join(",",
+                            phase,
+                            entry.getKey(),
+                            String.valueOf(operations),
+                            String.valueOf(hedgedOperations),
+                            String.valueOf(hedgedRequests),
+                            format(amplificationRatio, "%.3f"),
+                            format(applied.requestCharge.sum(), "%.2f"),
+                            format(extraRequestCharge, "%.2f"),
+                            format(p50, "%.1f"),
+                            format(p99, "%.1f"),
+                            String.valueOf(control.operations.sum()),
+                            format(control.requestCharge.sum(), "%.2f"),
+                            format(controlP50, "%.1f"),
+                            format(controlP99, "%.1f"),
+                            format(controlP50 - p50, "%.1f"),
+                            format(controlP99 - p99, "%.1f")));
+
+                    logger.info(String.format(
+                            Locale.ROOT,
+                            TABLE_ROW_FORMAT,
+                            phase,
+                            entry.getKey(),
+                            operations,
+                            hedgedOperations,
+                            operations + hedgedRequests,
+                            orDash(format(amplificationRatio, "%.3f")),
+                            orDash(format(extraRequestCharge, "%.2f")),
+                            orDash(format(p50, "%.1f")),
+                            orDash(format(p99, "%.1f")),
+                            control.operations.sum(),
+                            orDash(format(controlP50 - p50, "%.1f")),
+                            orDash(format(controlP99 - p99, "%.1f"))));
+                }
+            }
+        }
+
+        logger.info("Availability strategy report written to : {}", outputDirectory.toAbsolutePath());
+    }
+
+    // NaN when every operation was hedged, there is no baseline then
+    private static double getExtraRequestCharge(GroupStatistics statistics) {
+        long hedgedOperations = statistics.hedgedOperations.sum();
+
+        if (hedgedOperations == 0) {
+            return 0;
+        }
+
+        long nonHedgedOperations = statistics.operations.sum() - hedgedOperations;
+
+        if (nonHedgedOperations <= 0) {
+            return Double.NaN;
+        }
+
+        double hedgedRequestCharge = statistics.hedgedRequestCharge.sum();
+        double nonHedgedRequestCharge = statistics.requestCharge.sum() - hedgedRequestCharge;
+
+        return hedgedRequestCharge - hedgedOperations * (nonHedgedRequestCharge / nonHedgedOperations);
+    }
+
+    private static double getLatencyInMillis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? Double.NaN : histogram.getValueAtPercentile(percentile) / VALUE_UNIT_RATIO;
+    }
+
+    private static String format(double value, String format) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, format, value);
+    }
+
+    private static String orDash(String value) {
+        return value.isEmpty() ? "-" : value;
+    }
+
+    private static final class GroupStatistics {
+
+        private final LongAdder operations = new LongAdder();
+
+        private final LongAdder hedgedOperations = new LongAdder();
+
+        private final LongAdder hedgedRequests = new LongAdder();
+
+        private final DoubleAdder requestCharge = new DoubleAdder();
+
+        private final DoubleAdder hedgedRequestCharge = new DoubleAdder();
+
+        private final Histogram latencyHistogram = new ConcurrentHistogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+
+        private void record(int hedgedRequestCount, double requestCharge, long latencyInNanos) {
+            this.operations.increment();
+            this.requestCharge.add(requestCharge);
+
+            if (hedgedRequestCount > 0) {
+                this.hedgedOperations.increment();
+                this.hedgedRequests.add(hedgedRequestCount);
+                this.hedgedRequestCharge.add(requestCharge);
+            }
+
+            this.latencyHistogram.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyInNanos)));
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.benchmarking.metrics;
+
+import com.azure.cosmos.implementation.feedranges.FeedRangeEpkImpl;
+import com.azure.cosmos.implementation.routing.Range;
+import com.azure.cosmos.models.FeedRange;
+import com.benchmarking.workload.FeedRangeRoutingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Measures how fast the partition level circuit breaker reacts to an injected fault. For every fault window,
+// i.e. a (region, feed range) pair faulted for faultInjectionDuration, operations on keys owned by a physical
+// feed range overlapping the faulted feed range are matched against the window and three values are derived:
+//  - time to first failover : window start until the first operation which no longer contacts the faulted region,
+//    once an operation of the window has contacted it, operations served elsewhere before that were never routed
+//    to the faulted region, e.g. when it is not the first preferred region, and are no failover
+//  - failed requests before the breaker tripped : failed operations between window start and first failover
+//  - time to recover : window end until the first successful operation served by the faulted region alone
+// Windows whose faulted region never served an operation have no failover, they are reported as such.
+public class CircuitBreakerAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerAnalyzer.class);
+
+    private static final long NOT_OBSERVED = -1;
+
+    private final FeedRangeRoutingCache feedRangeRoutingCache;
+
+    private final List<FaultWindow> allFaultWindows = new CopyOnWriteArrayList<>();
+
+    // windows which still wait for a failover or a recovery
+    private final List<FaultWindow> unresolvedFaultWindows = new CopyOnWriteArrayList<>();
+
+    public CircuitBreakerAnalyzer(FeedRangeRoutingCache feedRangeRoutingCache) {
+        this.feedRangeRoutingCache = feedRangeRoutingCache;
+    }
+
+    public void onFaultInjected(String faultId, String region, FeedRange feedRange, Duration faultInjectionDuration) {
+        if (!(feedRange instanceof FeedRangeEpkImpl)) {
+            logger.warn("Fault {} targets feed range {} which is not an effective partition key range, it will not be analyzed.", faultId, feedRange);
+            return;
+        }
+
+        long startTimeInNanos = System.nanoTime();
+
+        // a zero duration is an infinite fault which never ends
+        long endTimeInNanos = faultInjectionDuration == null || faultInjectionDuration.isZero()
+                ? Long.MAX_VALUE
+                : startTimeInNanos + faultInjectionDuration.toNanos();
+
+        FaultWindow faultWindow = new FaultWindow(
+                faultId,
+                region.toLowerCase(Locale.ROOT),
+                ((FeedRangeEpkImpl) feedRange).getRange(),
+                this.feedRangeRoutingCache.getOverlappingFeedRanges(feedRange),
+                startTimeInNanos,
+                endTimeInNanos);
+
+        // a fault re-injected into the same region and feed range supersedes the previous window
+        for (FaultWindow unresolvedFaultWindow : this.unresolvedFaultWindows) {
+            if (unresolvedFaultWindow.region.equals(faultWindow.region)
+                    && unresolvedFaultWindow.range.equals(faultWindow.range)) {
+                unresolvedFaultWindow.isSuperseded = true;
+                this.unresolvedFaultWindows.remove(unresolvedFaultWindow);
+            }
+        }
+
+        this.allFaultWindows.add(faultWindow);
+        this.unresolvedFaultWindows.add(faultWindow);
+    }
+
+    public void onOperationCompleted(int keyIndex, Set<String> contactedRegionNames, boolean isSuccess) {
+        if (this.unresolvedFaultWindows.isEmpty()) {
+            return;
+        }
+
+        long nowInNanos = System.nanoTime();
+        int feedRangeIndex = this.feedRangeRoutingCache.getFeedRangeIndex(keyIndex);
+
+        for (FaultWindow faultWindow : this.unresolvedFaultWindows) {
+            if (nowInNanos < faultWindow.startTimeInNanos || !faultWindow.isFaultedByFeedRangeIndex[feedRangeIndex]) {
+                continue;
+            }
+
+            faultWindow.onOperationCompleted(contactedRegionNames, isSuccess, nowInNanos);
+
+            if (faultWindow.isResolved()) {
+                this.unresolvedFaultWindows.remove(faultWindow);
+                logger.info("Fault window resolved - {}", faultWindow);
+            }
+        }
+    }
+
+    // true for the first maxCaptures callers per fault window whose key belongs to a feed range faulted by an
+    // active window, lets diagnostics be captured for the onset of every fault without capturing all of it
+    public boolean tryClaimDiagnosticsCapture(int keyIndex, int maxCaptures) {
+        if (this.unresolvedFaultWindows.isEmpty()) {
+            return false;
+        }
+
+        long nowInNanos = System.nanoTime();
+        int feedRangeIndex = this.feedRangeRoutingCache.getFeedRangeIndex(keyIndex);
+
+        for (FaultWindow faultWindow : this.unresolvedFaultWindows) {
+            if (nowInNanos < faultWindow.startTimeInNanos
+                    || nowInNanos >= faultWindow.endTimeInNanos
+                    || !faultWindow.isFaultedByFeedRangeIndex[feedRangeIndex]) {
+                continue;
+            }
+
+            AtomicInteger diagnosticsCaptures = faultWindow.diagnosticsCaptures;
+
+            if (diagnosticsCaptures.get() < maxCaptures && diagnosticsCaptures.incrementAndGet() <= maxCaptures) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void logReport() {
+        logger.info("Circuit breaker analysis for {} fault windows :", this.allFaultWindows.size());
+
+        for (FaultWindow faultWindow : new ArrayList<>(this.allFaultWindows)) {
+            logger.info("  {}", faultWindow);
+        }
+    }
+
+    public int getFaultWindowCount() {
+        return this.allFaultWindows.size();
+    }
+
+    // of the fault windows in which a failover has been observed
+    public List<Duration> getTimesToFirstFailover() {
+        List<Duration> timesToFirstFailover = new ArrayList<>();
+
+        for (FaultWindow faultWindow : this.allFaultWindows) {
+            long firstFailoverTimeInNanos = faultWindow.firstFailoverTimeInNanos.get();
+
+            if (firstFailoverTimeInNanos != NOT_OBSERVED) {
+                timesToFirstFailover.add(Duration.ofNanos(firstFailoverTimeInNanos - faultWindow.startTimeInNanos));
+            }
+        }
+
+        return timesToFirstFailover;
+    }
+
+    public long getFailedOperationsBeforeFailover() {
+        long failedOperationsBeforeFailover = 0;
+
+        for (FaultWindow faultWindow : this.allFaultWindows) {
+            failedOperationsBeforeFailover += faultWindow.failedOperationsBeforeFailover.sum();
+        }
+
+        return failedOperationsBeforeFailover;
+    }
+
+    private static boolean containsRegion(Set<String> contactedRegionNames, String region) {
+        if (contactedRegionNames == null) {
+            return false;
+        }
+
+        for (String contactedRegionName : contactedRegionNames) {
+            if (contactedRegionName.equalsIgnoreCase(region)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class FaultWindow {
+
+        private final String faultId;
+
+        private final String region;
+
+        private final Range<String> range;
+
+        private final boolean[] isFaultedByFeedRangeIndex;
+
+        private final long startTimeInNanos;
+
+        private final long endTimeInNanos;
+
+        private final AtomicLong firstFailoverTimeInNanos = new AtomicLong(NOT_OBSERVED);
+
+        private final AtomicLong recoveryTimeInNanos = new AtomicLong(NOT_OBSERVED);
+
+        private final LongAdder failedOperationsBeforeFailover = new LongAdder();
+
+        private final LongAdder operations = new LongAdder();
+
+        private final AtomicInteger diagnosticsCaptures = new AtomicInteger(0);
+
+        private volatile boolean isSuperseded;
+
+        private volatile boolean hasServedFaultedRegion;
+
+        private FaultWindow(
+                String faultId,
+                String region,
+                Range<String> range,
+                boolean[] isFaultedByFeedRangeIndex,
+                long startTimeInNanos,
+                long endTimeInNanos) {
+
+            this.faultId = faultId;
+            this.region = region;
+            this.range = range;
+            this.isFaultedByFeedRangeIndex = isFaultedByFeedRangeIndex;
+            this.startTimeInNanos = startTimeInNanos;
+            this.endTimeInNanos = endTimeInNanos;
+        }
+
+        private void onOperationCompleted(Set<String> contactedRegionNames, boolean isSuccess, long nowInNanos) {
+            this.operations.increment();
+
+            boolean hasContactedFaultedRegion = containsRegion(contactedRegionNames, this.region);
+
+            if (this.firstFailoverTimeInNanos.get() == NOT_OBSERVED) {
+                if (hasContactedFaultedRegion) {
+                    this.hasServedFaultedRegion = true;
+
+                    if (!isSuccess) {
+                        this.failedOperationsBeforeFailover.increment();
+                    }
+                } else if (this.hasServedFaultedRegion && contactedRegionNames != null && !contactedRegionNames.isEmpty()) {
+                    this.firstFailoverTimeInNanos.compareAndSet(NOT_OBSERVED, nowInNanos);
+                } else if (!isSuccess && this.hasServedFaultedRegion) {
+                    this.failedOperationsBeforeFailover.increment();
+                }
+
+                return;
+            }
+
+            if (nowInNanos >= this.endTimeInNanos
+                    && isSuccess
+                    && hasContactedFaultedRegion
+                    && contactedRegionNames.size() == 1) {
+                this.recoveryTimeInNanos.compareAndSet(NOT_OBSERVED, nowInNanos);
+            }
+        }
+
+        private boolean isResolved() {
+            return this.recoveryTimeInNanos.get() != NOT_OBSERVED;
+        }
+
+        @Override
+        public String toString() {
+            long firstFailoverTimeInNanos = this.firstFailoverTimeInNanos.get();
+            long recoveryTimeInNanos = this.recoveryTimeInNanos.get();
+
+            String timeToFirstFailover;
+
+            if (firstFailoverTimeInNanos != NOT_OBSERVED) {
+                timeToFirstFailover = formatMillis(firstFailoverTimeInNanos - this.startTimeInNanos);
+            } else if (!this.hasServedFaultedRegion) {
+                timeToFirstFailover = "n/a (faulted region served no operation)";
+            } else {
+                timeToFirstFailover = "not observed";
+            }
+
+            String timeToRecover;
+
+            if (recoveryTimeInNanos != NOT_OBSERVED) {
+                timeToRecover = formatMillis(recoveryTimeInNanos - this.endTimeInNanos);
+            } else if (this.endTimeInNanos == Long.MAX_VALUE) {
+                timeToRecover = "n/a (infinite fault)";
+            } else if (this.isSuperseded) {
+                timeToRecover = "not observed before re-injection";
+            } else {
+                timeToRecover = "not observed";
+            }
+
+            return "faultId : " + this.faultId
+                    + ", region : " + this.region
+                    + ", range : [" + this.range.getMin() + ", " + this.range.getMax() + ")"
+                    + ", operations : " + this.operations.sum()
+                    + ", time to first failover (ms) : " + timeToFirstFailover
+                    + ", failed requests before breaker tripped : " + this.failedOperationsBeforeFailover.sum()
+                    + ", time to recover after fault end (ms) : " + timeToRecover;
+        }
+
+        private static String formatMillis(long durationInNanos) {
+            return String.format("%.1f", durationInNanos / 1_000_000d);
+        }
+    }
+}
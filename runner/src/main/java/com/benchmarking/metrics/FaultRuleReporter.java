@@ -0,0 +1,185 @@
+package com.benchmarking.metrics;
+
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.target.FaultRuleSnapshot;
+import com.benchmarking.target.WorkloadTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Polls the fault rules of every workload at a fixed interval and turns their hit counts into hit rates, so that the
+// fault load which reached the clients can be checked against the fault load the payloads asked for
+//  - logs the hit rate of every rule hit during the interval
+//  - appends every polled rule to fault-rules.csv, hit count details as operation=hits pairs
+//  - logs the total hits and injections of every rule when closed
+public class FaultRuleReporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultRuleReporter.class);
+
+    private final Map<String, WorkloadTarget> workloadTargetsByWorkload;
+
+    private final PhaseTracker phaseTracker;
+
+    private final Path outputDirectory;
+
+    private final Duration pollingInterval;
+
+    // keyed by workload and rule id
+    private final Map<String, Long> previousHitCounts = new HashMap<>();
+
+    private final ScheduledExecutorService pollingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fault-rule-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PrintStream csvStream;
+
+    private long startTimeInNanos;
+
+    private long previousPollTimeInNanos;
+
+    public FaultRuleReporter(Map<String, WorkloadTarget> workloadTargetsByWorkload, PhaseTracker phaseTracker, Path outputDirectory, Duration pollingInterval) {
+        if (pollingInterval.isNegative() || pollingInterval.isZero()) {
+            throw new IllegalArgumentException("faultRulePollingInterval should be positive.");
+        }
+
+        this.workloadTargetsByWorkload = workloadTargetsByWorkload;
+        this.phaseTracker = phaseTracker;
+        this.outputDirectory = outputDirectory;
+        this.pollingInterval = pollingInterval;
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        this.csvStream = new PrintStream(this.outputDirectory.resolve("fault-rules.csv").toFile());
+        this.csvStream.println("elapsedSeconds,phase,workload,ruleId,enabled,injections,hitCount,hits,hitsPerSecond,hitCountDetails");
+
+        this.startTimeInNanos = System.nanoTime();
+        this.previousPollTimeInNanos = this.startTimeInNanos;
+
+        long pollingIntervalInMillis = this.pollingInterval.toMillis();
+
+        this.pollingExecutor.scheduleAtFixedRate(this::pollSafely, pollingIntervalInMillis, pollingIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        this.pollingExecutor.shutdownNow();
+
+        try {
+            this.pollingExecutor.awaitTermination(this.pollingInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.csvStream != null) {
+            pollSafely();
+            this.csvStream.close();
+            logSummary();
+        }
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            logger.error("Failed to poll fault rules.", e);
+        }
+    }
+
+    private void poll() {
+        long nowInNanos = System.nanoTime();
+        long elapsedInSeconds = Math.round((nowInNanos - this.startTimeInNanos) / 1_000_000_000d);
+        double intervalInSeconds = Math.max(nowInNanos - this.previousPollTimeInNanos, 1) / 1_000_000_000d;
+        String phase = this.phaseTracker.getCurrentPhase();
+        StringBuilder hitRates = new StringBuilder();
+
+        this.previousPollTimeInNanos = nowInNanos;
+
+        for (Map.Entry<String, WorkloadTarget> entry : this.workloadTargetsByWorkload.entrySet()) {
+            String workload = entry.getKey();
+
+            for (FaultRuleSnapshot snapshot : entry.getValue().getFaultRuleSnapshots()) {
+                Long previousHitCount = this.previousHitCounts.put(workload + "/" + snapshot.getRuleId(), snapshot.getHitCount());
+                long hits = snapshot.getHitCount() - (previousHitCount == null ? 0 : previousHitCount);
+                double hitsPerSecond = hits / intervalInSeconds;
+
+                this.csvStream.println(String.join(",",
+                        String.valueOf(elapsedInSeconds),
+                        phase,
+                        workload,
+                        snapshot.getRuleId(),
+                        String.valueOf(snapshot.isEnabled()),
+                        String.valueOf(snapshot.getInjectionCount()),
+                        String.valueOf(snapshot.getHitCount()),
+                        String.valueOf(hits),
+                        String.format(Locale.ROOT, "%.1f", hitsPerSecond),
+                        formatHitCountDetails(snapshot.getHitCountDetails())));
+
+                if (hits > 0) {
+                    if (hitRates.length() > 0) {
+                        hitRates.append(", ");
+                    }
+
+                    if (this.workloadTargetsByWorkload.size() > 1) {
+                        hitRates.append(workload).append(' ');
+                    }
+
+                    hitRates.append(snapshot.getRuleId())
+                            .append(' ')
+                            .append(String.format(Locale.ROOT, "%.1f", hitsPerSecond))
+                            .append("/s")
+                            .append(snapshot.isEnabled() ? "" : " (disabled)");
+                }
+            }
+        }
+
+        this.csvStream.flush();
+
+        if (hitRates.length() > 0) {
+            logger.info("Fault rule hits t+{}s [{}] - {}", elapsedInSeconds, phase, hitRates);
+        }
+    }
+
+    private void logSummary() {
+        for (Map.Entry<String, WorkloadTarget> entry : this.workloadTargetsByWorkload.entrySet()) {
+            List<FaultRuleSnapshot> snapshots = entry.getValue().getFaultRuleSnapshots();
+
+            for (FaultRuleSnapshot snapshot : snapshots) {
+                logger.info("Fault rule {}{} - injections : {}, hits : {}",
+                        snapshot.getRuleId(),
+                        this.workloadTargetsByWorkload.size() > 1 ? " of workload " + entry.getKey() : "",
+                        snapshot.getInjectionCount(),
+                        snapshot.getHitCount());
+            }
+        }
+    }
+
+    private static String formatHitCountDetails(Map<String, Long> hitCountDetails) {
+        StringBuilder formatted = new StringBuilder();
+
+        for (Map.Entry<String, Long> entry : hitCountDetails.entrySet()) {
+            if (formatted.length() > 0) {
+                formatted.append(';');
+            }
+
+            formatted.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+
+        return formatted.toString();
+    }
+}
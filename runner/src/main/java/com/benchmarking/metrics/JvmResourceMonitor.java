@@ -0,0 +1,122 @@
+package com.benchmarking.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+// Reports process wide CPU, thread and heap figures, so that the cost of running more clients and containers
+// in one JVM can be compared. CPU usage is derived from the process CPU time consumed since the previous
+// report and is expressed in cores.
+public class JvmResourceMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JvmResourceMonitor.class);
+
+    private static final double BYTES_PER_MEGABYTE = 1024d * 1024d;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+
+    private final long startTimeInNanos = System.nanoTime();
+
+    private final long startProcessCpuTimeInNanos = getProcessCpuTimeInNanos();
+
+    private long lastReportTimeInNanos = this.startTimeInNanos;
+
+    private long lastProcessCpuTimeInNanos = this.startProcessCpuTimeInNanos;
+
+    private long lastGcCount = getGcCount();
+
+    private long lastGcTimeInMillis = getGcTimeInMillis();
+
+    private long maxUsedHeapInBytes;
+
+    public void logStatistics() {
+        long now = System.nanoTime();
+        long processCpuTimeInNanos = getProcessCpuTimeInNanos();
+        long gcCount = getGcCount();
+        long gcTimeInMillis = getGcTimeInMillis();
+        MemoryUsage heapMemoryUsage = this.memoryMXBean.getHeapMemoryUsage();
+
+        this.maxUsedHeapInBytes = Math.max(this.maxUsedHeapInBytes, heapMemoryUsage.getUsed());
+
+        logger.info("JVM resources - cpu (cores) : {} of {}, threads : {} (daemon : {}, peak : {}), heap (MB) used : {}, committed : {}, max : {}, non-heap used (MB) : {}, gc count : {}, gc time (ms) : {}",
+                formatCores(processCpuTimeInNanos - this.lastProcessCpuTimeInNanos, now - this.lastReportTimeInNanos),
+                this.operatingSystemMXBean.getAvailableProcessors(),
+                this.threadMXBean.getThreadCount(),
+                this.threadMXBean.getDaemonThreadCount(),
+                this.threadMXBean.getPeakThreadCount(),
+                formatMegabytes(heapMemoryUsage.getUsed()),
+                formatMegabytes(heapMemoryUsage.getCommitted()),
+                formatMegabytes(heapMemoryUsage.getMax()),
+                formatMegabytes(this.memoryMXBean.getNonHeapMemoryUsage().getUsed()),
+                gcCount - this.lastGcCount,
+                gcTimeInMillis - this.lastGcTimeInMillis);
+
+        this.lastReportTimeInNanos = now;
+        this.lastProcessCpuTimeInNanos = processCpuTimeInNanos;
+        this.lastGcCount = gcCount;
+        this.lastGcTimeInMillis = gcTimeInMillis;
+    }
+
+    public void logSummary() {
+        long now = System.nanoTime();
+
+        this.maxUsedHeapInBytes = Math.max(this.maxUsedHeapInBytes, this.memoryMXBean.getHeapMemoryUsage().getUsed());
+
+        logger.info("JVM resources over the run - mean cpu (cores) : {}, peak threads : {}, max sampled heap used (MB) : {}, gc time (ms) : {}",
+                formatCores(getProcessCpuTimeInNanos() - this.startProcessCpuTimeInNanos, now - this.startTimeInNanos),
+                this.threadMXBean.getPeakThreadCount(),
+                formatMegabytes(this.maxUsedHeapInBytes),
+                getGcTimeInMillis());
+    }
+
+    // -1 if the platform does not expose the process CPU time
+    private long getProcessCpuTimeInNanos() {
+        if (this.operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) this.operatingSystemMXBean).getProcessCpuTime();
+        }
+
+        return -1;
+    }
+
+    private static long getGcCount() {
+        long gcCount = 0;
+
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+        }
+
+        return gcCount;
+    }
+
+    private static long getGcTimeInMillis() {
+        long gcTimeInMillis = 0;
+
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcTimeInMillis += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+        }
+
+        return gcTimeInMillis;
+    }
+
+    private String formatCores(long cpuTimeInNanos, long elapsedTimeInNanos) {
+        if (this.startProcessCpuTimeInNanos < 0 || elapsedTimeInNanos <= 0) {
+            return "n/a";
+        }
+
+        return String.format("%.2f", (double) cpuTimeInNanos / elapsedTimeInNanos);
+    }
+
+    private static String formatMegabytes(long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1f", bytes / BYTES_PER_MEGABYTE);
+    }
+}
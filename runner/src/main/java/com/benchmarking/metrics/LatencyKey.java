@@ -0,0 +1,128 @@
+package com.benchmarking.metrics;
+
+import java.util.Objects;
+
+// Identifies one latency series. Instances used as map keys are never mutated, a per-thread scratch
+// instance is mutated for lookups so that the recording path does not allocate a key per operation.
+public final class LatencyKey {
+
+    private String phase;
+
+    private String operationType;
+
+    private String region;
+
+    private String feedRange;
+
+    private String partitionHealth;
+
+    private int statusCode;
+
+    private int subStatusCode;
+
+    LatencyKey() {
+    }
+
+    LatencyKey(String phase, String operationType, String region, String feedRange, String partitionHealth, int statusCode, int subStatusCode) {
+        this.phase = phase;
+        this.operationType = operationType;
+        this.region = region;
+        this.feedRange = feedRange;
+        this.partitionHealth = partitionHealth;
+        this.statusCode = statusCode;
+        this.subStatusCode = subStatusCode;
+    }
+
+    LatencyKey set(String phase, String operationType, String region, String feedRange, String partitionHealth, int statusCode, int subStatusCode) {
+        this.phase = phase;
+        this.operationType = operationType;
+        this.region = region;
+        this.feedRange = feedRange;
+        this.partitionHealth = partitionHealth;
+        this.statusCode = statusCode;
+        this.subStatusCode = subStatusCode;
+        return this;
+    }
+
+    LatencyKey copy() {
+        return new LatencyKey(this.phase, this.operationType, this.region, this.feedRange, this.partitionHealth, this.statusCode, this.subStatusCode);
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public String getFeedRange() {
+        return feedRange;
+    }
+
+    public String getPartitionHealth() {
+        return partitionHealth;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public int getSubStatusCode() {
+        return subStatusCode;
+    }
+
+    // HdrHistogram log tags cannot contain commas, spaces or line breaks
+    public String toTag() {
+        return (this.phase + ":" + this.operationType + ":" + this.region + ":" + this.feedRange + ":" + this.partitionHealth + ":" + this.statusCode + ":" + this.subStatusCode)
+                .replaceAll("[,\\s]", "_");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof LatencyKey)) {
+            return false;
+        }
+
+        LatencyKey that = (LatencyKey) o;
+
+        return this.statusCode == that.statusCode
+                && this.subStatusCode == that.subStatusCode
+                && Objects.equals(this.phase, that.phase)
+                && Objects.equals(this.operationType, that.operationType)
+                && Objects.equals(this.region, that.region)
+                && Objects.equals(this.feedRange, that.feedRange)
+                && Objects.equals(this.partitionHealth, that.partitionHealth);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hashCode(this.phase);
+        result = 31 * result + Objects.hashCode(this.operationType);
+        result = 31 * result + Objects.hashCode(this.region);
+        result = 31 * result + Objects.hashCode(this.feedRange);
+        result = 31 * result + Objects.hashCode(this.partitionHealth);
+        result = 31 * result + this.statusCode;
+        result = 31 * result + this.subStatusCode;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "phase=" + this.phase
+                + ", operationType=" + this.operationType
+                + ", region=" + this.region
+                + ", feedRange=" + this.feedRange
+                + ", partitionHealth=" + this.partitionHealth
+                + ", statusCode=" + this.statusCode
+                + ", subStatusCode=" + this.subStatusCode;
+    }
+}
@@ -0,0 +1,83 @@
+package com.benchmarking.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Lock-free latency recording.
+//  - every recording thread owns its recorders, so recording never contends with other threads
+//  - a thread registers its recorders once, the reporter walks all registrations and merges
+//    the interval histograms of the same key across threads
+// Latencies are recorded in microseconds.
+public class LatencyRecorder {
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final Queue<ThreadRecorders> allThreadRecorders = new ConcurrentLinkedQueue<>();
+
+    private final ThreadLocal<ThreadRecorders> threadRecorders = ThreadLocal.withInitial(() -> {
+        ThreadRecorders recorders = new ThreadRecorders();
+        this.allThreadRecorders.add(recorders);
+        return recorders;
+    });
+
+    public void record(String phase, String operationType, String region, String feedRange, String partitionHealth, int statusCode, int subStatusCode, long latencyInNanos) {
+        ThreadRecorders recorders = this.threadRecorders.get();
+        LatencyKey lookupKey = recorders.scratchKey.set(phase, operationType, region, feedRange, partitionHealth, statusCode, subStatusCode);
+
+        SingleWriterRecorder recorder = recorders.recorders.get(lookupKey);
+
+        if (recorder == null) {
+            recorder = new SingleWriterRecorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+            recorders.recorders.put(lookupKey.copy(), recorder);
+        }
+
+        recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyInNanos)));
+    }
+
+    // swaps out the interval histograms of every thread and merges them by key
+    public Map<LatencyKey, Histogram> getIntervalHistograms() {
+        Map<LatencyKey, Histogram> merged = new HashMap<>();
+
+        for (ThreadRecorders recorders : this.allThreadRecorders) {
+            for (Map.Entry<LatencyKey, SingleWriterRecorder> entry : recorders.recorders.entrySet()) {
+                Histogram intervalHistogram = entry.getValue().getIntervalHistogram();
+
+                if (intervalHistogram.getTotalCount() == 0) {
+                    continue;
+                }
+
+                Histogram mergedHistogram = merged.get(entry.getKey());
+
+                if (mergedHistogram == null) {
+                    merged.put(entry.getKey(), intervalHistogram);
+                } else {
+                    mergedHistogram.add(intervalHistogram);
+                    mergedHistogram.setStartTimeStamp(Math.min(mergedHistogram.getStartTimeStamp(), intervalHistogram.getStartTimeStamp()));
+                    mergedHistogram.setEndTimeStamp(Math.max(mergedHistogram.getEndTimeStamp(), intervalHistogram.getEndTimeStamp()));
+                }
+            }
+        }
+
+        return merged;
+    }
+
+    // discards everything recorded so far
+    public void reset() {
+        getIntervalHistograms();
+    }
+
+    private static final class ThreadRecorders {
+
+        // written by the owning thread only, iterated by the reporter
+        private final Map<LatencyKey, SingleWriterRecorder> recorders = new ConcurrentHashMap<>();
+
+        private final LatencyKey scratchKey = new LatencyKey();
+    }
+}
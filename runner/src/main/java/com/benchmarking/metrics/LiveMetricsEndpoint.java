@@ -0,0 +1,325 @@
+package com.benchmarking.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+import io.netty.util.internal.PlatformDependent;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Serves the metrics of an in-flight run at /metrics in the Prometheus text format.
+// Scrapes never touch the workload, they are served the latest snapshot
+//  - the snapshot is rebuilt at a fixed interval on its own thread, the run metrics writer reads the same
+//    striped counters the periodic logs read, JVM and Netty memory come from their MXBeans and allocator metrics
+//  - latency quantiles are those of the latest interval of every series, merged per operation type on the
+//    reporting thread of the MetricsReporter, counts and sums accumulate over the run
+public class LiveMetricsEndpoint implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveMetricsEndpoint.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    // histograms hold microseconds
+    private static final double MICROSECONDS_PER_SECOND = 1_000_000d;
+
+    private final int port;
+
+    private final Duration refreshInterval;
+
+    private final Consumer<PrometheusWriter> runMetricsWriter;
+
+    private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-metrics-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutorService serverExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-metrics-endpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // replaced as a whole on the reporting thread, keyed by series and operation type
+    private volatile Map<String, LatencySummary> latencySummaries = new LinkedHashMap<>();
+
+    private volatile byte[] snapshot = new byte[0];
+
+    private HttpServer httpServer;
+
+    public LiveMetricsEndpoint(int port, Duration refreshInterval, Consumer<PrometheusWriter> runMetricsWriter) {
+        if (port < 0 || port > 65535) {
+            throw new IllegalArgumentException("metricsEndpointPort should be between 0 and 65535.");
+        }
+
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("metricsEndpointRefreshInterval should be positive.");
+        }
+
+        this.port = port;
+        this.refreshInterval = refreshInterval;
+        this.runMetricsWriter = runMetricsWriter;
+    }
+
+    public void start() throws IOException {
+        refreshSafely();
+
+        this.httpServer = HttpServer.create(new InetSocketAddress(this.port), 0);
+        this.httpServer.createContext("/metrics", this::serve);
+        this.httpServer.setExecutor(this.serverExecutor);
+        this.httpServer.start();
+
+        long refreshIntervalInMillis = this.refreshInterval.toMillis();
+
+        this.refreshExecutor.scheduleAtFixedRate(this::refreshSafely, refreshIntervalInMillis, refreshIntervalInMillis, TimeUnit.MILLISECONDS);
+
+        logger.info("Serving live metrics at : http://localhost:{}/metrics", this.httpServer.getAddress().getPort());
+    }
+
+    // to be registered with MetricsReporter.addIntervalListener
+    public void onIntervalReported(String series, Map<LatencyKey, Histogram> intervalHistograms) {
+        try {
+            Map<String, Histogram> histogramsByOperationType = new LinkedHashMap<>();
+
+            for (Map.Entry<LatencyKey, Histogram> entry : intervalHistograms.entrySet()) {
+                histogramsByOperationType
+                        .computeIfAbsent(entry.getKey().getOperationType(), ignore -> new Histogram(entry.getValue().getNumberOfSignificantValueDigits()))
+                        .add(entry.getValue());
+            }
+
+            Map<String, LatencySummary> latencySummaries = new LinkedHashMap<>(this.latencySummaries);
+
+            // operation types without operations in this interval keep their counts but have no quantiles
+            for (Map.Entry<String, LatencySummary> entry : this.latencySummaries.entrySet()) {
+                LatencySummary latencySummary = entry.getValue();
+
+                if (latencySummary.series.equals(series) && !histogramsByOperationType.containsKey(latencySummary.operationType)) {
+                    latencySummaries.put(entry.getKey(), latencySummary.next(null));
+                }
+            }
+
+            for (Map.Entry<String, Histogram> entry : histogramsByOperationType.entrySet()) {
+                String key = series + "/" + entry.getKey();
+                LatencySummary latencySummary = latencySummaries.get(key);
+
+                if (latencySummary == null) {
+                    latencySummary = new LatencySummary(series, entry.getKey(), new double[QUANTILES.length], 0, 0);
+                }
+
+                latencySummaries.put(key, latencySummary.next(entry.getValue()));
+            }
+
+            this.latencySummaries = latencySummaries;
+        } catch (RuntimeException e) {
+            logger.error("Failed to summarize latency interval for : {}", series, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.refreshExecutor.shutdownNow();
+
+        if (this.httpServer != null) {
+            this.httpServer.stop(0);
+        }
+
+        this.serverExecutor.shutdownNow();
+    }
+
+    private void serve(HttpExchange httpExchange) throws IOException {
+        try {
+            if (!"GET".equals(httpExchange.getRequestMethod())) {
+                httpExchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] snapshot = this.snapshot;
+
+            httpExchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            // a length of 0 would announce a chunked body
+            httpExchange.sendResponseHeaders(200, snapshot.length == 0 ? -1 : snapshot.length);
+
+            try (OutputStream responseBody = httpExchange.getResponseBody()) {
+                responseBody.write(snapshot);
+            }
+        } finally {
+            httpExchange.close();
+        }
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Failed to refresh live metrics.", e);
+        }
+    }
+
+    private void refresh() {
+        PrometheusWriter writer = new PrometheusWriter();
+
+        writer.gauge("cosmos_benchmark_snapshot_timestamp_seconds", "Time at which this snapshot was taken.")
+                .sample(System.currentTimeMillis() / 1_000d);
+
+        this.runMetricsWriter.accept(writer);
+
+        writeLatencySummaries(writer);
+        writeJvmMetrics(writer);
+        writeNettyMetrics(writer);
+
+        this.snapshot = writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeLatencySummaries(PrometheusWriter writer) {
+        PrometheusWriter.Family latency = writer.summary(
+                "cosmos_benchmark_operation_latency_seconds",
+                "Operation latency, quantiles of the latest reporting interval, count and sum over the run.");
+
+        for (LatencySummary latencySummary : this.latencySummaries.values()) {
+            for (int i = 0; i < QUANTILES.length; i++) {
+                latency.sample(latencySummary.quantiles[i],
+                        "series", latencySummary.series,
+                        "operation_type", latencySummary.operationType,
+                        "quantile", String.valueOf(QUANTILES[i]));
+            }
+
+            latency.sample("_count", latencySummary.count, "series", latencySummary.series, "operation_type", latencySummary.operationType);
+            latency.sample("_sum", latencySummary.sumInSeconds, "series", latencySummary.series, "operation_type", latencySummary.operationType);
+        }
+    }
+
+    private void writeJvmMetrics(PrometheusWriter writer) {
+        MemoryUsage heapMemoryUsage = this.memoryMXBean.getHeapMemoryUsage();
+        MemoryUsage nonHeapMemoryUsage = this.memoryMXBean.getNonHeapMemoryUsage();
+
+        writer.gauge("jvm_memory_used_bytes", "Used JVM memory.")
+                .sample(heapMemoryUsage.getUsed(), "area", "heap")
+                .sample(nonHeapMemoryUsage.getUsed(), "area", "nonheap");
+        writer.gauge("jvm_memory_committed_bytes", "Committed JVM memory.")
+                .sample(heapMemoryUsage.getCommitted(), "area", "heap")
+                .sample(nonHeapMemoryUsage.getCommitted(), "area", "nonheap");
+
+        // -1 when undefined
+        if (heapMemoryUsage.getMax() >= 0) {
+            writer.gauge("jvm_memory_max_bytes", "Maximum JVM memory.").sample(heapMemoryUsage.getMax(), "area", "heap");
+        }
+
+        for (BufferPoolMXBean bufferPoolMXBean : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            writer.gauge("jvm_buffer_pool_used_bytes", "Memory used by JVM buffer pools such as direct and mapped.")
+                    .sample(bufferPoolMXBean.getMemoryUsed(), "pool", bufferPoolMXBean.getName());
+            writer.gauge("jvm_buffer_pool_capacity_bytes", "Capacity of JVM buffer pools.")
+                    .sample(bufferPoolMXBean.getTotalCapacity(), "pool", bufferPoolMXBean.getName());
+            writer.gauge("jvm_buffer_pool_buffers", "Buffers of JVM buffer pools.")
+                    .sample(bufferPoolMXBean.getCount(), "pool", bufferPoolMXBean.getName());
+        }
+
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            writer.counter("jvm_gc_collections_total", "Garbage collections.")
+                    .sample(Math.max(0, garbageCollectorMXBean.getCollectionCount()), "gc", garbageCollectorMXBean.getName());
+            writer.counter("jvm_gc_collection_seconds_total", "Time spent in garbage collections.")
+                    .sample(Math.max(0, garbageCollectorMXBean.getCollectionTime()) / 1_000d, "gc", garbageCollectorMXBean.getName());
+        }
+
+        writer.gauge("jvm_threads_current", "Live JVM threads.").sample(this.threadMXBean.getThreadCount());
+        writer.gauge("jvm_threads_daemon", "Live JVM daemon threads.").sample(this.threadMXBean.getDaemonThreadCount());
+
+        if (this.operatingSystemMXBean instanceof com.sun.management.OperatingSystemMXBean) {
+            writer.counter("process_cpu_seconds_total", "CPU time consumed by the process.")
+                    .sample(((com.sun.management.OperatingSystemMXBean) this.operatingSystemMXBean).getProcessCpuTime() / 1_000_000_000d);
+        }
+    }
+
+    private static void writeNettyMetrics(PrometheusWriter writer) {
+        PooledByteBufAllocatorMetric allocatorMetric = PooledByteBufAllocator.DEFAULT.metric();
+
+        writer.gauge("netty_pooled_allocator_used_bytes", "Memory used by the default pooled Netty allocator.")
+                .sample(allocatorMetric.usedDirectMemory(), "area", "direct")
+                .sample(allocatorMetric.usedHeapMemory(), "area", "heap");
+        writer.gauge("netty_pooled_allocator_arenas", "Arenas of the default pooled Netty allocator.")
+                .sample(allocatorMetric.numDirectArenas(), "area", "direct")
+                .sample(allocatorMetric.numHeapArenas(), "area", "heap");
+
+        // -1 unless Netty counts the direct memory it reserves itself
+        long usedDirectMemory = PlatformDependent.usedDirectMemory();
+
+        if (usedDirectMemory >= 0) {
+            writer.gauge("netty_direct_memory_used_bytes", "Direct memory reserved by Netty.").sample(usedDirectMemory);
+        }
+
+        writer.gauge("netty_direct_memory_max_bytes", "Direct memory Netty may reserve.").sample(PlatformDependent.maxDirectMemory());
+    }
+
+    private static final class LatencySummary {
+
+        private final String series;
+
+        private final String operationType;
+
+        // in seconds, NaN when the latest interval has no operations
+        private final double[] quantiles;
+
+        private final long count;
+
+        private final double sumInSeconds;
+
+        private LatencySummary(String series, String operationType, double[] quantiles, long count, double sumInSeconds) {
+            this.series = series;
+            this.operationType = operationType;
+            this.quantiles = quantiles;
+            this.count = count;
+            this.sumInSeconds = sumInSeconds;
+        }
+
+        // the sum is derived from the histogram mean, within its value precision
+        private LatencySummary next(Histogram intervalHistogram) {
+            double[] quantiles = new double[QUANTILES.length];
+
+            if (intervalHistogram == null) {
+                Arrays.fill(quantiles, Double.NaN);
+                return new LatencySummary(this.series, this.operationType, quantiles, this.count, this.sumInSeconds);
+            }
+
+            for (int i = 0; i < QUANTILES.length; i++) {
+                quantiles[i] = intervalHistogram.getValueAtPercentile(QUANTILES[i] * 100) / MICROSECONDS_PER_SECOND;
+            }
+
+            return new LatencySummary(
+                    this.series,
+                    this.operationType,
+                    quantiles,
+                    this.count + intervalHistogram.getTotalCount(),
+                    this.sumInSeconds + intervalHistogram.getMean() * intervalHistogram.getTotalCount() / MICROSECONDS_PER_SECOND);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.benchmarking.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+// Periodically merges the interval histograms of one or more named LatencyRecorders and
+//  - appends them to a per-recorder interval HdrHistogram log
+//  - logs a p50/p99/p99.9/max summary across all keys of every recorder
+//  - accumulates them into run-wide histograms which are written to a per-recorder final HdrHistogram log on close
+//    and summarized per key and per scenario phase
+public class MetricsReporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+    // histograms hold microseconds, log max values in milliseconds
+    private static final double MAX_VALUE_UNIT_RATIO = 1_000d;
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 3;
+
+    private final List<LatencySeries> latencySeries = new ArrayList<>();
+
+    private final List<BiConsumer<String, Map<LatencyKey, Histogram>>> intervalListeners = new CopyOnWriteArrayList<>();
+
+    private final Duration reportingInterval;
+
+    private final Path outputDirectory;
+
+    private final ScheduledExecutorService reportingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long startTimeInMillis;
+
+    private boolean isStarted;
+
+    public MetricsReporter(Map<String, LatencyRecorder> latencyRecordersByName, Duration reportingInterval, Path outputDirectory) {
+        for (Map.Entry<String, LatencyRecorder> entry : latencyRecordersByName.entrySet()) {
+            this.latencySeries.add(new LatencySeries(entry.getKey(), entry.getValue()));
+        }
+
+        this.reportingInterval = reportingInterval;
+        this.outputDirectory = outputDirectory;
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        this.startTimeInMillis = System.currentTimeMillis();
+
+        for (LatencySeries series : this.latencySeries) {
+            series.intervalLogStream = new PrintStream(this.outputDirectory.resolve("interval-" + series.name + ".hlog").toFile());
+            series.intervalLogWriter = newLogWriter(series.intervalLogStream, this.startTimeInMillis);
+
+            // drop whatever was recorded before the measured run started
+            series.latencyRecorder.getIntervalHistograms();
+        }
+
+        this.isStarted = true;
+
+        long intervalInMillis = this.reportingInterval.toMillis();
+
+        this.reportingExecutor.scheduleAtFixedRate(this::reportIntervalSafely, intervalInMillis, intervalInMillis, TimeUnit.MILLISECONDS);
+
+        logger.info("Writing latency histograms to : {}", this.outputDirectory.toAbsolutePath());
+    }
+
+    @Override
+    public void close() {
+        this.reportingExecutor.shutdownNow();
+
+        try {
+            this.reportingExecutor.awaitTermination(this.reportingInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!this.isStarted) {
+            return;
+        }
+
+        reportIntervalSafely();
+
+        for (LatencySeries series : this.latencySeries) {
+            series.intervalLogStream.close();
+
+            try {
+                writeFinalLog(series);
+            } catch (IOException e) {
+                logger.error("Failed to write the final latency histogram log for : {}", series.name, e);
+            }
+
+            logger.info("Final {} latency summary (ms) :", series.name);
+
+            List<Map.Entry<LatencyKey, Histogram>> entries = new ArrayList<>(series.cumulativeHistograms.entrySet());
+            entries.sort(Comparator.comparingLong((Map.Entry<LatencyKey, Histogram> entry) -> entry.getValue().getTotalCount()).reversed());
+
+            for (Map.Entry<LatencyKey, Histogram> entry : entries) {
+                logger.info("  {} - {}", entry.getKey(), summarize(entry.getValue()));
+            }
+
+            logger.info("  all - {}", summarize(merge(series.cumulativeHistograms.values())));
+
+            logger.info("Final {} latency summary by phase (ms) :", series.name);
+
+            for (String phase : series.phases) {
+                List<Histogram> phaseHistograms = new ArrayList<>();
+
+                for (Map.Entry<LatencyKey, Histogram> entry : series.cumulativeHistograms.entrySet()) {
+                    if (phase.equals(entry.getKey().getPhase())) {
+                        phaseHistograms.add(entry.getValue());
+                    }
+                }
+
+                logger.info("  {} - {}", phase, summarize(merge(phaseHistograms)));
+            }
+        }
+    }
+
+    // called on the reporting thread with the name of a series and its interval histograms, empty when nothing has
+    // been recorded, the histograms must not be kept
+    public void addIntervalListener(BiConsumer<String, Map<LatencyKey, Histogram>> intervalListener) {
+        this.intervalListeners.add(intervalListener);
+    }
+
+    // run-wide histograms per series and key, complete once the reporter is closed
+    public Map<String, Map<LatencyKey, Histogram>> getCumulativeHistograms() {
+        Map<String, Map<LatencyKey, Histogram>> cumulativeHistograms = new LinkedHashMap<>();
+
+        for (LatencySeries series : this.latencySeries) {
+            cumulativeHistograms.put(series.name, series.cumulativeHistograms);
+        }
+
+        return cumulativeHistograms;
+    }
+
+    public static String summarize(Histogram histogram) {
+        return String.format(
+                "count : %d, p50 : %.3f, p99 : %.3f, p99.9 : %.3f, max : %.3f",
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / MAX_VALUE_UNIT_RATIO,
+                histogram.getValueAtPercentile(99) / MAX_VALUE_UNIT_RATIO,
+                histogram.getValueAtPercentile(99.9) / MAX_VALUE_UNIT_RATIO,
+                histogram.getMaxValue() / MAX_VALUE_UNIT_RATIO);
+    }
+
+    public static Histogram merge(Iterable<Histogram> histograms) {
+        Histogram merged = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+
+        for (Histogram histogram : histograms) {
+            merged.add(histogram);
+        }
+
+        return merged;
+    }
+
+    private void reportIntervalSafely() {
+        for (LatencySeries series : this.latencySeries) {
+            try {
+                reportInterval(series);
+            } catch (RuntimeException e) {
+                logger.error("Failed to report latency interval for : {}", series.name, e);
+            }
+        }
+    }
+
+    private void reportInterval(LatencySeries series) {
+        Map<LatencyKey, Histogram> intervalHistograms = series.latencyRecorder.getIntervalHistograms();
+
+        for (BiConsumer<String, Map<LatencyKey, Histogram>> intervalListener : this.intervalListeners) {
+            intervalListener.accept(series.name, intervalHistograms);
+        }
+
+        if (intervalHistograms.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<LatencyKey, Histogram> entry : intervalHistograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+
+            histogram.setTag(entry.getKey().toTag());
+            series.intervalLogWriter.outputIntervalHistogram(
+                    (histogram.getStartTimeStamp() - this.startTimeInMillis) / 1_000d,
+                    (histogram.getEndTimeStamp() - this.startTimeInMillis) / 1_000d,
+                    histogram,
+                    MAX_VALUE_UNIT_RATIO);
+
+            series.cumulativeHistograms
+                    .computeIfAbsent(entry.getKey(), ignore -> new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS))
+                    .add(histogram);
+            series.phases.add(entry.getKey().getPhase());
+        }
+
+        series.intervalLogStream.flush();
+
+        logger.info("Interval {} latency (ms) - {}", series.name, summarize(merge(intervalHistograms.values())));
+    }
+
+    private void writeFinalLog(LatencySeries series) throws IOException {
+        long endTimeInMillis = System.currentTimeMillis();
+
+        try (PrintStream finalLogStream = new PrintStream(this.outputDirectory.resolve("final-" + series.name + ".hlog").toFile())) {
+            HistogramLogWriter finalLogWriter = newLogWriter(finalLogStream, this.startTimeInMillis);
+
+            for (Map.Entry<LatencyKey, Histogram> entry : series.cumulativeHistograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+
+                histogram.setTag(entry.getKey().toTag());
+                finalLogWriter.outputIntervalHistogram(0, (endTimeInMillis - this.startTimeInMillis) / 1_000d, histogram, MAX_VALUE_UNIT_RATIO);
+            }
+        }
+    }
+
+    private static HistogramLogWriter newLogWriter(PrintStream printStream, long startTimeInMillis) {
+        HistogramLogWriter logWriter = new HistogramLogWriter(printStream);
+
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startTimeInMillis);
+        logWriter.setBaseTime(startTimeInMillis);
+        logWriter.outputLegend();
+
+        return logWriter;
+    }
+
+    // only accessed from the reporting thread, or from close() once that thread has terminated
+    private static final class LatencySeries {
+
+        private final String name;
+
+        private final LatencyRecorder latencyRecorder;
+
+        private final Map<LatencyKey, Histogram> cumulativeHistograms = new HashMap<>();
+
+        // in the order in which the phases were first reported
+        private final Set<String> phases = new LinkedHashSet<>();
+
+        private PrintStream intervalLogStream;
+
+        private HistogramLogWriter intervalLogWriter;
+
+        private LatencySeries(String name, LatencyRecorder latencyRecorder) {
+            this.name = name;
+            this.latencyRecorder = latencyRecorder;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.benchmarking.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Builds one scrape in the Prometheus text exposition format. Samples may be added in any order, they are grouped
+// under their metric family, the families are written in the order in which they were first declared.
+public class PrometheusWriter {
+
+    private final Map<String, Family> familiesByName = new LinkedHashMap<>();
+
+    public Family counter(String name, String help) {
+        return family(name, "counter", help);
+    }
+
+    public Family gauge(String name, String help) {
+        return family(name, "gauge", help);
+    }
+
+    public Family summary(String name, String help) {
+        return family(name, "summary", help);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+
+        for (Family family : this.familiesByName.values()) {
+            if (family.samples.length() == 0) {
+                continue;
+            }
+
+            text.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            text.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+            text.append(family.samples);
+        }
+
+        return text.toString();
+    }
+
+    private Family family(String name, String type, String help) {
+        Family family = this.familiesByName.computeIfAbsent(name, ignore -> new Family(name, type, help));
+
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " has been declared as a " + family.type + " already.");
+        }
+
+        return family;
+    }
+
+    public static final class Family {
+
+        private final String name;
+
+        private final String type;
+
+        private final String help;
+
+        private final StringBuilder samples = new StringBuilder();
+
+        private Family(String name, String type, String help) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+        }
+
+        // labels as name, value pairs
+        public Family sample(double value, String... labels) {
+            return sample("", value, labels);
+        }
+
+        // suffix such as _count or _sum of a summary
+        public Family sample(String suffix, double value, String... labels) {
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels of metric " + this.name + " should be name, value pairs.");
+            }
+
+            this.samples.append(this.name).append(suffix);
+
+            if (labels.length > 0) {
+                this.samples.append('{');
+
+                for (int i = 0; i < labels.length; i += 2) {
+                    if (i > 0) {
+                        this.samples.append(',');
+                    }
+
+                    this.samples.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+                }
+
+                this.samples.append('}');
+            }
+
+            this.samples.append(' ').append(format(value)).append('\n');
+
+            return this;
+        }
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+
+        // counts are written without an exponent
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+
+        return Double.toString(value);
+    }
+}
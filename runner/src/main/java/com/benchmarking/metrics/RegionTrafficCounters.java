@@ -0,0 +1,166 @@
+package com.benchmarking.metrics;
+
+import com.benchmarking.workload.FeedRangeRoutingCache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts successful and failed operations by the region they were first sent to, by the region which
+// finally served them and by (feed range, final region). Contacted regions are reported as an unordered set,
+// the SDK walks regions in preferred region order so the first and final regions of an operation which
+// contacted several regions are its most and least preferred contacted regions.
+// Counters are striped LongAdders which only ever grow, RegionTrafficReporter derives per-interval deltas.
+public class RegionTrafficCounters {
+
+    private final List<String> preferredRegions;
+
+    private final FeedRangeRoutingCache feedRangeRoutingCache;
+
+    private final Map<String, RegionCounters> countersByRegion = new ConcurrentHashMap<>();
+
+    public RegionTrafficCounters(List<String> preferredRegions, FeedRangeRoutingCache feedRangeRoutingCache) {
+        this.preferredRegions = preferredRegions;
+        this.feedRangeRoutingCache = feedRangeRoutingCache;
+    }
+
+    public void record(int keyIndex, Set<String> contactedRegionNames, boolean isSuccess) {
+        if (contactedRegionNames == null || contactedRegionNames.isEmpty()) {
+            return;
+        }
+
+        String firstRegion = null;
+        String finalRegion = null;
+
+        if (contactedRegionNames.size() == 1) {
+            firstRegion = contactedRegionNames.iterator().next();
+            finalRegion = firstRegion;
+        } else {
+            for (String contactedRegionName : contactedRegionNames) {
+                if (firstRegion == null || compareRegions(contactedRegionName, firstRegion) < 0) {
+                    firstRegion = contactedRegionName;
+                }
+
+                if (finalRegion == null || compareRegions(contactedRegionName, finalRegion) > 0) {
+                    finalRegion = contactedRegionName;
+                }
+            }
+        }
+
+        int outcome = isSuccess ? RegionCounters.SUCCESS : RegionCounters.FAILURE;
+        RegionCounters finalRegionCounters = getRegionCounters(finalRegion);
+
+        getRegionCounters(firstRegion).firstRegionOperations[outcome].increment();
+        finalRegionCounters.finalRegionOperations[outcome].increment();
+        finalRegionCounters.feedRangeOperations[outcome][this.feedRangeRoutingCache.getFeedRangeIndex(keyIndex)].increment();
+    }
+
+    // only before RegionTrafficReporter has started, it derives deltas from earlier samples
+    public void reset() {
+        this.countersByRegion.clear();
+    }
+
+    // regions in preferred region order, regions outside of the preferred regions last
+    public List<String> getRegions() {
+        List<String> regions = new ArrayList<>(this.countersByRegion.keySet());
+        regions.sort(this::compareRegions);
+        return regions;
+    }
+
+    public FeedRangeRoutingCache getFeedRangeRoutingCache() {
+        return this.feedRangeRoutingCache;
+    }
+
+    // run-wide totals by region, keyed dimension/region/outcome
+    public Map<String, Long> getTotals() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+
+        for (String region : getRegions()) {
+            long[] sample = sample(region);
+
+            totals.put("firstRegion/" + region + "/successes", sample[0]);
+            totals.put("firstRegion/" + region + "/failures", sample[1]);
+            totals.put("finalRegion/" + region + "/successes", sample[2]);
+            totals.put("finalRegion/" + region + "/failures", sample[3]);
+        }
+
+        return totals;
+    }
+
+    // [first region successes, first region failures, final region successes, final region failures,
+    //  then successes and failures per feed range index]
+    long[] sample(String region) {
+        RegionCounters regionCounters = this.countersByRegion.get(region);
+        int feedRangeCount = this.feedRangeRoutingCache.getFeedRangeCount();
+        long[] sample = new long[4 + 2 * feedRangeCount];
+
+        if (regionCounters == null) {
+            return sample;
+        }
+
+        sample[0] = regionCounters.firstRegionOperations[RegionCounters.SUCCESS].sum();
+        sample[1] = regionCounters.firstRegionOperations[RegionCounters.FAILURE].sum();
+        sample[2] = regionCounters.finalRegionOperations[RegionCounters.SUCCESS].sum();
+        sample[3] = regionCounters.finalRegionOperations[RegionCounters.FAILURE].sum();
+
+        for (int i = 0; i < feedRangeCount; i++) {
+            sample[4 + 2 * i] = regionCounters.feedRangeOperations[RegionCounters.SUCCESS][i].sum();
+            sample[5 + 2 * i] = regionCounters.feedRangeOperations[RegionCounters.FAILURE][i].sum();
+        }
+
+        return sample;
+    }
+
+    private RegionCounters getRegionCounters(String region) {
+        RegionCounters regionCounters = this.countersByRegion.get(region);
+
+        if (regionCounters == null) {
+            regionCounters = this.countersByRegion.computeIfAbsent(
+                    region,
+                    ignore -> new RegionCounters(this.feedRangeRoutingCache.getFeedRangeCount()));
+        }
+
+        return regionCounters;
+    }
+
+    private int compareRegions(String region, String otherRegion) {
+        int comparison = Integer.compare(getPreferenceRank(region), getPreferenceRank(otherRegion));
+        return comparison != 0 ? comparison : region.compareTo(otherRegion);
+    }
+
+    private int getPreferenceRank(String region) {
+        for (int i = 0; i < this.preferredRegions.size(); i++) {
+            if (this.preferredRegions.get(i).equalsIgnoreCase(region)) {
+                return i;
+            }
+        }
+
+        return Integer.MAX_VALUE;
+    }
+
+    private static final class RegionCounters {
+
+        private static final int SUCCESS = 0;
+
+        private static final int FAILURE = 1;
+
+        private final LongAdder[] firstRegionOperations = { new LongAdder(), new LongAdder() };
+
+        private final LongAdder[] finalRegionOperations = { new LongAdder(), new LongAdder() };
+
+        private final LongAdder[][] feedRangeOperations;
+
+        private RegionCounters(int feedRangeCount) {
+            this.feedRangeOperations = new LongAdder[2][feedRangeCount];
+
+            for (int i = 0; i < feedRangeCount; i++) {
+                this.feedRangeOperations[SUCCESS][i] = new LongAdder();
+                this.feedRangeOperations[FAILURE][i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.benchmarking.metrics;
+
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.workload.FeedRangeRoutingCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Every second, turns the RegionTrafficCounters of every workload into per-second deltas and
+//  - logs the traffic per first region, per final region and per (faulted feed range, final region)
+//  - appends every non-zero delta, healthy feed ranges included, to region-traffic.csv for plotting
+// so that traffic moving out of a faulted region and back can be followed over time.
+public class RegionTrafficReporter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegionTrafficReporter.class);
+
+    private static final long REPORTING_INTERVAL_IN_MILLIS = 1_000;
+
+    private final Map<String, RegionTrafficCounters> regionTrafficCountersByWorkload;
+
+    private final PhaseTracker phaseTracker;
+
+    private final Path outputDirectory;
+
+    // keyed by workload and region
+    private final Map<String, long[]> previousSamples = new HashMap<>();
+
+    private final ScheduledExecutorService reportingExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "region-traffic-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PrintStream csvStream;
+
+    private long startTimeInNanos;
+
+    public RegionTrafficReporter(Map<String, RegionTrafficCounters> regionTrafficCountersByWorkload, PhaseTracker phaseTracker, Path outputDirectory) {
+        this.regionTrafficCountersByWorkload = regionTrafficCountersByWorkload;
+        this.phaseTracker = phaseTracker;
+        this.outputDirectory = outputDirectory;
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        this.csvStream = new PrintStream(this.outputDirectory.resolve("region-traffic.csv").toFile());
+        this.csvStream.println("elapsedSeconds,phase,workload,dimension,feedRange,region,successes,failures");
+
+        this.startTimeInNanos = System.nanoTime();
+
+        this.reportingExecutor.scheduleAtFixedRate(this::reportSafely, REPORTING_INTERVAL_IN_MILLIS, REPORTING_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        this.reportingExecutor.shutdownNow();
+
+        try {
+            this.reportingExecutor.awaitTermination(REPORTING_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (this.csvStream != null) {
+            reportSafely();
+            this.csvStream.close();
+        }
+    }
+
+    private void reportSafely() {
+        try {
+            report();
+        } catch (RuntimeException e) {
+            logger.error("Failed to report region traffic.", e);
+        }
+    }
+
+    private void report() {
+        long elapsedInSeconds = Math.round((System.nanoTime() - this.startTimeInNanos) / 1_000_000_000d);
+        String phase = this.phaseTracker.getCurrentPhase();
+
+        for (Map.Entry<String, RegionTrafficCounters> entry : this.regionTrafficCountersByWorkload.entrySet()) {
+            report(elapsedInSeconds, phase, entry.getKey(), entry.getValue());
+        }
+
+        this.csvStream.flush();
+    }
+
+    private void report(long elapsedInSeconds, String phase, String workload, RegionTrafficCounters regionTrafficCounters) {
+        FeedRangeRoutingCache feedRangeRoutingCache = regionTrafficCounters.getFeedRangeRoutingCache();
+
+        StringBuilder firstRegionTraffic = new StringBuilder();
+        StringBuilder finalRegionTraffic = new StringBuilder();
+        StringBuilder faultedFeedRangeTraffic = new StringBuilder();
+
+        for (String region : regionTrafficCounters.getRegions()) {
+            long[] sample = regionTrafficCounters.sample(region);
+            long[] previousSample = this.previousSamples.getOrDefault(workload + "/" + region, new long[sample.length]);
+
+            this.previousSamples.put(workload + "/" + region, sample);
+
+            appendDelta(firstRegionTraffic, region, sample, previousSample, 0);
+            writeDelta(elapsedInSeconds, phase, workload, "first", "", region, sample, previousSample, 0);
+
+            appendDelta(finalRegionTraffic, region, sample, previousSample, 2);
+            writeDelta(elapsedInSeconds, phase, workload, "final", "", region, sample, previousSample, 2);
+
+            for (int feedRangeIndex = 0; feedRangeIndex < feedRangeRoutingCache.getFeedRangeCount(); feedRangeIndex++) {
+                String feedRange = feedRangeRoutingCache.getLabel(feedRangeIndex);
+                int offset = 4 + 2 * feedRangeIndex;
+
+                writeDelta(elapsedInSeconds, phase, workload, "feedRange", feedRange, region, sample, previousSample, offset);
+
+                if (feedRangeRoutingCache.isFaultedRange(feedRangeIndex)) {
+                    appendDelta(faultedFeedRangeTraffic, feedRange + " " + region, sample, previousSample, offset);
+                }
+            }
+        }
+
+        if (finalRegionTraffic.length() == 0) {
+            return;
+        }
+
+        logger.info("Region traffic t+{}s [{}]{} (ok/failed) - final : {} | first : {} | faulted feed ranges : {}",
+                elapsedInSeconds,
+                phase,
+                this.regionTrafficCountersByWorkload.size() > 1 ? " " + workload : "",
+                finalRegionTraffic,
+                firstRegionTraffic,
+                faultedFeedRangeTraffic.length() == 0 ? "-" : faultedFeedRangeTraffic);
+    }
+
+    private static void appendDelta(StringBuilder traffic, String label, long[] sample, long[] previousSample, int offset) {
+        long successes = sample[offset] - previousSample[offset];
+        long failures = sample[offset + 1] - previousSample[offset + 1];
+
+        if (successes == 0 && failures == 0) {
+            return;
+        }
+
+        if (traffic.length() > 0) {
+            traffic.append(", ");
+        }
+
+        traffic.append(label).append(' ').append(successes).append('/').append(failures);
+    }
+
+    private void writeDelta(
+            long elapsedInSeconds,
+            String phase,
+            String workload,
+            String dimension,
+            String feedRange,
+            String region,
+            long[] sample,
+            long[] previousSample,
+            int offset) {
+
+        long successes = sample[offset] - previousSample[offset];
+        long failures = sample[offset + 1] - previousSample[offset + 1];
+
+        if (successes == 0 && failures == 0) {
+            return;
+        }
+
+        this.csvStream.println(elapsedInSeconds + "," + phase + "," + workload + "," + dimension + "," + feedRange + "," + region + "," + successes + "," + failures);
+    }
+}
@@ -0,0 +1,94 @@
+package com.benchmarking.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// The headline results of a run, which a sweep compares across circuit breaker settings
+//  - latencies are uncorrected and cover successful and failed operations, overall and on faulted feed ranges only
+//  - failover figures are taken from the circuit breaker analyzers of all workloads, see CircuitBreakerAnalyzer
+public class RunSummary {
+
+    // histograms hold microseconds, latencies are reported in milliseconds
+    private static final double VALUE_UNIT_RATIO = 1_000d;
+
+    private final long successfulOperationCount;
+
+    private final long failedOperationCount;
+
+    private final double p99LatencyInMillis;
+
+    // NaN when no operation touched a faulted feed range
+    private final double faultedFeedRangesP99LatencyInMillis;
+
+    private final int faultWindowCount;
+
+    private final List<Duration> timesToFirstFailover;
+
+    private final long failedOperationsBeforeFailover;
+
+    public RunSummary(
+            long successfulOperationCount,
+            long failedOperationCount,
+            Histogram latencyHistogram,
+            Histogram faultedFeedRangesLatencyHistogram,
+            int faultWindowCount,
+            List<Duration> timesToFirstFailover,
+            long failedOperationsBeforeFailover) {
+
+        this.successfulOperationCount = successfulOperationCount;
+        this.failedOperationCount = failedOperationCount;
+        this.p99LatencyInMillis = getP99InMillis(latencyHistogram);
+        this.faultedFeedRangesP99LatencyInMillis = getP99InMillis(faultedFeedRangesLatencyHistogram);
+        this.faultWindowCount = faultWindowCount;
+        this.timesToFirstFailover = new ArrayList<>(timesToFirstFailover);
+        this.failedOperationsBeforeFailover = failedOperationsBeforeFailover;
+
+        Collections.sort(this.timesToFirstFailover);
+    }
+
+    public long getSuccessfulOperationCount() {
+        return successfulOperationCount;
+    }
+
+    public long getFailedOperationCount() {
+        return failedOperationCount;
+    }
+
+    public double getP99LatencyInMillis() {
+        return p99LatencyInMillis;
+    }
+
+    public double getFaultedFeedRangesP99LatencyInMillis() {
+        return faultedFeedRangesP99LatencyInMillis;
+    }
+
+    public int getFaultWindowCount() {
+        return faultWindowCount;
+    }
+
+    public int getFailedOverFaultWindowCount() {
+        return timesToFirstFailover.size();
+    }
+
+    // null when no failover has been observed
+    public Duration getMedianTimeToFirstFailover() {
+        return this.timesToFirstFailover.isEmpty() ? null : this.timesToFirstFailover.get(this.timesToFirstFailover.size() / 2);
+    }
+
+    // null when no failover has been observed
+    public Duration getMaxTimeToFirstFailover() {
+        return this.timesToFirstFailover.isEmpty() ? null : this.timesToFirstFailover.get(this.timesToFirstFailover.size() - 1);
+    }
+
+    public long getFailedOperationsBeforeFailover() {
+        return failedOperationsBeforeFailover;
+    }
+
+    private static double getP99InMillis(Histogram histogram) {
+        return histogram.getTotalCount() == 0 ? Double.NaN : histogram.getValueAtPercentile(99) / VALUE_UNIT_RATIO;
+    }
+}
@@ -0,0 +1,38 @@
+package com.benchmarking.scenario;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Holds the name of the scenario phase which is currently running. Operations read it when they are
+// issued so that every latency series and counter can be attributed to a phase, runs without a
+// scenario report everything under a single phase.
+public class PhaseTracker {
+
+    public static final String DEFAULT_PHASE = "run";
+
+    private final List<Consumer<String>> phaseListeners = new CopyOnWriteArrayList<>();
+
+    private volatile String currentPhase = DEFAULT_PHASE;
+
+    public String getCurrentPhase() {
+        return this.currentPhase;
+    }
+
+    public void setCurrentPhase(String currentPhase) {
+        if (currentPhase.equals(this.currentPhase)) {
+            return;
+        }
+
+        this.currentPhase = currentPhase;
+
+        for (Consumer<String> phaseListener : this.phaseListeners) {
+            phaseListener.accept(currentPhase);
+        }
+    }
+
+    // called on the thread which switches the phase, only when the phase actually changes
+    public void addPhaseListener(Consumer<String> phaseListener) {
+        this.phaseListeners.add(phaseListener);
+    }
+}
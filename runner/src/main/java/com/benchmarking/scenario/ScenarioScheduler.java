@@ -0,0 +1,181 @@
+package com.benchmarking.scenario;
+
+import com.benchmarking.workload.WorkloadEngine;
+import com.entities.Scenario;
+import com.entities.ScenarioFault;
+import com.entities.ScenarioPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+// Plays a scenario timeline on a dedicated thread.
+//  - phase boundaries and fault start times are absolute offsets from the scenario start, so time spent
+//    injecting faults or adjusting the rate never shifts the rest of the timeline
+//  - a phase switches the phase label, steps or linearly ramps the workload rate and injects its faults
+//    at their start offsets, fault injection is asynchronous and does not hold up the timeline
+public class ScenarioScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioScheduler.class);
+
+    private static final long RAMP_ADJUSTMENT_INTERVAL_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Scenario scenario;
+
+    private final WorkloadEngine workloadEngine;
+
+    private final PhaseTracker phaseTracker;
+
+    // injects the faults of a fault injection payload id, completes once the faults are in effect
+    private final Function<String, Mono<Void>> faultInjector;
+
+    private final AtomicBoolean isStopped;
+
+    private Thread schedulerThread;
+
+    public ScenarioScheduler(
+            Scenario scenario,
+            WorkloadEngine workloadEngine,
+            PhaseTracker phaseTracker,
+            Function<String, Mono<Void>> faultInjector,
+            AtomicBoolean isStopped) {
+
+        this.scenario = scenario;
+        this.workloadEngine = workloadEngine;
+        this.phaseTracker = phaseTracker;
+        this.faultInjector = faultInjector;
+        this.isStopped = isStopped;
+    }
+
+    public void start() {
+        // label operations issued before the scheduler thread gets to run
+        this.phaseTracker.setCurrentPhase(this.scenario.getPhases().get(0).getName());
+
+        this.schedulerThread = new Thread(this::runTimeline, "scenario-scheduler");
+        this.schedulerThread.setDaemon(true);
+        this.schedulerThread.start();
+    }
+
+    public void stop() {
+        if (this.schedulerThread != null) {
+            this.schedulerThread.interrupt();
+        }
+    }
+
+    private void runTimeline() {
+        List<ScenarioPhase> phases = this.scenario.getPhases();
+
+        long scenarioStartTimeInNanos = System.nanoTime();
+        long phaseStartTimeInNanos = scenarioStartTimeInNanos;
+
+        for (int i = 0; i < phases.size() && isRunning(); i++) {
+            ScenarioPhase phase = phases.get(i);
+            long phaseEndTimeInNanos = phaseStartTimeInNanos + phase.getDuration().toNanos();
+
+            parkUntil(phaseStartTimeInNanos);
+
+            if (!isRunning()) {
+                break;
+            }
+
+            int initialOperationsPerSecond = this.workloadEngine.getTargetOperationsPerSecond();
+
+            this.phaseTracker.setCurrentPhase(phase.getName());
+
+            if (!phase.isRamp() && phase.getTargetOperationsPerSecond() > 0) {
+                this.workloadEngine.setTargetOperationsPerSecond(phase.getTargetOperationsPerSecond());
+            }
+
+            logger.info("Scenario phase {} ({}/{}) started {} ms after scenario start, running for {} at target ops/sec : {}{}",
+                    phase.getName(),
+                    i + 1,
+                    phases.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scenarioStartTimeInNanos),
+                    phase.getDuration(),
+                    phase.getTargetOperationsPerSecond() > 0 ? phase.getTargetOperationsPerSecond() : initialOperationsPerSecond,
+                    phase.isRamp() ? " (ramping from " + initialOperationsPerSecond + ")" : "");
+
+            runPhase(phase, initialOperationsPerSecond, phaseStartTimeInNanos, phaseEndTimeInNanos);
+
+            phaseStartTimeInNanos = phaseEndTimeInNanos;
+        }
+
+        if (isRunning()) {
+            logger.info("Scenario completed after {} ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scenarioStartTimeInNanos));
+        }
+    }
+
+    private void runPhase(ScenarioPhase phase, int initialOperationsPerSecond, long phaseStartTimeInNanos, long phaseEndTimeInNanos) {
+        List<ScenarioFault> pendingFaults = new ArrayList<>(phase.getFaults());
+        pendingFaults.sort(Comparator.comparing(ScenarioFault::getStartOffset));
+
+        int nextFaultIndex = 0;
+        long now = System.nanoTime();
+
+        while (now < phaseEndTimeInNanos && isRunning()) {
+
+            while (nextFaultIndex < pendingFaults.size()
+                    && phaseStartTimeInNanos + pendingFaults.get(nextFaultIndex).getStartOffset().toNanos() <= now) {
+                injectFault(phase, pendingFaults.get(nextFaultIndex++));
+            }
+
+            long wakeUpTimeInNanos = phaseEndTimeInNanos;
+
+            if (nextFaultIndex < pendingFaults.size()) {
+                wakeUpTimeInNanos = Math.min(
+                        wakeUpTimeInNanos,
+                        phaseStartTimeInNanos + pendingFaults.get(nextFaultIndex).getStartOffset().toNanos());
+            }
+
+            if (phase.isRamp()) {
+                double progress = (double) (now - phaseStartTimeInNanos) / (phaseEndTimeInNanos - phaseStartTimeInNanos);
+                int rampedOperationsPerSecond = (int) Math.round(
+                        initialOperationsPerSecond + (phase.getTargetOperationsPerSecond() - initialOperationsPerSecond) * progress);
+
+                this.workloadEngine.setTargetOperationsPerSecond(Math.max(1, rampedOperationsPerSecond));
+
+                wakeUpTimeInNanos = Math.min(wakeUpTimeInNanos, now + RAMP_ADJUSTMENT_INTERVAL_IN_NANOS);
+            }
+
+            parkUntil(wakeUpTimeInNanos);
+            now = System.nanoTime();
+        }
+
+        if (phase.isRamp() && isRunning()) {
+            this.workloadEngine.setTargetOperationsPerSecond(phase.getTargetOperationsPerSecond());
+        }
+    }
+
+    private void injectFault(ScenarioPhase phase, ScenarioFault fault) {
+        logger.info("Scenario phase {} - injecting faults defined in file : {} at offset {}",
+                phase.getName(),
+                fault.getFaultInjectionPayloadId(),
+                fault.getStartOffset());
+
+        this.faultInjector
+                .apply(fault.getFaultInjectionPayloadId())
+                .subscribe(
+                        ignore -> {},
+                        throwable -> logger.error("Failed to inject faults defined in file : {}", fault.getFaultInjectionPayloadId(), throwable));
+    }
+
+    private boolean isRunning() {
+        return !this.isStopped.get() && !Thread.currentThread().isInterrupted();
+    }
+
+    private static void parkUntil(long deadlineInNanos) {
+        long now = System.nanoTime();
+
+        while (now < deadlineInNanos && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(deadlineInNanos - now);
+            now = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.benchmarking.sweep;
+
+import com.benchmarking.PerPartitionCircuitBreakerChaosRunner;
+import com.benchmarking.coordination.CoordinationMode;
+import com.benchmarking.metrics.RunSummary;
+import com.entities.Sweep;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.utils.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs the configured workload and faults once per combination of a sweep's circuit breaker settings
+//  - the sweep file in the sweeps directory lists the values of every setting, combinations are their cartesian
+//    product, e.g. {"consecutiveExceptionCountsToleratedForReads": [5, 10], "thresholdBasedAvailabilityStrategyEnabled": [true, false]}
+//  - every combination builds fresh clients, sets up its own fault windows and writes its metrics into a numbered
+//    directory of the sweep's output directory
+//  - a failing combination is reported as such, the sweep moves on to the next one
+// The comparison of all combinations is logged and written to sweep-report.csv, see SweepReport.
+public class CircuitBreakerSweep {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerSweep.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public void run(Configuration config) {
+        if (config.getCoordinationMode() != CoordinationMode.STANDALONE) {
+            throw new IllegalArgumentException("A sweep runs standalone, coordinationMode should be STANDALONE.");
+        }
+
+        Sweep sweep;
+
+        try {
+            sweep = loadSweep(config.getSweepId());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        List<SweepCombination> combinations = getCombinations(sweep, config);
+        String metricsOutputDirectory = config.getMetricsOutputDirectory();
+        Path sweepOutputDirectory = Paths.get(
+                metricsOutputDirectory,
+                "sweep-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now()));
+
+        logger.info("Loaded sweep : {} with {} combinations", config.getSweepId(), combinations.size());
+
+        // null for a combination which failed
+        Map<SweepCombination, RunSummary> runSummaries = new LinkedHashMap<>();
+
+        try {
+            for (int i = 0; i < combinations.size(); i++) {
+                SweepCombination combination = combinations.get(i);
+
+                logger.info("Sweep combination {}/{} - {}", i + 1, combinations.size(), combination);
+
+                combination.applyTo(config);
+                config.setMetricsOutputDirectory(sweepOutputDirectory.resolve(SweepReport.getCombinationName(i)).toString());
+
+                try {
+                    runSummaries.put(combination, new PerPartitionCircuitBreakerChaosRunner().run(config));
+                } catch (RuntimeException e) {
+                    logger.error("Sweep combination {}/{} failed - {}", i + 1, combinations.size(), combination, e);
+                    runSummaries.put(combination, null);
+                }
+            }
+        } finally {
+            config.setMetricsOutputDirectory(metricsOutputDirectory);
+        }
+
+        try {
+            new SweepReport(sweepOutputDirectory).write(runSummaries);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Sweep loadSweep(String sweepId) throws IOException {
+        Path root = FileSystems.getDefault().getPath("").toAbsolutePath();
+        Path targetPath = Paths.get(root.toString(), "sweeps", sweepId);
+
+        if (!Files.exists(targetPath)) {
+            throw new IllegalArgumentException("Sweep file " + targetPath + " does not exist.");
+        }
+
+        try (InputStream in = Files.newInputStream(targetPath)) {
+            return OBJECT_MAPPER.readValue(in.readAllBytes(), Sweep.class);
+        }
+    }
+
+    // without the circuit breaker its settings do not matter, every other setting combination is run once
+    private static List<SweepCombination> getCombinations(Sweep sweep, Configuration config) {
+        List<SweepCombination> combinations = new ArrayList<>();
+
+        for (boolean isThresholdBasedAvailabilityStrategyEnabled
+                : getValues("thresholdBasedAvailabilityStrategyEnabled", sweep.getThresholdBasedAvailabilityStrategyEnabled(), config.isThresholdBasedAvailabilityStrategyEnabled())) {
+
+            for (boolean isPartitionLevelCircuitBreakerEnabled
+                    : getValues("partitionLevelCircuitBreakerEnabled", sweep.getPartitionLevelCircuitBreakerEnabled(), config.isPartitionLevelCircuitBreakerEnabled())) {
+
+                if (!isPartitionLevelCircuitBreakerEnabled) {
+                    combinations.add(new SweepCombination(
+                            false,
+                            config.getCircuitBreakerType(),
+                            config.getConsecutiveExceptionCountToleratedForReads(),
+                            config.getConsecutiveExceptionCountToleratedForWrites(),
+                            isThresholdBasedAvailabilityStrategyEnabled));
+                    continue;
+                }
+
+                for (String circuitBreakerType
+                        : getValues("circuitBreakerTypes", sweep.getCircuitBreakerTypes(), config.getCircuitBreakerType())) {
+
+                    for (int consecutiveExceptionCountToleratedForReads
+                            : getValues("consecutiveExceptionCountsToleratedForReads", sweep.getConsecutiveExceptionCountsToleratedForReads(), config.getConsecutiveExceptionCountToleratedForReads())) {
+
+                        for (int consecutiveExceptionCountToleratedForWrites
+                                : getValues("consecutiveExceptionCountsToleratedForWrites", sweep.getConsecutiveExceptionCountsToleratedForWrites(), config.getConsecutiveExceptionCountToleratedForWrites())) {
+
+                            if (consecutiveExceptionCountToleratedForReads < 1 || consecutiveExceptionCountToleratedForWrites < 1) {
+                                throw new IllegalArgumentException("Consecutive exception counts tolerated by a sweep should be positive.");
+                            }
+
+                            combinations.add(new SweepCombination(
+                                    true,
+                                    circuitBreakerType,
+                                    consecutiveExceptionCountToleratedForReads,
+                                    consecutiveExceptionCountToleratedForWrites,
+                                    isThresholdBasedAvailabilityStrategyEnabled));
+                        }
+                    }
+                }
+            }
+        }
+
+        return combinations;
+    }
+
+    private static <T> List<T> getValues(String name, List<T> sweepValues, T configuredValue) {
+        if (sweepValues == null) {
+            return Collections.singletonList(configuredValue);
+        }
+
+        if (sweepValues.isEmpty() || sweepValues.contains(null)) {
+            throw new IllegalArgumentException("Sweep setting " + name + " should list at least one value and no null.");
+        }
+
+        return sweepValues;
+    }
+}
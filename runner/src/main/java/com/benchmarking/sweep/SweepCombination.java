@@ -0,0 +1,67 @@
+package com.benchmarking.sweep;
+
+import com.utils.Configuration;
+
+// One point of a sweep's matrix of circuit breaker settings
+final class SweepCombination {
+
+    private final boolean isPartitionLevelCircuitBreakerEnabled;
+
+    private final String circuitBreakerType;
+
+    private final int consecutiveExceptionCountToleratedForReads;
+
+    private final int consecutiveExceptionCountToleratedForWrites;
+
+    private final boolean isThresholdBasedAvailabilityStrategyEnabled;
+
+    SweepCombination(
+            boolean isPartitionLevelCircuitBreakerEnabled,
+            String circuitBreakerType,
+            int consecutiveExceptionCountToleratedForReads,
+            int consecutiveExceptionCountToleratedForWrites,
+            boolean isThresholdBasedAvailabilityStrategyEnabled) {
+
+        this.isPartitionLevelCircuitBreakerEnabled = isPartitionLevelCircuitBreakerEnabled;
+        this.circuitBreakerType = circuitBreakerType;
+        this.consecutiveExceptionCountToleratedForReads = consecutiveExceptionCountToleratedForReads;
+        this.consecutiveExceptionCountToleratedForWrites = consecutiveExceptionCountToleratedForWrites;
+        this.isThresholdBasedAvailabilityStrategyEnabled = isThresholdBasedAvailabilityStrategyEnabled;
+    }
+
+    void applyTo(Configuration config) {
+        config.setPartitionLevelCircuitBreakerEnabled(this.isPartitionLevelCircuitBreakerEnabled)
+                .setCircuitBreakerType(this.circuitBreakerType)
+                .setConsecutiveExceptionCountToleratedForReads(this.consecutiveExceptionCountToleratedForReads)
+                .setConsecutiveExceptionCountToleratedForWrites(this.consecutiveExceptionCountToleratedForWrites)
+                .setThresholdBasedAvailabilityStrategyEnabled(this.isThresholdBasedAvailabilityStrategyEnabled);
+    }
+
+    boolean isPartitionLevelCircuitBreakerEnabled() {
+        return isPartitionLevelCircuitBreakerEnabled;
+    }
+
+    String getCircuitBreakerType() {
+        return circuitBreakerType;
+    }
+
+    int getConsecutiveExceptionCountToleratedForReads() {
+        return consecutiveExceptionCountToleratedForReads;
+    }
+
+    int getConsecutiveExceptionCountToleratedForWrites() {
+        return consecutiveExceptionCountToleratedForWrites;
+    }
+
+    boolean isThresholdBasedAvailabilityStrategyEnabled() {
+        return isThresholdBasedAvailabilityStrategyEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "circuit breaker : " + (this.isPartitionLevelCircuitBreakerEnabled
+                ? this.circuitBreakerType + " " + this.consecutiveExceptionCountToleratedForReads + "/" + this.consecutiveExceptionCountToleratedForWrites
+                : "disabled")
+                + ", availability strategy : " + (this.isThresholdBasedAvailabilityStrategyEnabled ? "enabled" : "disabled");
+    }
+}
@@ -0,0 +1,131 @@
+package com.benchmarking.sweep;
+
+import com.benchmarking.metrics.RunSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+// Compares the run summaries of a sweep's combinations, one row per combination
+//  - p99 latencies in milliseconds, overall and on faulted feed ranges
+//  - failed operations, overall and before the breaker tripped
+//  - fault windows with an observed failover, median and max time to first failover in milliseconds
+// The table is logged and written to sweep-report.csv, a failed combination has empty results.
+class SweepReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(SweepReport.class);
+
+    private static final String TABLE_ROW_FORMAT = "%-4s %-8s %-34s %6s %6s %-6s %12s %10s %10s %12s %10s %10s %12s %12s";
+
+    private final Path outputDirectory;
+
+    SweepReport(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    static String getCombinationName(int combinationIndex) {
+        return String.format(Locale.ROOT, "combination-%02d", combinationIndex + 1);
+    }
+
+    void write(Map<SweepCombination, RunSummary> runSummaries) throws IOException {
+        Files.createDirectories(this.outputDirectory);
+
+        logger.info("Sweep report :");
+        logger.info(String.format(
+                Locale.ROOT,
+                TABLE_ROW_FORMAT,
+                "#", "breaker", "type", "reads", "writes", "avail", "successful", "failed", "p99", "faulted p99",
+                "failovers", "before trip", "median ttf", "max ttf"));
+
+        try (PrintStream reportStream = new PrintStream(this.outputDirectory.resolve("sweep-report.csv").toFile())) {
+            reportStream.println("combination,isPartitionLevelCircuitBreakerEnabled,circuitBreakerType,"
+                    + "consecutiveExceptionCountToleratedForReads,consecutiveExceptionCountToleratedForWrites,"
+                    + "isThresholdBasedAvailabilityStrategyEnabled,successfulOperations,failedOperations,"
+                    + "p99LatencyInMillis,faultedFeedRangesP99LatencyInMillis,faultWindows,failedOverFaultWindows,"
+                    + "failedOperationsBeforeFailover,medianTimeToFirstFailoverInMillis,maxTimeToFirstFailoverInMillis");
+
+            int combinationIndex = 0;
+
+            for (Map.Entry<SweepCombination, RunSummary> entry : runSummaries.entrySet()) {
+                SweepCombination combination = entry.getKey();
+                RunSummary runSummary = entry.getValue();
+                String[] results = runSummary == null ? new String[9] : formatResults(runSummary);
+
+                reportStream.println(String.join(",",
+                        getCombinationName(combinationIndex),
+                        String.valueOf(combination.isPartitionLevelCircuitBreakerEnabled()),
+                        combination.getCircuitBreakerType(),
+                        String.valueOf(combination.getConsecutiveExceptionCountToleratedForReads()),
+                        String.valueOf(combination.getConsecutiveExceptionCountToleratedForWrites()),
+                        String.valueOf(combination.isThresholdBasedAvailabilityStrategyEnabled()),
+                        formatCsv(results)));
+
+                logger.info(String.format(
+                        Locale.ROOT,
+                        TABLE_ROW_FORMAT,
+                        combinationIndex + 1,
+                        combination.isPartitionLevelCircuitBreakerEnabled() ? "on" : "off",
+                        combination.isPartitionLevelCircuitBreakerEnabled() ? combination.getCircuitBreakerType() : "-",
+                        combination.isPartitionLevelCircuitBreakerEnabled() ? combination.getConsecutiveExceptionCountToleratedForReads() : "-",
+                        combination.isPartitionLevelCircuitBreakerEnabled() ? combination.getConsecutiveExceptionCountToleratedForWrites() : "-",
+                        combination.isThresholdBasedAvailabilityStrategyEnabled() ? "on" : "off",
+                        runSummary == null ? "failed" : results[0],
+                        runSummary == null ? "" : results[1],
+                        runSummary == null ? "" : results[2],
+                        runSummary == null ? "" : results[3],
+                        runSummary == null ? "" : results[5] + "/" + results[4],
+                        runSummary == null ? "" : results[6],
+                        runSummary == null ? "" : orDash(results[7]),
+                        runSummary == null ? "" : orDash(results[8])));
+
+                combinationIndex++;
+            }
+        }
+
+        logger.info("Sweep report written to : {}", this.outputDirectory.toAbsolutePath());
+    }
+
+    // successful, failed, p99, faulted p99, fault windows, failed over fault windows, failed before failover,
+    // median and max time to first failover
+    private static String[] formatResults(RunSummary runSummary) {
+        return new String[] {
+                String.valueOf(runSummary.getSuccessfulOperationCount()),
+                String.valueOf(runSummary.getFailedOperationCount()),
+                formatMillis(runSummary.getP99LatencyInMillis()),
+                formatMillis(runSummary.getFaultedFeedRangesP99LatencyInMillis()),
+                String.valueOf(runSummary.getFaultWindowCount()),
+                String.valueOf(runSummary.getFailedOverFaultWindowCount()),
+                String.valueOf(runSummary.getFailedOperationsBeforeFailover()),
+                formatDuration(runSummary.getMedianTimeToFirstFailover()),
+                formatDuration(runSummary.getMaxTimeToFirstFailover())
+        };
+    }
+
+    private static String orDash(String value) {
+        return value.isEmpty() ? "-" : value;
+    }
+
+    private static String formatCsv(String[] results) {
+        StringBuilder csv = new StringBuilder();
+
+        for (int i = 0; i < results.length; i++) {
+            csv.append(i == 0 ? "" : ",").append(results[i] == null ? "" : results[i]);
+        }
+
+        return csv.toString();
+    }
+
+    private static String formatMillis(double millis) {
+        return Double.isNaN(millis) ? "" : String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    private static String formatDuration(Duration duration) {
+        return duration == null ? "" : formatMillis(duration.toNanos() / 1_000_000d);
+    }
+}
@@ -0,0 +1,272 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosBulkExecutionOptions;
+import com.azure.cosmos.models.CosmosBulkItemResponse;
+import com.azure.cosmos.models.CosmosBulkOperationResponse;
+import com.azure.cosmos.models.CosmosBulkOperations;
+import com.azure.cosmos.models.CosmosItemOperation;
+import com.azure.cosmos.models.CosmosItemResponse;
+import com.azure.cosmos.models.PartitionKey;
+import com.benchmarking.workload.DocumentPayloadPool;
+import com.entities.ItemCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Pre-creates the items 1 to itemCountToPreCreate of a container through bulk upserts of pooled documents,
+// resumable across runs.
+//  - items are upserted in chunks of chunkSize ids, the range of a chunk is streamed into the bulk executor as is
+//  - the itemCountDoc holds the highest id up to which all items exist, it is checkpointed after every chunk and
+//    a later run resumes right after it
+//  - operations still throttled after the SDK's own retries are retried once the chunk's bulk has completed, after a
+//    backoff of at least the largest retry-after seen, and the micro batch concurrency of the following bulks is
+//    halved, every chunk without throttling raises it by one again
+//  - progress is logged per chunk as docs/s and RU/s for the chunk and for the whole preload
+final class BulkPreloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkPreloader.class);
+
+    private static final String ITEM_COUNT_DOC_ID = "itemCountDoc";
+
+    // the SDK does not allow more concurrent micro batches per partition
+    static final int MAX_MICRO_BATCH_CONCURRENCY = 5;
+
+    private static final int MAX_MICRO_BATCH_SIZE = 100;
+
+    private static final int MAX_ATTEMPTS_PER_CHUNK = 10;
+
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(100);
+
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final CosmosAsyncContainer cosmosAsyncContainer;
+
+    private final DocumentPayloadPool documentPayloadPool;
+
+    private final int chunkSize;
+
+    private final int maxMicroBatchConcurrency;
+
+    private int microBatchConcurrency = 1;
+
+    private Duration backoff = Duration.ZERO;
+
+    BulkPreloader(CosmosAsyncContainer cosmosAsyncContainer, DocumentPayloadPool documentPayloadPool, int chunkSize, int maxMicroBatchConcurrency) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("preloadChunkSize should be positive.");
+        }
+
+        if (maxMicroBatchConcurrency < 1 || maxMicroBatchConcurrency > MAX_MICRO_BATCH_CONCURRENCY) {
+            throw new IllegalArgumentException("preloadMaxMicroBatchConcurrency should be between 1 and " + MAX_MICRO_BATCH_CONCURRENCY + ".");
+        }
+
+        this.cosmosAsyncContainer = cosmosAsyncContainer;
+        this.documentPayloadPool = documentPayloadPool;
+        this.chunkSize = chunkSize;
+        this.maxMicroBatchConcurrency = maxMicroBatchConcurrency;
+    }
+
+    void preload(int itemCountToPreCreate) {
+        String containerId = this.cosmosAsyncContainer.getId();
+        int count = readCheckpoint();
+
+        if (count >= itemCountToPreCreate) {
+            logger.info("Container with ID : {} already has {} items.", containerId, count);
+            return;
+        }
+
+        logger.info("Container with ID : {} has {} items, will upsert the remaining {} in chunks of {}.",
+                containerId,
+                count,
+                itemCountToPreCreate - count,
+                this.chunkSize);
+
+        long startTimeInNanos = System.nanoTime();
+        double requestCharge = 0;
+
+        // ids are compared as longs, the last chunk may end at Integer.MAX_VALUE
+        for (long first = count + 1L; first <= itemCountToPreCreate; first += this.chunkSize) {
+            int last = (int) Math.min(itemCountToPreCreate, first + this.chunkSize - 1);
+            long chunkStartTimeInNanos = System.nanoTime();
+
+            ChunkStatistics chunkStatistics = upsertChunk((int) first, last);
+            writeCheckpoint(last);
+
+            requestCharge += chunkStatistics.requestCharge;
+
+            double chunkElapsedInSeconds = (System.nanoTime() - chunkStartTimeInNanos) / 1e9;
+            double elapsedInSeconds = (System.nanoTime() - startTimeInNanos) / 1e9;
+
+            logger.info("Preloaded {}/{} items into container with ID : {} - chunk : {} docs/s, {} RU/s, throttled : {}, overall : {} docs/s, {} RU/s, micro batch concurrency : {}",
+                    last,
+                    itemCountToPreCreate,
+                    containerId,
+                    String.format("%.0f", (last - first + 1) / chunkElapsedInSeconds),
+                    String.format("%.0f", chunkStatistics.requestCharge / chunkElapsedInSeconds),
+                    chunkStatistics.throttledOperations,
+                    String.format("%.0f", (last - count) / elapsedInSeconds),
+                    String.format("%.0f", requestCharge / elapsedInSeconds),
+                    this.microBatchConcurrency);
+        }
+    }
+
+    private ChunkStatistics upsertChunk(int first, int last) {
+        ChunkStatistics chunkStatistics = new ChunkStatistics();
+        Flux<CosmosItemOperation> operations = Flux.range(first, last - first + 1).map(this::toUpsertOperation);
+
+        for (int attempt = 1; ; attempt++) {
+            BulkAttempt bulkAttempt = new BulkAttempt();
+
+            this.cosmosAsyncContainer
+                    .executeBulkOperations(operations, buildBulkExecutionOptions())
+                    .doOnNext(bulkAttempt::record)
+                    .blockLast();
+
+            chunkStatistics.requestCharge += bulkAttempt.requestCharge;
+            chunkStatistics.throttledOperations += bulkAttempt.throttledOperations;
+
+            adapt(bulkAttempt);
+
+            if (bulkAttempt.failedOperations.isEmpty()) {
+                return chunkStatistics;
+            }
+
+            if (attempt == MAX_ATTEMPTS_PER_CHUNK) {
+                throw new IllegalStateException("Failed to upsert " + bulkAttempt.failedOperations.size() + " items with ids between "
+                        + first + " and " + last + " into container with ID : " + this.cosmosAsyncContainer.getId()
+                        + " after " + attempt + " attempts, last status code : " + bulkAttempt.lastFailureStatusCode + ".");
+            }
+
+            logger.warn("Retrying {} failed upserts of items with ids between {} and {}, {} of them throttled, after {} ms.",
+                    bulkAttempt.failedOperations.size(),
+                    first,
+                    last,
+                    bulkAttempt.throttledOperations,
+                    this.backoff.toMillis());
+
+            sleep(this.backoff.isZero() ? MIN_BACKOFF : this.backoff);
+            operations = Flux.fromIterable(bulkAttempt.failedOperations);
+        }
+    }
+
+    // additive increase, multiplicative decrease of the micro batch concurrency
+    private void adapt(BulkAttempt bulkAttempt) {
+        if (bulkAttempt.throttledOperations == 0) {
+            this.microBatchConcurrency = Math.min(this.maxMicroBatchConcurrency, this.microBatchConcurrency + 1);
+            this.backoff = Duration.ZERO;
+            return;
+        }
+
+        this.microBatchConcurrency = Math.max(1, this.microBatchConcurrency / 2);
+
+        Duration backoff = this.backoff.isZero() ? MIN_BACKOFF : this.backoff.multipliedBy(2);
+
+        if (bulkAttempt.maxRetryAfter.compareTo(backoff) > 0) {
+            backoff = bulkAttempt.maxRetryAfter;
+        }
+
+        this.backoff = backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    private CosmosBulkExecutionOptions buildBulkExecutionOptions() {
+        return new CosmosBulkExecutionOptions()
+                .setInitialMicroBatchSize(MAX_MICRO_BATCH_SIZE)
+                .setMaxMicroBatchSize(MAX_MICRO_BATCH_SIZE)
+                .setMaxMicroBatchConcurrency(this.microBatchConcurrency);
+    }
+
+    private int readCheckpoint() {
+        CosmosItemResponse<ItemCount> itemCountResponse = this.cosmosAsyncContainer
+                .readItem(ITEM_COUNT_DOC_ID, new PartitionKey(ITEM_COUNT_DOC_ID), ItemCount.class)
+                .onErrorComplete(throwable -> throwable instanceof CosmosException && ((CosmosException) throwable).getStatusCode() == 404)
+                .block();
+
+        ItemCount itemCount = itemCountResponse == null ? null : itemCountResponse.getItem();
+
+        return itemCount == null ? 0 : itemCount.getCount();
+    }
+
+    private void writeCheckpoint(int count) {
+        this.cosmosAsyncContainer.upsertItem(new ItemCount(ITEM_COUNT_DOC_ID, count)).block();
+    }
+
+    private CosmosItemOperation toUpsertOperation(int id) {
+        String idAsString = String.valueOf(id);
+        return CosmosBulkOperations.getUpsertItemOperation(this.documentPayloadPool.nextDocumentNode(idAsString), new PartitionKey(idAsString));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from throttled upserts.", e);
+        }
+    }
+
+    private static final class ChunkStatistics {
+
+        private double requestCharge;
+
+        private int throttledOperations;
+    }
+
+    // responses of a bulk are emitted one at a time, no synchronization is needed
+    private static final class BulkAttempt {
+
+        private final List<CosmosItemOperation> failedOperations = new ArrayList<>();
+
+        private double requestCharge;
+
+        private int throttledOperations;
+
+        private int lastFailureStatusCode;
+
+        private Duration maxRetryAfter = Duration.ZERO;
+
+        private void record(CosmosBulkOperationResponse<Object> operationResponse) {
+            CosmosBulkItemResponse response = operationResponse.getResponse();
+
+            if (response != null) {
+                this.requestCharge += response.getRequestCharge();
+
+                if (response.isSuccessStatusCode()) {
+                    return;
+                }
+            }
+
+            int statusCode = getStatusCode(operationResponse);
+
+            if (statusCode == 429) {
+                this.throttledOperations++;
+
+                Duration retryAfter = response != null ? response.getRetryAfterDuration() : null;
+
+                if (retryAfter != null && retryAfter.compareTo(this.maxRetryAfter) > 0) {
+                    this.maxRetryAfter = retryAfter;
+                }
+            }
+
+            this.lastFailureStatusCode = statusCode;
+            this.failedOperations.add(operationResponse.getOperation());
+        }
+
+        private static int getStatusCode(CosmosBulkOperationResponse<Object> operationResponse) {
+            if (operationResponse.getResponse() != null) {
+                return operationResponse.getResponse().getStatusCode();
+            }
+
+            if (operationResponse.getException() instanceof CosmosException) {
+                return ((CosmosException) operationResponse.getException()).getStatusCode();
+            }
+
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.ConnectionMode;
+import com.azure.cosmos.ConsistencyLevel;
+import com.azure.cosmos.CosmosAsyncClient;
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosAsyncDatabase;
+import com.azure.cosmos.CosmosClientBuilder;
+import com.azure.cosmos.CosmosContainerProactiveInitConfig;
+import com.azure.cosmos.CosmosContainerProactiveInitConfigBuilder;
+import com.azure.cosmos.CosmosEndToEndOperationLatencyPolicyConfig;
+import com.azure.cosmos.CosmosEndToEndOperationLatencyPolicyConfigBuilder;
+import com.azure.cosmos.ThresholdBasedAvailabilityStrategy;
+import com.azure.cosmos.models.CosmosContainerIdentity;
+import com.azure.cosmos.models.CosmosContainerProperties;
+import com.azure.cosmos.models.ThroughputProperties;
+import com.benchmarking.workload.DocumentGenerator;
+import com.benchmarking.workload.DocumentPayloadPool;
+import com.utils.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// clientCount clients of a live account
+//  - service side resources are set up and preloaded through a separate setup client, closed once the workload
+//    clients are built, so that the preload's throttling and connections do not carry over into the workload clients
+//  - with a positive proactiveConnectionRegionsCount and in direct mode, the workload clients are built with
+//    proactive initialization, i.e. they open connections to the containers' replicas in that many preferred regions
+//    and populate their address caches before the first operation
+// The preload and the upserts of all clients write documents of one DocumentPayloadPool.
+// With the availability strategy and a positive availabilityStrategyControlFraction, operations of the control group
+// use an end-to-end config without it.
+public class CosmosWorkloadBackend implements WorkloadBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(CosmosWorkloadBackend.class);
+
+    private final Configuration config;
+
+    private final DocumentPayloadPool documentPayloadPool;
+
+    private final CosmosEndToEndOperationLatencyPolicyConfig endToEndOperationLatencyPolicyConfig;
+
+    // null without a control group
+    private final CosmosEndToEndOperationLatencyPolicyConfig controlEndToEndOperationLatencyPolicyConfig;
+
+    private final List<String> preferredRegions;
+
+    private CosmosAsyncClient setupCosmosAsyncClient;
+
+    private final List<CosmosAsyncClient> cosmosAsyncClients = new ArrayList<>();
+
+    public CosmosWorkloadBackend(Configuration config, List<String> preferredRegions) {
+        if (config.getAvailabilityStrategyControlFraction() < 0 || config.getAvailabilityStrategyControlFraction() > 1) {
+            throw new IllegalArgumentException("availabilityStrategyControlFraction should be between 0 and 1.");
+        }
+
+        if (config.getProactiveConnectionRegionsCount() < 0 || config.getProactiveConnectionRegionsCount() > preferredRegions.size()) {
+            throw new IllegalArgumentException("proactiveConnectionRegionsCount should be between 0 and the number of preferred regions.");
+        }
+
+        this.config = config;
+        this.preferredRegions = preferredRegions;
+        this.endToEndOperationLatencyPolicyConfig = buildEndToEndOperationLatencyPolicyConfig(config, config.isThresholdBasedAvailabilityStrategyEnabled());
+        this.controlEndToEndOperationLatencyPolicyConfig = config.isThresholdBasedAvailabilityStrategyEnabled() && config.getAvailabilityStrategyControlFraction() > 0
+                ? buildEndToEndOperationLatencyPolicyConfig(config, false)
+                : null;
+        this.documentPayloadPool = buildDocumentPayloadPool(config);
+        this.setupCosmosAsyncClient = buildCosmosAsyncClient(config, preferredRegions, null);
+    }
+
+    @Override
+    public void setupContainer(String containerId, int itemCountToPreCreate) {
+        CosmosAsyncContainer cosmosAsyncContainer = setupCosmosServiceSideResources(this.config, this.setupCosmosAsyncClient, containerId);
+
+        new BulkPreloader(
+                cosmosAsyncContainer,
+                this.documentPayloadPool,
+                this.config.getPreloadChunkSize(),
+                this.config.getPreloadMaxMicroBatchConcurrency())
+                .preload(itemCountToPreCreate);
+    }
+
+    @Override
+    public void initializeClients(List<String> containerIds) {
+        this.setupCosmosAsyncClient.close();
+        this.setupCosmosAsyncClient = null;
+
+        CosmosContainerProactiveInitConfig proactiveInitConfig = buildProactiveInitConfig(this.config, containerIds);
+
+        try {
+            for (int i = 0; i < this.config.getClientCount(); i++) {
+                this.cosmosAsyncClients.add(buildCosmosAsyncClient(this.config, this.preferredRegions, proactiveInitConfig));
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getClientCount() {
+        return this.cosmosAsyncClients.size();
+    }
+
+    @Override
+    public WorkloadTarget getWorkloadTarget(int clientIndex, String containerId) {
+        CosmosAsyncContainer cosmosAsyncContainer = this.cosmosAsyncClients.get(clientIndex)
+                .getDatabase(this.config.getDatabaseName())
+                .getContainer(containerId);
+
+        return new CosmosWorkloadTarget(
+                cosmosAsyncContainer,
+                this.documentPayloadPool,
+                this.endToEndOperationLatencyPolicyConfig,
+                this.controlEndToEndOperationLatencyPolicyConfig,
+                this.config.getAvailabilityStrategyControlFraction());
+    }
+
+    @Override
+    public void close() {
+        if (this.setupCosmosAsyncClient != null) {
+            this.setupCosmosAsyncClient.close();
+        }
+
+        for (CosmosAsyncClient cosmosAsyncClient : this.cosmosAsyncClients) {
+            cosmosAsyncClient.close();
+        }
+    }
+
+    // proactiveInitConfig is null when connections are opened on demand
+    private static CosmosAsyncClient buildCosmosAsyncClient(
+            Configuration config,
+            List<String> preferredRegions,
+            CosmosContainerProactiveInitConfig proactiveInitConfig) {
+
+        String endpoint = config.getServiceEndpoint();
+        String masterKey = config.getMasterKey();
+        ConnectionMode connectionMode = config.getConnectionMode();
+
+        CosmosClientBuilder cosmosClientBuilder = new CosmosClientBuilder();
+
+        cosmosClientBuilder = cosmosClientBuilder
+                .endpoint(endpoint)
+                .key(masterKey)
+                .preferredRegions(preferredRegions)
+                .consistencyLevel(ConsistencyLevel.SESSION);
+
+        if (connectionMode == ConnectionMode.DIRECT) {
+            cosmosClientBuilder = cosmosClientBuilder.directMode();
+
+            // clients sharing connections also share the transport's event loops
+            if (config.getClientCount() > 1) {
+                cosmosClientBuilder = cosmosClientBuilder.connectionSharingAcrossClientsEnabled(config.isConnectionSharingAcrossClientsEnabled());
+            }
+        } else {
+            cosmosClientBuilder = cosmosClientBuilder.gatewayMode();
+        }
+
+        if (proactiveInitConfig != null) {
+            cosmosClientBuilder = cosmosClientBuilder.openConnectionsAndInitCaches(proactiveInitConfig);
+        }
+
+        return cosmosClientBuilder.buildAsyncClient();
+    }
+
+    // null without proactive initialization, which only opens direct mode connections
+    private static CosmosContainerProactiveInitConfig buildProactiveInitConfig(Configuration config, List<String> containerIds) {
+        if (config.getProactiveConnectionRegionsCount() == 0) {
+            return null;
+        }
+
+        if (config.getConnectionMode() != ConnectionMode.DIRECT) {
+            logger.warn("Proactive connection initialization only applies to direct mode, clients open connections on demand.");
+            return null;
+        }
+
+        List<CosmosContainerIdentity> containerIdentities = new ArrayList<>();
+
+        for (String containerId : containerIds) {
+            containerIdentities.add(new CosmosContainerIdentity(config.getDatabaseName(), containerId));
+        }
+
+        return new CosmosContainerProactiveInitConfigBuilder(containerIdentities)
+                .setProactiveConnectionRegionsCount(config.getProactiveConnectionRegionsCount())
+                .setAggressiveWarmupDuration(config.getAggressiveWarmupDuration())
+                .build();
+    }
+
+    private static CosmosEndToEndOperationLatencyPolicyConfig buildEndToEndOperationLatencyPolicyConfig(Configuration config, boolean isAvailabilityStrategyApplied) {
+        Duration endToEndOperationTimeout = config.getPointOperationEndToEndTimeout();
+
+        CosmosEndToEndOperationLatencyPolicyConfigBuilder e2eLatencyPolicyCfgBuilder
+                = new CosmosEndToEndOperationLatencyPolicyConfigBuilder(endToEndOperationTimeout);
+
+        if (isAvailabilityStrategyApplied) {
+            e2eLatencyPolicyCfgBuilder = e2eLatencyPolicyCfgBuilder.availabilityStrategy(new ThresholdBasedAvailabilityStrategy(
+                    config.getAvailabilityStrategyThreshold(),
+                    config.getAvailabilityStrategyThresholdStep()));
+        }
+
+        return e2eLatencyPolicyCfgBuilder.build();
+    }
+
+    private static DocumentPayloadPool buildDocumentPayloadPool(Configuration config) {
+        DocumentGenerator documentGenerator = DocumentGenerator.parse(
+                config.getDocumentSizes(),
+                config.getDocumentFieldCount(),
+                config.getDocumentNestingDepth());
+
+        DocumentPayloadPool documentPayloadPool = new DocumentPayloadPool(documentGenerator, config.getDocumentPayloadPoolSize());
+
+        logger.info("Generated {} documents with {}, average size : {} bytes.",
+                documentPayloadPool.getPoolSize(),
+                documentGenerator,
+                documentPayloadPool.getAverageSizeInBytes());
+
+        return documentPayloadPool;
+    }
+
+    private static CosmosAsyncContainer setupCosmosServiceSideResources(Configuration config, CosmosAsyncClient cosmosAsyncClient, String containerId) {
+        int containerManualProvisionedThroughput = config.getContainerManualProvisionedThroughput();
+        String databaseId = config.getDatabaseName();
+
+        cosmosAsyncClient.createDatabaseIfNotExists(databaseId).block();
+        CosmosAsyncDatabase cosmosAsyncDatabase = cosmosAsyncClient.getDatabase(databaseId);
+
+        CosmosContainerProperties cosmosContainerProperties = new CosmosContainerProperties(containerId, "/id");
+        cosmosAsyncDatabase.createContainerIfNotExists(cosmosContainerProperties, ThroughputProperties.createManualThroughput(containerManualProvisionedThroughput)).block();
+
+        return cosmosAsyncDatabase.getContainer(containerId);
+    }
+}
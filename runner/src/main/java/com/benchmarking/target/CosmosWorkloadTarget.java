@@ -0,0 +1,175 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.CosmosEndToEndOperationLatencyPolicyConfig;
+import com.azure.cosmos.CosmosException;
+import com.azure.cosmos.models.CosmosItemRequestOptions;
+import com.azure.cosmos.models.CosmosPatchItemRequestOptions;
+import com.azure.cosmos.models.CosmosPatchOperations;
+import com.azure.cosmos.models.CosmosQueryRequestOptions;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.azure.cosmos.models.SqlParameter;
+import com.azure.cosmos.models.SqlQuerySpec;
+import com.benchmarking.faults.FaultInjectionPayload;
+import com.benchmarking.workload.DocumentPayloadPool;
+import com.benchmarking.workload.OperationType;
+import com.entities.Item;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// A container of a live account. Every operation type has its own request options, built once.
+// Upserts write pre-serialized documents of the DocumentPayloadPool.
+// With a control end-to-end config, availabilityStrategyControlFraction of the operations are issued with it instead,
+// i.e. without the availability strategy, so that its latency gain can be measured within the same run.
+public class CosmosWorkloadTarget implements WorkloadTarget {
+
+    private static final String QUERY_BY_ID = "SELECT * FROM c WHERE c.id = @id";
+
+    private final CosmosAsyncContainer cosmosAsyncContainer;
+
+    private final DocumentPayloadPool documentPayloadPool;
+
+    private final RequestOptions requestOptions;
+
+    // null without a control group
+    private final RequestOptions controlRequestOptions;
+
+    private final double availabilityStrategyControlFraction;
+
+    private final FaultRuleRegistry faultRuleRegistry;
+
+    public CosmosWorkloadTarget(
+            CosmosAsyncContainer cosmosAsyncContainer,
+            DocumentPayloadPool documentPayloadPool,
+            CosmosEndToEndOperationLatencyPolicyConfig endToEndOperationLatencyPolicyConfig,
+            CosmosEndToEndOperationLatencyPolicyConfig controlEndToEndOperationLatencyPolicyConfig,
+            double availabilityStrategyControlFraction) {
+
+        this.cosmosAsyncContainer = cosmosAsyncContainer;
+        this.documentPayloadPool = documentPayloadPool;
+        this.requestOptions = new RequestOptions(endToEndOperationLatencyPolicyConfig);
+        this.controlRequestOptions = controlEndToEndOperationLatencyPolicyConfig == null
+                ? null
+                : new RequestOptions(controlEndToEndOperationLatencyPolicyConfig);
+        this.availabilityStrategyControlFraction = availabilityStrategyControlFraction;
+        this.faultRuleRegistry = new FaultRuleRegistry(cosmosAsyncContainer);
+    }
+
+    @Override
+    public String getContainerId() {
+        return this.cosmosAsyncContainer.getId();
+    }
+
+    @Override
+    public Mono<OperationOutcome> execute(OperationType operationType, String id, PartitionKey partitionKey) {
+        RequestOptions requestOptions = nextRequestOptions();
+
+        return issue(operationType, id, partitionKey, requestOptions)
+                .onErrorResume(
+                        CosmosException.class,
+                        cosmosException -> Mono.just(OperationOutcome.fromDiagnosticsContext(
+                                cosmosException.getDiagnostics().getDiagnosticsContext(),
+                                false,
+                                requestOptions.isAvailabilityStrategyApplied)));
+    }
+
+    @Override
+    public Mono<List<FeedRange>> getFeedRanges() {
+        return this.cosmosAsyncContainer.getFeedRanges();
+    }
+
+    @Override
+    public Mono<PartitionKeyDefinition> getPartitionKeyDefinition() {
+        return this.cosmosAsyncContainer.read().map(response -> response.getProperties().getPartitionKeyDefinition());
+    }
+
+    // the payload is parsed and its conditions are built once, rules are reused across injections
+    @Override
+    public Mono<List<String>> injectFaults(FaultInjectionPayload faultInjectionPayload) {
+        return this.faultRuleRegistry.inject(faultInjectionPayload);
+    }
+
+    @Override
+    public List<FaultRuleSnapshot> getFaultRuleSnapshots() {
+        return this.faultRuleRegistry.getSnapshots();
+    }
+
+    public CosmosAsyncContainer getCosmosAsyncContainer() {
+        return this.cosmosAsyncContainer;
+    }
+
+    private RequestOptions nextRequestOptions() {
+        if (this.controlRequestOptions != null && ThreadLocalRandom.current().nextDouble() < this.availabilityStrategyControlFraction) {
+            return this.controlRequestOptions;
+        }
+
+        return this.requestOptions;
+    }
+
+    private Mono<OperationOutcome> issue(OperationType operationType, String id, PartitionKey partitionKey, RequestOptions requestOptions) {
+        switch (operationType) {
+            case READ:
+                return this.cosmosAsyncContainer
+                        .readItem(id, partitionKey, requestOptions.readItemRequestOptions, Item.class)
+                        .map(response -> OperationOutcome.fromDiagnosticsContext(response.getDiagnostics().getDiagnosticsContext(), true, requestOptions.isAvailabilityStrategyApplied));
+            case UPSERT:
+                return this.cosmosAsyncContainer
+                        .upsertItem(this.documentPayloadPool.nextDocument(id), partitionKey, requestOptions.upsertItemRequestOptions)
+                        .map(response -> OperationOutcome.fromDiagnosticsContext(response.getDiagnostics().getDiagnosticsContext(), true, requestOptions.isAvailabilityStrategyApplied));
+            case PATCH:
+                CosmosPatchOperations patchOperations = CosmosPatchOperations
+                        .create()
+                        .set("/lastPatchedAt", System.currentTimeMillis());
+
+                return this.cosmosAsyncContainer
+                        .patchItem(id, partitionKey, patchOperations, requestOptions.patchItemRequestOptions, Item.class)
+                        .map(response -> OperationOutcome.fromDiagnosticsContext(response.getDiagnostics().getDiagnosticsContext(), true, requestOptions.isAvailabilityStrategyApplied));
+            case QUERY:
+                // the partition key differs per query so the query options cannot be shared
+                CosmosQueryRequestOptions queryRequestOptions = new CosmosQueryRequestOptions();
+                queryRequestOptions.setPartitionKey(partitionKey);
+                queryRequestOptions.setCosmosEndToEndOperationLatencyPolicyConfig(requestOptions.endToEndOperationLatencyPolicyConfig);
+
+                return this.cosmosAsyncContainer
+                        .queryItems(new SqlQuerySpec(QUERY_BY_ID, new SqlParameter("@id", id)), queryRequestOptions, Item.class)
+                        .byPage()
+                        .last()
+                        .map(feedResponse -> OperationOutcome.fromDiagnosticsContext(feedResponse.getCosmosDiagnostics().getDiagnosticsContext(), true, requestOptions.isAvailabilityStrategyApplied));
+            default:
+                return Mono.error(new UnsupportedOperationException("Unsupported operation type : " + operationType));
+        }
+    }
+
+    private static final class RequestOptions {
+
+        private final CosmosEndToEndOperationLatencyPolicyConfig endToEndOperationLatencyPolicyConfig;
+
+        private final boolean isAvailabilityStrategyApplied;
+
+        private final CosmosItemRequestOptions readItemRequestOptions;
+
+        private final CosmosItemRequestOptions upsertItemRequestOptions;
+
+        private final CosmosPatchItemRequestOptions patchItemRequestOptions;
+
+        private RequestOptions(CosmosEndToEndOperationLatencyPolicyConfig endToEndOperationLatencyPolicyConfig) {
+            this.endToEndOperationLatencyPolicyConfig = endToEndOperationLatencyPolicyConfig;
+            this.isAvailabilityStrategyApplied = endToEndOperationLatencyPolicyConfig.getAvailabilityStrategy() != null;
+
+            this.readItemRequestOptions = new CosmosItemRequestOptions();
+            this.readItemRequestOptions.setCosmosEndToEndOperationLatencyPolicyConfig(endToEndOperationLatencyPolicyConfig);
+
+            this.upsertItemRequestOptions = new CosmosItemRequestOptions();
+            this.upsertItemRequestOptions.setCosmosEndToEndOperationLatencyPolicyConfig(endToEndOperationLatencyPolicyConfig);
+            this.upsertItemRequestOptions.setContentResponseOnWriteEnabled(false);
+
+            this.patchItemRequestOptions = new CosmosPatchItemRequestOptions();
+            this.patchItemRequestOptions.setCosmosEndToEndOperationLatencyPolicyConfig(endToEndOperationLatencyPolicyConfig);
+            this.patchItemRequestOptions.setContentResponseOnWriteEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.CosmosAsyncContainer;
+import com.azure.cosmos.test.faultinjection.CosmosFaultInjectionHelper;
+import com.azure.cosmos.test.faultinjection.FaultInjectionRule;
+import com.azure.cosmos.test.faultinjection.FaultInjectionRuleBuilder;
+import com.benchmarking.faults.FaultInjectionPayload;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The fault injection rules of one container, keyed by the rule id of the payload fault they were built from.
+// Rules cannot be removed from a container, so instead of configuring new rules on every injection
+//  - a rule is configured once without a duration and enabled per injection, it is disabled once the fault
+//    duration has passed unless it has been injected again meanwhile, an infinite fault stays enabled
+//  - a rule is rebuilt, and the previous one disabled, only when the payload has been reloaded since
+//  - the SDK counts hits against a hit limit over the lifetime of a rule, so hit limits are not handed to the SDK,
+//    the hits of every injection are polled instead and the rule is disabled once they reach the limit, hits
+//    between two polls may exceed the limit by a few
+// Hit counts of rebuilt rules are carried over, the registered rule id stays the same.
+class FaultRuleRegistry {
+
+    private static final Duration HIT_LIMIT_POLLING_INTERVAL = Duration.ofMillis(100);
+
+    private final CosmosAsyncContainer cosmosAsyncContainer;
+
+    // guarded by this
+    private final Map<String, RegisteredRule> registeredRulesById = new LinkedHashMap<>();
+
+    FaultRuleRegistry(CosmosAsyncContainer cosmosAsyncContainer) {
+        this.cosmosAsyncContainer = cosmosAsyncContainer;
+    }
+
+    Mono<List<String>> inject(FaultInjectionPayload faultInjectionPayload) {
+        List<RegisteredRule> injectedRules = new ArrayList<>();
+        List<FaultInjectionRule> faultInjectionRulesToConfigure = new ArrayList<>();
+        List<String> faultIds = new ArrayList<>();
+
+        synchronized (this) {
+            for (FaultInjectionPayload.Fault fault : faultInjectionPayload.getFaults()) {
+                RegisteredRule registeredRule = this.registeredRulesById.computeIfAbsent(fault.getRuleId(), RegisteredRule::new);
+
+                if (registeredRule.needsRebuild(fault)) {
+                    faultInjectionRulesToConfigure.add(registeredRule.rebuild(fault));
+                }
+
+                injectedRules.add(registeredRule);
+                faultIds.add(registeredRule.ruleId);
+            }
+        }
+
+        Mono<Void> configuration = faultInjectionRulesToConfigure.isEmpty()
+                ? Mono.empty()
+                : CosmosFaultInjectionHelper.configureFaultInjectionRules(this.cosmosAsyncContainer, faultInjectionRulesToConfigure);
+
+        return configuration
+                .then(Mono.fromRunnable(() -> {
+                    for (RegisteredRule injectedRule : injectedRules) {
+                        injectedRule.enable();
+                    }
+                }))
+                .thenReturn(faultIds);
+    }
+
+    synchronized List<FaultRuleSnapshot> getSnapshots() {
+        List<FaultRuleSnapshot> snapshots = new ArrayList<>();
+
+        for (RegisteredRule registeredRule : this.registeredRulesById.values()) {
+            if (registeredRule.faultInjectionRule != null) {
+                snapshots.add(registeredRule.snapshot());
+            }
+        }
+
+        return snapshots;
+    }
+
+    private static final class RegisteredRule {
+
+        private final String ruleId;
+
+        private final AtomicLong injectionCount = new AtomicLong();
+
+        private volatile FaultInjectionPayload.Fault fault;
+
+        private volatile FaultInjectionRule faultInjectionRule;
+
+        // hits of the rules this one has replaced
+        private volatile long retiredHitCount;
+
+        private int generation;
+
+        private RegisteredRule(String ruleId) {
+            this.ruleId = ruleId;
+        }
+
+        private boolean needsRebuild(FaultInjectionPayload.Fault fault) {
+            return this.faultInjectionRule == null || this.fault != fault;
+        }
+
+        private FaultInjectionRule rebuild(FaultInjectionPayload.Fault fault) {
+            if (this.faultInjectionRule != null) {
+                this.faultInjectionRule.disable();
+                this.retiredHitCount += this.faultInjectionRule.getHitCount();
+            }
+
+            this.generation++;
+
+            // configured rules are enabled, the rule is disabled until the configuration has completed
+            this.fault = fault;
+            this.faultInjectionRule = new FaultInjectionRuleBuilder(this.generation == 1 ? this.ruleId : this.ruleId + "-" + this.generation)
+                    .condition(fault.getCondition())
+                    .result(fault.getResult())
+                    .enabled(false)
+                    .build();
+
+            return this.faultInjectionRule;
+        }
+
+        private void enable() {
+            FaultInjectionRule faultInjectionRule = this.faultInjectionRule;
+            Duration duration = this.fault.getFaultInjectionParameters().getFaultInjectionDuration();
+            Integer hitLimit = this.fault.getFaultInjectionParameters().getHitLimit();
+            long injection = this.injectionCount.incrementAndGet();
+            long hitCountAtEnable = faultInjectionRule.getHitCount();
+
+            faultInjectionRule.enable();
+
+            // until the limit is reached, the rule has been disabled or it has been injected again
+            if (hitLimit != null) {
+                Flux.interval(HIT_LIMIT_POLLING_INTERVAL)
+                        .takeWhile(ignore -> this.injectionCount.get() == injection && faultInjectionRule.isEnabled())
+                        .filter(ignore -> faultInjectionRule.getHitCount() - hitCountAtEnable >= hitLimit)
+                        .next()
+                        .subscribe(ignore -> {
+                            if (this.injectionCount.get() == injection) {
+                                faultInjectionRule.disable();
+                            }
+                        });
+            }
+
+            // a zero duration is an infinite fault
+            if (duration != null && !duration.isZero()) {
+                Mono.delay(duration).subscribe(ignore -> {
+                    if (this.injectionCount.get() == injection) {
+                        faultInjectionRule.disable();
+                    }
+                });
+            }
+        }
+
+        private FaultRuleSnapshot snapshot() {
+            FaultInjectionRule faultInjectionRule = this.faultInjectionRule;
+            Map<String, Long> hitCountDetails = faultInjectionRule.getHitCountDetails();
+
+            return new FaultRuleSnapshot(
+                    this.ruleId,
+                    faultInjectionRule.isEnabled(),
+                    this.injectionCount.get(),
+                    this.retiredHitCount + faultInjectionRule.getHitCount(),
+                    hitCountDetails == null ? Collections.emptyMap() : new LinkedHashMap<>(hitCountDetails));
+        }
+    }
+}
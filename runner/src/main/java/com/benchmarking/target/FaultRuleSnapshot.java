@@ -0,0 +1,47 @@
+package com.benchmarking.target;
+
+import java.util.Map;
+
+// The state of one fault rule of a workload target at the time it was polled. The rule id is stable across
+// injections of the same payload fault, hitCount covers all of them.
+public final class FaultRuleSnapshot {
+
+    private final String ruleId;
+
+    private final boolean isEnabled;
+
+    private final long injectionCount;
+
+    private final long hitCount;
+
+    private final Map<String, Long> hitCountDetails;
+
+    public FaultRuleSnapshot(String ruleId, boolean isEnabled, long injectionCount, long hitCount, Map<String, Long> hitCountDetails) {
+        this.ruleId = ruleId;
+        this.isEnabled = isEnabled;
+        this.injectionCount = injectionCount;
+        this.hitCount = hitCount;
+        this.hitCountDetails = hitCountDetails;
+    }
+
+    public String getRuleId() {
+        return ruleId;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public long getInjectionCount() {
+        return injectionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    // hits by operation and resource type since the rule was last rebuilt, empty when unknown
+    public Map<String, Long> getHitCountDetails() {
+        return hitCountDetails;
+    }
+}
@@ -0,0 +1,120 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.CosmosDiagnostics;
+import com.azure.cosmos.CosmosDiagnosticsContext;
+
+import java.util.Collections;
+import java.util.Set;
+
+// The outcome of one workload operation as the metrics pipeline sees it. Operations against a live account carry
+// their diagnostics context, simulated operations do not.
+// An operation hedged by the availability strategy has one diagnostics per region it was sent to in parallel,
+// hedgedRequestCount counts the requests beyond the first. Other diagnostics of the same context, e.g. the query
+// plan or earlier pages of a query, are sent to the region of the first request and are not counted.
+public final class OperationOutcome {
+
+    private final boolean isSuccess;
+
+    private final int statusCode;
+
+    private final int subStatusCode;
+
+    private final Set<String> contactedRegionNames;
+
+    private final double requestCharge;
+
+    private final boolean isAvailabilityStrategyApplied;
+
+    private final int hedgedRequestCount;
+
+    private final CosmosDiagnosticsContext diagnosticsContext;
+
+    public OperationOutcome(
+            boolean isSuccess,
+            int statusCode,
+            int subStatusCode,
+            Set<String> contactedRegionNames,
+            double requestCharge,
+            boolean isAvailabilityStrategyApplied,
+            int hedgedRequestCount,
+            CosmosDiagnosticsContext diagnosticsContext) {
+
+        this.isSuccess = isSuccess;
+        this.statusCode = statusCode;
+        this.subStatusCode = subStatusCode;
+        this.contactedRegionNames = contactedRegionNames;
+        this.requestCharge = requestCharge;
+        this.isAvailabilityStrategyApplied = isAvailabilityStrategyApplied;
+        this.hedgedRequestCount = hedgedRequestCount;
+        this.diagnosticsContext = diagnosticsContext;
+    }
+
+    // a failure without a diagnostics context has no status code, no contacted regions and no charge
+    public static OperationOutcome fromDiagnosticsContext(CosmosDiagnosticsContext ctx, boolean isSuccess, boolean isAvailabilityStrategyApplied) {
+        if (ctx == null) {
+            return new OperationOutcome(isSuccess, 0, 0, null, 0, isAvailabilityStrategyApplied, 0, null);
+        }
+
+        return new OperationOutcome(
+                isSuccess,
+                ctx.getStatusCode(),
+                ctx.getSubStatusCode(),
+                ctx.getContactedRegionNames(),
+                ctx.getTotalRequestCharge(),
+                isAvailabilityStrategyApplied,
+                isAvailabilityStrategyApplied ? countHedgedRequests(ctx) : 0,
+                ctx);
+    }
+
+    // diagnostics beyond the first which contacted none of the regions the first one with contacted regions did
+    private static int countHedgedRequests(CosmosDiagnosticsContext ctx) {
+        Set<String> firstContactedRegionNames = null;
+        int hedgedRequestCount = 0;
+
+        for (CosmosDiagnostics diagnostics : ctx.getDiagnostics()) {
+            Set<String> contactedRegionNames = diagnostics.getContactedRegionNames();
+
+            if (firstContactedRegionNames == null || firstContactedRegionNames.isEmpty()) {
+                firstContactedRegionNames = contactedRegionNames;
+            } else if (!contactedRegionNames.isEmpty() && Collections.disjoint(firstContactedRegionNames, contactedRegionNames)) {
+                hedgedRequestCount++;
+            }
+        }
+
+        return hedgedRequestCount;
+    }
+
+    public boolean isSuccess() {
+        return isSuccess;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public int getSubStatusCode() {
+        return subStatusCode;
+    }
+
+    // null when unknown
+    public Set<String> getContactedRegionNames() {
+        return contactedRegionNames;
+    }
+
+    public double getRequestCharge() {
+        return requestCharge;
+    }
+
+    public boolean isAvailabilityStrategyApplied() {
+        return isAvailabilityStrategyApplied;
+    }
+
+    public int getHedgedRequestCount() {
+        return hedgedRequestCount;
+    }
+
+    // null for simulated operations
+    public CosmosDiagnosticsContext getDiagnosticsContext() {
+        return diagnosticsContext;
+    }
+}
@@ -0,0 +1,161 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.implementation.feedranges.FeedRangeEpkImpl;
+import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import com.azure.cosmos.implementation.routing.Range;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.azure.cosmos.models.PartitionKeyDefinitionVersion;
+import com.azure.cosmos.models.PartitionKind;
+import com.benchmarking.workload.FeedRangeRoutingCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The service side state of one simulated container, shared by all clients.
+//  - the container is partitioned by /id with hash V2 into feedRangeCount physical feed ranges of equal size
+//  - pre-created items are tracked as a count since their ids are 1 to itemCount, other items by id
+//  - the feed range of an id is resolved through its effective partition key once and then memoized
+final class SimulatedStore {
+
+    // effective partition keys of hash V2 partition keys start with 00 to 3F, split that space evenly
+    private static final int EFFECTIVE_PARTITION_KEY_PREFIX_SPACE = 0x4000;
+
+    private static final String MIN_EFFECTIVE_PARTITION_KEY = "";
+
+    private static final String MAX_EFFECTIVE_PARTITION_KEY = "FF";
+
+    private final String containerId;
+
+    private final PartitionKeyDefinition partitionKeyDefinition;
+
+    private final List<Range<String>> ranges;
+
+    private final List<FeedRange> feedRanges;
+
+    private final Map<String, Integer> feedRangeIndexById = new ConcurrentHashMap<>();
+
+    private final Set<String> createdIds = ConcurrentHashMap.newKeySet();
+
+    private volatile int preCreatedItemCount;
+
+    SimulatedStore(String containerId, int feedRangeCount) {
+        if (feedRangeCount < 1 || feedRangeCount > EFFECTIVE_PARTITION_KEY_PREFIX_SPACE) {
+            throw new IllegalArgumentException("simulatedFeedRangeCount should be between 1 and " + EFFECTIVE_PARTITION_KEY_PREFIX_SPACE + ".");
+        }
+
+        PartitionKeyDefinition partitionKeyDefinition = new PartitionKeyDefinition();
+        partitionKeyDefinition.setPaths(Collections.singletonList("/id"));
+        partitionKeyDefinition.setKind(PartitionKind.HASH);
+        partitionKeyDefinition.setVersion(PartitionKeyDefinitionVersion.V2);
+
+        List<Range<String>> ranges = new ArrayList<>(feedRangeCount);
+        List<FeedRange> feedRanges = new ArrayList<>(feedRangeCount);
+
+        for (int i = 0; i < feedRangeCount; i++) {
+            String min = i == 0 ? MIN_EFFECTIVE_PARTITION_KEY : toEffectivePartitionKeyPrefix(i, feedRangeCount);
+            String max = i == feedRangeCount - 1 ? MAX_EFFECTIVE_PARTITION_KEY : toEffectivePartitionKeyPrefix(i + 1, feedRangeCount);
+            Range<String> range = new Range<>(min, max, true, false);
+
+            ranges.add(range);
+            feedRanges.add(new FeedRangeEpkImpl(range));
+        }
+
+        this.containerId = containerId;
+        this.partitionKeyDefinition = partitionKeyDefinition;
+        this.ranges = Collections.unmodifiableList(ranges);
+        this.feedRanges = Collections.unmodifiableList(feedRanges);
+    }
+
+    String getContainerId() {
+        return this.containerId;
+    }
+
+    PartitionKeyDefinition getPartitionKeyDefinition() {
+        return this.partitionKeyDefinition;
+    }
+
+    List<FeedRange> getFeedRanges() {
+        return this.feedRanges;
+    }
+
+    int getFeedRangeCount() {
+        return this.ranges.size();
+    }
+
+    // fault injection applies to whole physical partitions, so a fault targeting part of a feed range affects all of it
+    boolean[] getOverlappingFeedRanges(FeedRange feedRange) {
+        return FeedRangeRoutingCache.getOverlappingRanges(this.ranges, feedRange);
+    }
+
+    int getFeedRangeIndex(String id, PartitionKey partitionKey) {
+        Integer feedRangeIndex = this.feedRangeIndexById.get(id);
+
+        if (feedRangeIndex == null) {
+            feedRangeIndex = this.feedRangeIndexById.computeIfAbsent(id, ignore -> findFeedRangeIndex(partitionKey));
+        }
+
+        return feedRangeIndex;
+    }
+
+    void preCreateItems(int itemCount) {
+        this.preCreatedItemCount = Math.max(this.preCreatedItemCount, itemCount);
+    }
+
+    boolean exists(String id) {
+        return isPreCreated(id) || this.createdIds.contains(id);
+    }
+
+    void upsert(String id) {
+        if (!isPreCreated(id)) {
+            this.createdIds.add(id);
+        }
+    }
+
+    private int findFeedRangeIndex(PartitionKey partitionKey) {
+        String effectivePartitionKey = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+                BridgeInternal.getPartitionKeyInternal(partitionKey),
+                this.partitionKeyDefinition);
+
+        for (int i = this.ranges.size() - 1; i > 0; i--) {
+            if (this.ranges.get(i).getMin().compareTo(effectivePartitionKey) <= 0) {
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+    // ids of pre-created items are the decimal numbers 1 to preCreatedItemCount
+    private boolean isPreCreated(String id) {
+        int length = id.length();
+
+        if (length == 0 || length > 10 || id.charAt(0) == '0') {
+            return false;
+        }
+
+        long value = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = id.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return false;
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value <= this.preCreatedItemCount;
+    }
+
+    private static String toEffectivePartitionKeyPrefix(int index, int feedRangeCount) {
+        return String.format("%04X", (int) ((long) index * EFFECTIVE_PARTITION_KEY_PREFIX_SPACE / feedRangeCount));
+    }
+}
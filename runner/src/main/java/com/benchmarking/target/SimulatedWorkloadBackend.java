@@ -0,0 +1,139 @@
+package com.benchmarking.target;
+
+import com.utils.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// clientCount simulated clients of an in-process account with the preferred regions, no account is needed
+//  - containers are simulated stores shared by all clients, circuit breaker state and faults are per client
+//  - region latencies are parsed from simulatedRegionLatencies, e.g. "East US=2/10,West US=40/80" for a median
+//    and p99 in milliseconds, regions not listed use DEFAULT_REGION_LATENCY
+public class SimulatedWorkloadBackend implements WorkloadBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedWorkloadBackend.class);
+
+    private static final String DEFAULT_REGION_LATENCY = "2/10";
+
+    private final Configuration config;
+
+    private final List<String> preferredRegions;
+
+    private final SimulatedWorkloadTarget.RegionLatency[] regionLatencies;
+
+    private final Map<String, SimulatedStore> simulatedStoresByContainerId = new ConcurrentHashMap<>();
+
+    private final Map<String, SimulatedWorkloadTarget> workloadTargetsByKey = new ConcurrentHashMap<>();
+
+    public SimulatedWorkloadBackend(Configuration config, List<String> preferredRegions) {
+        if (preferredRegions == null || preferredRegions.isEmpty()) {
+            throw new IllegalArgumentException("A simulated workload target needs at least one preferred region.");
+        }
+
+        if (config.getAvailabilityStrategyControlFraction() < 0 || config.getAvailabilityStrategyControlFraction() > 1) {
+            throw new IllegalArgumentException("availabilityStrategyControlFraction should be between 0 and 1.");
+        }
+
+        this.config = config;
+        this.preferredRegions = preferredRegions;
+        this.regionLatencies = parseRegionLatencies(config.getSimulatedRegionLatencies(), preferredRegions);
+    }
+
+    @Override
+    public void setupContainer(String containerId, int itemCountToPreCreate) {
+        SimulatedStore simulatedStore = this.simulatedStoresByContainerId
+                .computeIfAbsent(containerId, id -> new SimulatedStore(id, this.config.getSimulatedFeedRangeCount()));
+
+        simulatedStore.preCreateItems(itemCountToPreCreate);
+
+        logger.info(
+                "Simulated container with ID : {} has {} feed ranges and {} pre-created items.",
+                containerId,
+                simulatedStore.getFeedRangeCount(),
+                itemCountToPreCreate);
+    }
+
+    // simulated clients have no connections or caches to warm up, their targets are built on first use
+    @Override
+    public void initializeClients(List<String> containerIds) {
+    }
+
+    @Override
+    public int getClientCount() {
+        return this.config.getClientCount();
+    }
+
+    @Override
+    public WorkloadTarget getWorkloadTarget(int clientIndex, String containerId) {
+        SimulatedStore simulatedStore = this.simulatedStoresByContainerId.get(containerId);
+
+        if (simulatedStore == null) {
+            throw new IllegalStateException("Simulated container with ID : " + containerId + " has not been set up.");
+        }
+
+        return this.workloadTargetsByKey.computeIfAbsent(clientIndex + "/" + containerId, ignore -> new SimulatedWorkloadTarget(
+                simulatedStore,
+                this.preferredRegions,
+                this.regionLatencies,
+                this.config.getPointOperationEndToEndTimeout(),
+                this.config.isThresholdBasedAvailabilityStrategyEnabled(),
+                this.config.getAvailabilityStrategyThreshold(),
+                this.config.getAvailabilityStrategyThresholdStep(),
+                this.config.getAvailabilityStrategyControlFraction(),
+                this.config.isPartitionLevelCircuitBreakerEnabled(),
+                this.config.getConsecutiveExceptionCountToleratedForReads(),
+                this.config.getConsecutiveExceptionCountToleratedForWrites()));
+    }
+
+    @Override
+    public void close() {
+        this.workloadTargetsByKey.clear();
+        this.simulatedStoresByContainerId.clear();
+    }
+
+    private static SimulatedWorkloadTarget.RegionLatency[] parseRegionLatencies(String simulatedRegionLatencies, List<String> preferredRegions) {
+        Map<String, SimulatedWorkloadTarget.RegionLatency> regionLatenciesByRegion = new HashMap<>();
+
+        if (simulatedRegionLatencies != null && !simulatedRegionLatencies.trim().isEmpty()) {
+            for (String regionLatency : simulatedRegionLatencies.split(",")) {
+                String[] regionAndLatency = regionLatency.split("=");
+
+                if (regionAndLatency.length != 2) {
+                    throw new IllegalArgumentException("Simulated region latency " + regionLatency + " should be of the form <region>=<median>/<p99>.");
+                }
+
+                regionLatenciesByRegion.put(
+                        regionAndLatency[0].trim().toLowerCase(Locale.ROOT),
+                        parseRegionLatency(regionAndLatency[1]));
+            }
+        }
+
+        SimulatedWorkloadTarget.RegionLatency[] regionLatencies = new SimulatedWorkloadTarget.RegionLatency[preferredRegions.size()];
+
+        for (int i = 0; i < regionLatencies.length; i++) {
+            SimulatedWorkloadTarget.RegionLatency regionLatency = regionLatenciesByRegion.get(preferredRegions.get(i).trim().toLowerCase(Locale.ROOT));
+            regionLatencies[i] = regionLatency != null ? regionLatency : parseRegionLatency(DEFAULT_REGION_LATENCY);
+        }
+
+        return regionLatencies;
+    }
+
+    private static SimulatedWorkloadTarget.RegionLatency parseRegionLatency(String latency) {
+        String[] medianAndP99 = latency.split("/");
+
+        if (medianAndP99.length != 2) {
+            throw new IllegalArgumentException("Simulated region latency " + latency + " should be of the form <median>/<p99>.");
+        }
+
+        try {
+            return new SimulatedWorkloadTarget.RegionLatency(Double.parseDouble(medianAndP99[0].trim()), Double.parseDouble(medianAndP99[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Simulated region latency " + latency + " should be of the form <median>/<p99>.", e);
+        }
+    }
+}
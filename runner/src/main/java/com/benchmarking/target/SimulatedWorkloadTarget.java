@@ -0,0 +1,696 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionErrorType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionOperationType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionServerErrorType;
+import com.benchmarking.faults.FaultInjectionPayload;
+import com.benchmarking.workload.OperationType;
+import com.entities.FaultInjectionParameters;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// One client's view of a simulated container. An operation is resolved up front and its outcome is emitted
+// after the simulated latency, without blocking a thread.
+//  - regions are tried in preferred region order, every attempt takes a latency drawn from the region's
+//    log-normal latency distribution
+//  - faults apply to their region, feed ranges and operation types for their duration, like fault injection rules,
+//    each attempt is hit with the fault's injection rate and a fault stops after its hit limit per injection,
+//    injecting a fault again re-arms it under the same rule id unless the payload has been reloaded since
+//      - SERVICE_UNAVAILABLE, READ_SESSION_NOT_AVAILABLE and TIMEOUT (reads) fail over to the next region
+//      - GONE-like errors and connection errors are retried locally for GONE_RETRY_PENALTY, then fail over
+//      - INTERNAL_SERVER_ERROR and TOO_MANY_REQUEST fail the operation
+//      - RESPONSE_DELAY and CONNECTION_DELAY add their delay to the attempt
+//  - unless disabled, a per feed range and region circuit breaker marks a region unavailable for a feed range
+//    after the configured consecutive read or write failures, like the partition level circuit breaker of the SDK,
+//    later operations on that feed range start with the next region until UNAVAILABILITY_DURATION has passed,
+//    successes and failures reach the breaker once the operation's simulated latency has elapsed, as they would be
+//    observed by the SDK, a region is never marked unavailable before the failures tripping it were observed
+//  - with the threshold based availability strategy a read without a response after the threshold is hedged to the
+//    next region, every further region gets a hedged request one threshold step later, the fastest successful
+//    response wins and every request is charged, availabilityStrategyControlFraction of the operations are not hedged
+//  - operations exceeding the end-to-end timeout fail with 408 / 20008
+// Regions behave like regions of a multi-write account, writes fail over like reads.
+public class SimulatedWorkloadTarget implements WorkloadTarget {
+
+    private static final long GONE_RETRY_PENALTY_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private static final long THROTTLING_RETRY_PENALTY_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long UNAVAILABILITY_DURATION_IN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final int OPERATION_CANCELLED = 20008;
+
+    private final SimulatedStore simulatedStore;
+
+    private final List<String> regions;
+
+    private final RegionLatency[] regionLatencies;
+
+    private final long endToEndTimeoutInNanos;
+
+    private final boolean isHedgingEnabled;
+
+    private final long hedgingThresholdInNanos;
+
+    private final long hedgingThresholdStepInNanos;
+
+    private final double availabilityStrategyControlFraction;
+
+    private final boolean isCircuitBreakerEnabled;
+
+    // [feed range index][region index]
+    private final PartitionHealth[][] partitionHealth;
+
+    // in order of first injection, a replaced fault keeps its position
+    private final List<SimulatedFault> faults = new CopyOnWriteArrayList<>();
+
+    // guarded by faults
+    private final Map<String, SimulatedFault> faultsByRuleId = new HashMap<>();
+
+    SimulatedWorkloadTarget(
+            SimulatedStore simulatedStore,
+            List<String> regions,
+            RegionLatency[] regionLatencies,
+            Duration endToEndTimeout,
+            boolean isHedgingEnabled,
+            Duration hedgingThreshold,
+            Duration hedgingThresholdStep,
+            double availabilityStrategyControlFraction,
+            boolean isCircuitBreakerEnabled,
+            int consecutiveReadFailuresTolerated,
+            int consecutiveWriteFailuresTolerated) {
+
+        if (consecutiveReadFailuresTolerated < 1 || consecutiveWriteFailuresTolerated < 1) {
+            throw new IllegalArgumentException("consecutiveExceptionCountToleratedForReads and consecutiveExceptionCountToleratedForWrites should be positive.");
+        }
+
+        this.simulatedStore = simulatedStore;
+        this.regions = regions;
+        this.regionLatencies = regionLatencies;
+        this.endToEndTimeoutInNanos = endToEndTimeout.toNanos();
+        this.isHedgingEnabled = isHedgingEnabled;
+        this.hedgingThresholdInNanos = hedgingThreshold.toNanos();
+        this.hedgingThresholdStepInNanos = hedgingThresholdStep.toNanos();
+        this.availabilityStrategyControlFraction = availabilityStrategyControlFraction;
+        this.isCircuitBreakerEnabled = isCircuitBreakerEnabled;
+        this.partitionHealth = new PartitionHealth[simulatedStore.getFeedRangeCount()][regions.size()];
+
+        for (PartitionHealth[] feedRangeHealth : this.partitionHealth) {
+            for (int i = 0; i < feedRangeHealth.length; i++) {
+                feedRangeHealth[i] = new PartitionHealth(consecutiveReadFailuresTolerated, consecutiveWriteFailuresTolerated);
+            }
+        }
+    }
+
+    @Override
+    public String getContainerId() {
+        return this.simulatedStore.getContainerId();
+    }
+
+    @Override
+    public Mono<OperationOutcome> execute(OperationType operationType, String id, PartitionKey partitionKey) {
+        return Mono.defer(() -> {
+            Attempt attempt = simulate(operationType, id, partitionKey);
+            OperationOutcome outcome = new OperationOutcome(
+                    attempt.isSuccess,
+                    attempt.statusCode,
+                    attempt.subStatusCode,
+                    attempt.contactedRegionNames,
+                    attempt.requestCharge,
+                    attempt.isAvailabilityStrategyApplied,
+                    attempt.hedgedRequestCount,
+                    null);
+
+            if (attempt.elapsedInNanos <= 0) {
+                attempt.applyHealthUpdates();
+                return Mono.just(outcome);
+            }
+
+            return Mono.delay(Duration.ofNanos(attempt.elapsedInNanos)).map(ignore -> {
+                attempt.applyHealthUpdates();
+                return outcome;
+            });
+        });
+    }
+
+    @Override
+    public Mono<List<FeedRange>> getFeedRanges() {
+        return Mono.just(this.simulatedStore.getFeedRanges());
+    }
+
+    @Override
+    public Mono<PartitionKeyDefinition> getPartitionKeyDefinition() {
+        return Mono.just(this.simulatedStore.getPartitionKeyDefinition());
+    }
+
+    @Override
+    public Mono<List<String>> injectFaults(FaultInjectionPayload faultInjectionPayload) {
+        return Mono.fromCallable(() -> {
+            long now = System.nanoTime();
+            List<String> faultIds = new ArrayList<>();
+
+            synchronized (this.faults) {
+                for (FaultInjectionPayload.Fault fault : faultInjectionPayload.getFaults()) {
+                    SimulatedFault simulatedFault = this.faultsByRuleId.get(fault.getRuleId());
+
+                    if (simulatedFault == null) {
+                        simulatedFault = new SimulatedFault(fault, this.simulatedStore.getOverlappingFeedRanges(fault.getFeedRange()), null);
+                        this.faults.add(simulatedFault);
+                    } else if (simulatedFault.fault != fault) {
+                        SimulatedFault replacedFault = simulatedFault;
+
+                        simulatedFault = new SimulatedFault(fault, this.simulatedStore.getOverlappingFeedRanges(fault.getFeedRange()), replacedFault);
+                        this.faults.set(this.faults.indexOf(replacedFault), simulatedFault);
+                    }
+
+                    this.faultsByRuleId.put(fault.getRuleId(), simulatedFault);
+                    simulatedFault.arm(now);
+                    faultIds.add(simulatedFault.fault.getRuleId());
+                }
+            }
+
+            return faultIds;
+        });
+    }
+
+    @Override
+    public List<FaultRuleSnapshot> getFaultRuleSnapshots() {
+        long now = System.nanoTime();
+        List<FaultRuleSnapshot> snapshots = new ArrayList<>();
+
+        for (SimulatedFault fault : this.faults) {
+            snapshots.add(fault.snapshot(now));
+        }
+
+        return snapshots;
+    }
+
+    private Attempt simulate(OperationType operationType, String id, PartitionKey partitionKey) {
+        long now = System.nanoTime();
+        boolean isWrite = operationType == OperationType.UPSERT || operationType == OperationType.PATCH;
+        int feedRangeIndex = this.simulatedStore.getFeedRangeIndex(id, partitionKey);
+        int firstRegionIndex = getFirstAvailableRegionIndex(feedRangeIndex, now);
+
+        boolean isAvailabilityStrategyApplied = this.isHedgingEnabled
+                && (this.availabilityStrategyControlFraction <= 0
+                    || ThreadLocalRandom.current().nextDouble() >= this.availabilityStrategyControlFraction);
+
+        Attempt attempt = simulateFrom(operationType, id, isWrite, feedRangeIndex, firstRegionIndex, 0, now);
+
+        // a hedged request starts in the next region once its threshold has passed without a response
+        if (isAvailabilityStrategyApplied && !isWrite) {
+            Set<String> contactedRegionNames = attempt.contactedRegionNames;
+            List<HealthUpdate> healthUpdates = new ArrayList<>(attempt.healthUpdates);
+            double requestCharge = attempt.requestCharge;
+            long hedgeStartInNanos = this.hedgingThresholdInNanos;
+            int hedgedRequestCount = 0;
+
+            for (int regionIndex = firstRegionIndex + 1;
+                 regionIndex < this.regions.size() && attempt.elapsedInNanos > hedgeStartInNanos;
+                 regionIndex++) {
+
+                Attempt hedgedAttempt = simulateFrom(operationType, id, false, feedRangeIndex, regionIndex, hedgeStartInNanos, now);
+                contactedRegionNames = new HashSet<>(contactedRegionNames);
+                contactedRegionNames.addAll(hedgedAttempt.contactedRegionNames);
+                healthUpdates.addAll(hedgedAttempt.healthUpdates);
+                requestCharge += hedgedAttempt.requestCharge;
+                hedgedRequestCount++;
+
+                if (hedgedAttempt.isSuccess && (!attempt.isSuccess || hedgedAttempt.elapsedInNanos < attempt.elapsedInNanos)) {
+                    attempt = hedgedAttempt;
+                }
+
+                hedgeStartInNanos += this.hedgingThresholdStepInNanos;
+            }
+
+            attempt.contactedRegionNames = contactedRegionNames;
+            attempt.healthUpdates = healthUpdates;
+            attempt.requestCharge = requestCharge;
+            attempt.hedgedRequestCount = hedgedRequestCount;
+        }
+
+        attempt.isAvailabilityStrategyApplied = isAvailabilityStrategyApplied;
+
+        if (attempt.elapsedInNanos > this.endToEndTimeoutInNanos) {
+            attempt.elapsedInNanos = this.endToEndTimeoutInNanos;
+            attempt.fail(408, OPERATION_CANCELLED);
+        }
+
+        return attempt;
+    }
+
+    private Attempt simulateFrom(
+            OperationType operationType,
+            String id,
+            boolean isWrite,
+            int feedRangeIndex,
+            int regionIndex,
+            long elapsedInNanos,
+            long now) {
+
+        Attempt attempt = new Attempt(elapsedInNanos);
+
+        for (; regionIndex < this.regions.size(); regionIndex++) {
+            String region = this.regions.get(regionIndex);
+            PartitionHealth health = this.partitionHealth[feedRangeIndex][regionIndex];
+            // the fault is looked up when the request reaches the region, not when the operation started
+            SimulatedFault fault = findActiveFault(region, feedRangeIndex, operationType, now + attempt.elapsedInNanos);
+
+            attempt.contact(region);
+            attempt.elapsedInNanos += this.regionLatencies[regionIndex].sample();
+
+            if (fault == null) {
+                attempt.observe(health, true, isWrite, now);
+                return attempt.succeed(operationType, id, this.simulatedStore);
+            }
+
+            boolean isFailingOver;
+
+            if (fault.connectionErrorType != null) {
+                attempt.elapsedInNanos += GONE_RETRY_PENALTY_IN_NANOS;
+                attempt.fail(503, 21005);
+                isFailingOver = true;
+            } else {
+                switch (fault.serverErrorType) {
+                    case RESPONSE_DELAY:
+                    case CONNECTION_DELAY:
+                        attempt.elapsedInNanos += fault.delayInNanos;
+
+                        if (attempt.elapsedInNanos > this.endToEndTimeoutInNanos) {
+                            attempt.observe(health, false, isWrite, now);
+                            return attempt.fail(408, OPERATION_CANCELLED);
+                        }
+
+                        attempt.observe(health, true, isWrite, now);
+                        return attempt.succeed(operationType, id, this.simulatedStore);
+                    case SERVICE_UNAVAILABLE:
+                        attempt.fail(503, 21008);
+                        isFailingOver = true;
+                        break;
+                    case INTERNAL_SERVER_ERROR:
+                        attempt.fail(500, 0);
+                        isFailingOver = false;
+                        break;
+                    case TOO_MANY_REQUEST:
+                        // throttling does not count towards the circuit breaker
+                        attempt.elapsedInNanos += THROTTLING_RETRY_PENALTY_IN_NANOS;
+                        return attempt.fail(429, 3200);
+                    case READ_SESSION_NOT_AVAILABLE:
+                        attempt.fail(404, 1002);
+                        isFailingOver = true;
+                        break;
+                    case TIMEOUT:
+                        attempt.fail(408, 0);
+                        isFailingOver = !isWrite;
+                        break;
+                    default:
+                        // GONE, RETRY_WITH and partition moves are retried within the region first
+                        attempt.elapsedInNanos += GONE_RETRY_PENALTY_IN_NANOS;
+                        attempt.fail(503, 21005);
+                        isFailingOver = true;
+                }
+            }
+
+            attempt.observe(health, false, isWrite, now);
+
+            if (!isFailingOver || attempt.elapsedInNanos > this.endToEndTimeoutInNanos) {
+                return attempt;
+            }
+        }
+
+        return attempt;
+    }
+
+    // when every region is unavailable for the feed range the operation still has to go somewhere
+    private int getFirstAvailableRegionIndex(int feedRangeIndex, long now) {
+        if (!this.isCircuitBreakerEnabled) {
+            return 0;
+        }
+
+        PartitionHealth[] feedRangeHealth = this.partitionHealth[feedRangeIndex];
+
+        for (int i = 0; i < feedRangeHealth.length; i++) {
+            if (feedRangeHealth[i].isAvailable(now)) {
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+    private SimulatedFault findActiveFault(String region, int feedRangeIndex, OperationType operationType, long now) {
+        FaultInjectionOperationType faultInjectionOperationType = toFaultInjectionOperationType(operationType);
+
+        for (SimulatedFault fault : this.faults) {
+            if (fault.isActive(now) && fault.appliesTo(region, feedRangeIndex, faultInjectionOperationType) && fault.tryHit(faultInjectionOperationType)) {
+                return fault;
+            }
+        }
+
+        return null;
+    }
+
+    private static FaultInjectionOperationType toFaultInjectionOperationType(OperationType operationType) {
+        switch (operationType) {
+            case UPSERT:
+                return FaultInjectionOperationType.UPSERT_ITEM;
+            case PATCH:
+                return FaultInjectionOperationType.PATCH_ITEM;
+            case QUERY:
+                return FaultInjectionOperationType.QUERY_ITEM;
+            default:
+                return FaultInjectionOperationType.READ_ITEM;
+        }
+    }
+
+    // log-normal latency described by its median and p99
+    static final class RegionLatency {
+
+        private static final double Z_99 = 2.326;
+
+        private final double mu;
+
+        private final double sigma;
+
+        private final boolean isZero;
+
+        RegionLatency(double medianInMillis, double p99InMillis) {
+            if (medianInMillis < 0 || p99InMillis < medianInMillis) {
+                throw new IllegalArgumentException("A simulated region latency needs 0 <= median <= p99, was " + medianInMillis + "/" + p99InMillis + ".");
+            }
+
+            this.isZero = medianInMillis == 0;
+            this.mu = this.isZero ? 0 : Math.log(medianInMillis * 1_000_000d);
+            this.sigma = this.isZero ? 0 : (Math.log(p99InMillis) - Math.log(medianInMillis)) / Z_99;
+        }
+
+        long sample() {
+            if (this.isZero) {
+                return 0;
+            }
+
+            return (long) Math.exp(this.mu + this.sigma * ThreadLocalRandom.current().nextGaussian());
+        }
+    }
+
+    private static final class PartitionHealth {
+
+        private final int consecutiveReadFailuresTolerated;
+
+        private final int consecutiveWriteFailuresTolerated;
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        // available from the start, nanoTime values are only compared through their difference
+        private volatile long unavailableUntilInNanos = System.nanoTime();
+
+        private PartitionHealth(int consecutiveReadFailuresTolerated, int consecutiveWriteFailuresTolerated) {
+            this.consecutiveReadFailuresTolerated = consecutiveReadFailuresTolerated;
+            this.consecutiveWriteFailuresTolerated = consecutiveWriteFailuresTolerated;
+        }
+
+        private boolean isAvailable(long now) {
+            return now - this.unavailableUntilInNanos >= 0;
+        }
+
+        private void onSuccess() {
+            if (this.consecutiveFailures.get() != 0) {
+                this.consecutiveFailures.set(0);
+            }
+        }
+
+        // once the unavailability has passed, a single failure marks the region unavailable again
+        private void onFailure(boolean isWrite, long observedAtInNanos) {
+            int consecutiveFailuresTolerated = isWrite ? this.consecutiveWriteFailuresTolerated : this.consecutiveReadFailuresTolerated;
+
+            if (this.consecutiveFailures.incrementAndGet() >= consecutiveFailuresTolerated) {
+                this.unavailableUntilInNanos = observedAtInNanos + UNAVAILABILITY_DURATION_IN_NANOS;
+                this.consecutiveFailures.set(consecutiveFailuresTolerated - 1);
+            }
+        }
+    }
+
+    private static final class SimulatedFault {
+
+        private final FaultInjectionPayload.Fault fault;
+
+        // null for all regions
+        private final String region;
+
+        private final boolean[] isAppliedByFeedRangeIndex;
+
+        private final FaultInjectionServerErrorType serverErrorType;
+
+        private final FaultInjectionConnectionErrorType connectionErrorType;
+
+        private final long delayInNanos;
+
+        // zero for an infinite fault
+        private final long durationInNanos;
+
+        // null for all operation types
+        private final FaultInjectionOperationType operationType;
+
+        private final double injectionRate;
+
+        private final int hitLimit;
+
+        // hits by operation type
+        private final AtomicLongArray hitCounts = new AtomicLongArray(FaultInjectionOperationType.values().length);
+
+        private final AtomicLong hitCount = new AtomicLong();
+
+        // hits of the faults this one has replaced
+        private final long retiredHitCount;
+
+        private final AtomicLong injectionCount;
+
+        // armed by the first injection
+        private volatile long endTimeInNanos = Long.MIN_VALUE;
+
+        // the hit limit applies to the hits since the latest injection
+        private volatile long hitCountAtArm;
+
+        private volatile boolean isArmed;
+
+        private SimulatedFault(FaultInjectionPayload.Fault fault, boolean[] isAppliedByFeedRangeIndex, SimulatedFault replacedFault) {
+            FaultInjectionParameters faultInjectionParameters = fault.getFaultInjectionParameters();
+            Duration duration = faultInjectionParameters.getFaultInjectionDuration();
+            Duration delay = faultInjectionParameters.getConnectionOrResponseDelayDuration();
+
+            this.fault = fault;
+            this.region = faultInjectionParameters.getRegion();
+            this.isAppliedByFeedRangeIndex = isAppliedByFeedRangeIndex;
+            this.operationType = fault.getOperationType();
+            this.injectionRate = faultInjectionParameters.getInjectionRate() == null ? 1 : faultInjectionParameters.getInjectionRate();
+            this.hitLimit = faultInjectionParameters.getHitLimit() == null ? Integer.MAX_VALUE : faultInjectionParameters.getHitLimit();
+            this.serverErrorType = faultInjectionParameters.getServerErrorType();
+            this.connectionErrorType = faultInjectionParameters.getConnectionErrorType();
+            this.delayInNanos = delay == null ? 0 : delay.toNanos();
+            // an infinite fault is parsed as a zero duration
+            this.durationInNanos = duration == null ? 0 : duration.toNanos();
+            this.retiredHitCount = replacedFault == null ? 0 : replacedFault.retiredHitCount + replacedFault.hitCount.get();
+            this.injectionCount = replacedFault == null ? new AtomicLong() : replacedFault.injectionCount;
+        }
+
+        private void arm(long now) {
+            this.endTimeInNanos = this.durationInNanos == 0 ? Long.MAX_VALUE : now + this.durationInNanos;
+            this.hitCountAtArm = this.hitCount.get();
+            this.isArmed = true;
+            this.injectionCount.incrementAndGet();
+        }
+
+        private boolean isActive(long now) {
+            return this.isArmed && (this.endTimeInNanos == Long.MAX_VALUE || now - this.endTimeInNanos < 0);
+        }
+
+        private boolean appliesTo(String region, int feedRangeIndex, FaultInjectionOperationType operationType) {
+            return this.isAppliedByFeedRangeIndex[feedRangeIndex]
+                    && (this.operationType == null || this.operationType == operationType)
+                    && (this.region == null || this.region.isEmpty() || this.region.equalsIgnoreCase(region));
+        }
+
+        // draws the injection rate, then counts the hit against the hit limit
+        private boolean tryHit(FaultInjectionOperationType operationType) {
+            if (this.injectionRate < 1 && ThreadLocalRandom.current().nextDouble() >= this.injectionRate) {
+                return false;
+            }
+
+            long hitCountAtArm = this.hitCountAtArm;
+
+            if (this.hitLimit != Integer.MAX_VALUE && this.hitCount.get() - hitCountAtArm >= this.hitLimit) {
+                return false;
+            }
+
+            if (this.hitCount.incrementAndGet() - hitCountAtArm > this.hitLimit) {
+                this.hitCount.decrementAndGet();
+                return false;
+            }
+
+            this.hitCounts.incrementAndGet(operationType.ordinal());
+
+            return true;
+        }
+
+        private FaultRuleSnapshot snapshot(long now) {
+            Map<String, Long> hitCountDetails = new LinkedHashMap<>();
+
+            for (FaultInjectionOperationType operationType : FaultInjectionOperationType.values()) {
+                long hitCount = this.hitCounts.get(operationType.ordinal());
+
+                if (hitCount > 0) {
+                    hitCountDetails.put(operationType.name(), hitCount);
+                }
+            }
+
+            return new FaultRuleSnapshot(
+                    this.fault.getRuleId(),
+                    isActive(now) && (this.hitLimit == Integer.MAX_VALUE || this.hitCount.get() - this.hitCountAtArm < this.hitLimit),
+                    this.injectionCount.get(),
+                    this.retiredHitCount + this.hitCount.get(),
+                    hitCountDetails);
+        }
+    }
+
+    // a success or failure of one region, applied to its partition health once the operation completes
+    private static final class HealthUpdate {
+
+        private final PartitionHealth health;
+
+        private final boolean isSuccess;
+
+        private final boolean isWrite;
+
+        private final long observedAtInNanos;
+
+        private HealthUpdate(PartitionHealth health, boolean isSuccess, boolean isWrite, long observedAtInNanos) {
+            this.health = health;
+            this.isSuccess = isSuccess;
+            this.isWrite = isWrite;
+            this.observedAtInNanos = observedAtInNanos;
+        }
+    }
+
+    // mutable while an operation is resolved, never shared between operations
+    private static final class Attempt {
+
+        private long elapsedInNanos;
+
+        private boolean isSuccess;
+
+        private int statusCode;
+
+        private int subStatusCode;
+
+        private double requestCharge;
+
+        private Set<String> contactedRegionNames = Collections.emptySet();
+
+        private List<HealthUpdate> healthUpdates = Collections.emptyList();
+
+        private boolean isAvailabilityStrategyApplied;
+
+        private int hedgedRequestCount;
+
+        private Attempt(long elapsedInNanos) {
+            this.elapsedInNanos = elapsedInNanos;
+        }
+
+        private void contact(String region) {
+            if (this.contactedRegionNames.isEmpty()) {
+                this.contactedRegionNames = Collections.singleton(region);
+                return;
+            }
+
+            Set<String> contactedRegionNames = new HashSet<>(this.contactedRegionNames);
+            contactedRegionNames.add(region);
+            this.contactedRegionNames = contactedRegionNames;
+        }
+
+        // observed at the simulated time elapsed so far
+        private void observe(PartitionHealth health, boolean isSuccess, boolean isWrite, long startTimeInNanos) {
+            if (this.healthUpdates.isEmpty()) {
+                this.healthUpdates = new ArrayList<>(2);
+            }
+
+            this.healthUpdates.add(new HealthUpdate(health, isSuccess, isWrite, startTimeInNanos + this.elapsedInNanos));
+        }
+
+        private void applyHealthUpdates() {
+            for (HealthUpdate healthUpdate : this.healthUpdates) {
+                if (healthUpdate.isSuccess) {
+                    healthUpdate.health.onSuccess();
+                } else {
+                    healthUpdate.health.onFailure(healthUpdate.isWrite, healthUpdate.observedAtInNanos);
+                }
+            }
+        }
+
+        private Attempt fail(int statusCode, int subStatusCode) {
+            this.isSuccess = false;
+            this.statusCode = statusCode;
+            this.subStatusCode = subStatusCode;
+            this.requestCharge = 0;
+            return this;
+        }
+
+        private Attempt succeed(OperationType operationType, String id, SimulatedStore simulatedStore) {
+            this.isSuccess = true;
+            this.subStatusCode = 0;
+
+            switch (operationType) {
+                case UPSERT:
+                    this.statusCode = simulatedStore.exists(id) ? 200 : 201;
+                    this.requestCharge = 7.6;
+                    simulatedStore.upsert(id);
+                    break;
+                case PATCH:
+                    if (!simulatedStore.exists(id)) {
+                        return notFound();
+                    }
+
+                    this.statusCode = 200;
+                    this.requestCharge = 8.0;
+                    break;
+                case QUERY:
+                    this.statusCode = 200;
+                    this.requestCharge = 2.8;
+                    break;
+                default:
+                    if (!simulatedStore.exists(id)) {
+                        return notFound();
+                    }
+
+                    this.statusCode = 200;
+                    this.requestCharge = 1.0;
+            }
+
+            return this;
+        }
+
+        // unlike other failures, a missing item is served by the partition and charged
+        private Attempt notFound() {
+            fail(404, 0);
+            this.requestCharge = 1.0;
+            return this;
+        }
+    }
+}
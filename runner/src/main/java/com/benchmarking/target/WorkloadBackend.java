@@ -0,0 +1,21 @@
+package com.benchmarking.target;
+
+import java.util.List;
+
+// The account side of a run, the clients and containers which workload targets are handed out for.
+public interface WorkloadBackend extends AutoCloseable {
+
+    // creates the container if it does not exist and pre-creates itemCountToPreCreate items in it, once per container
+    void setupContainer(String containerId, int itemCountToPreCreate);
+
+    // builds the clients of the workload once all containers are set up, connections to the containers are opened
+    // and caches populated as far as the backend supports it, called once before any workload target is handed out
+    void initializeClients(List<String> containerIds);
+
+    int getClientCount();
+
+    WorkloadTarget getWorkloadTarget(int clientIndex, String containerId);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,31 @@
+package com.benchmarking.target;
+
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKey;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+import com.benchmarking.faults.FaultInjectionPayload;
+import com.benchmarking.workload.OperationType;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// One container as seen by one client, everything the workload, the feed range routing and the fault injection
+// need from it.
+public interface WorkloadTarget {
+
+    String getContainerId();
+
+    // service side failures complete with an unsuccessful outcome, only unexpected failures error
+    Mono<OperationOutcome> execute(OperationType operationType, String id, PartitionKey partitionKey);
+
+    Mono<List<FeedRange>> getFeedRanges();
+
+    Mono<PartitionKeyDefinition> getPartitionKeyDefinition();
+
+    // completes with the fault ids, one per fault of the payload and in the same order, once the faults are in effect,
+    // injecting the same payload again re-enables the faults under the same ids
+    Mono<List<String>> injectFaults(FaultInjectionPayload faultInjectionPayload);
+
+    // every fault injected so far, enabled or not
+    List<FaultRuleSnapshot> getFaultRuleSnapshots();
+}
@@ -0,0 +1,8 @@
+package com.benchmarking.target;
+
+public enum WorkloadTargetType {
+    // a live Cosmos DB account
+    COSMOS,
+    // an in-process store which simulates feed ranges, preferred regions, per-region latency and injected faults
+    SIMULATED
+}
@@ -0,0 +1,50 @@
+package com.benchmarking.workload;
+
+import java.util.List;
+
+// Drives the workloads of several client / container pairs as one, a target rate applies to each of them.
+public class CompositeWorkloadEngine implements WorkloadEngine {
+
+    private final List<WorkloadEngine> workloadEngines;
+
+    public CompositeWorkloadEngine(List<WorkloadEngine> workloadEngines) {
+        if (workloadEngines.isEmpty()) {
+            throw new IllegalArgumentException("CompositeWorkloadEngine requires at least one workload engine.");
+        }
+
+        this.workloadEngines = workloadEngines;
+    }
+
+    @Override
+    public void start() {
+        for (WorkloadEngine workloadEngine : this.workloadEngines) {
+            workloadEngine.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        for (WorkloadEngine workloadEngine : this.workloadEngines) {
+            workloadEngine.stop();
+        }
+    }
+
+    @Override
+    public void setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+        for (WorkloadEngine workloadEngine : this.workloadEngines) {
+            workloadEngine.setTargetOperationsPerSecond(targetOperationsPerSecond);
+        }
+    }
+
+    @Override
+    public int getTargetOperationsPerSecond() {
+        return this.workloadEngines.get(0).getTargetOperationsPerSecond();
+    }
+
+    @Override
+    public void logStatistics() {
+        for (WorkloadEngine workloadEngine : this.workloadEngines) {
+            workloadEngine.logStatistics();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.benchmarking.workload;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Generates documents with fieldCount string fields spread over nestingDepth + 1 levels of objects and a serialized
+// size drawn from a weighted distribution parsed from a spec such as "1KB=70,8KB=25,20KB=5".
+//  - sizes are in bytes, or in KB with a KB suffix, weights are relative and default to 1, e.g. "4KB"
+//  - level i holds the fields field<j> with j % (nestingDepth + 1) == i and, but for the last level, the next level
+//    as its "nested" field
+//  - field values are random alphanumeric strings sized so that the document including its id comes close to the
+//    drawn size, a document cannot get smaller than its structure
+//  - an empty spec keeps documents at their structure, which for no fields is the id only
+public class DocumentGenerator {
+
+    // serialized bytes of {"id":"<id>", with ids of up to ESTIMATED_ID_LENGTH characters
+    private static final int ESTIMATED_ID_LENGTH = 10;
+
+    private static final int ID_OVERHEAD_IN_BYTES = "{\"id\":\"\",".length() + ESTIMATED_ID_LENGTH;
+
+    private static final char[] ALPHANUMERIC_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    private final int[] sizesInBytes;
+
+    // cumulativeWeights[i] is the sum of the weights of sizesInBytes[0..i]
+    private final int[] cumulativeWeights;
+
+    private final int fieldCount;
+
+    private final int nestingDepth;
+
+    private DocumentGenerator(int[] sizesInBytes, int[] cumulativeWeights, int fieldCount, int nestingDepth) {
+        this.sizesInBytes = sizesInBytes;
+        this.cumulativeWeights = cumulativeWeights;
+        this.fieldCount = fieldCount;
+        this.nestingDepth = nestingDepth;
+    }
+
+    public static DocumentGenerator parse(String sizesSpec, int fieldCount, int nestingDepth) {
+        if (fieldCount < 0) {
+            throw new IllegalArgumentException("documentFieldCount should not be negative.");
+        }
+
+        if (nestingDepth < 0) {
+            throw new IllegalArgumentException("documentNestingDepth should not be negative.");
+        }
+
+        if (sizesSpec == null || sizesSpec.trim().isEmpty()) {
+            return new DocumentGenerator(new int[] {0}, new int[] {1}, fieldCount, nestingDepth);
+        }
+
+        if (fieldCount == 0) {
+            throw new IllegalArgumentException("Document sizes " + sizesSpec + " need a positive documentFieldCount to pad documents.");
+        }
+
+        List<int[]> sizesAndWeights = new ArrayList<>();
+
+        for (String entry : sizesSpec.split(",")) {
+            String[] sizeAndWeight = entry.split("=");
+
+            if (sizeAndWeight.length > 2) {
+                throw new IllegalArgumentException("Invalid document size entry : " + entry + ", expected <size>[KB][=<weight>].");
+            }
+
+            int sizeInBytes = parseSizeInBytes(sizeAndWeight[0]);
+            int weight = sizeAndWeight.length == 2 ? Integer.parseInt(sizeAndWeight[1].trim()) : 1;
+
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid document size weight for " + sizeAndWeight[0].trim() + " : " + weight);
+            }
+
+            if (weight > 0) {
+                sizesAndWeights.add(new int[] {sizeInBytes, weight});
+            }
+        }
+
+        if (sizesAndWeights.isEmpty()) {
+            throw new IllegalArgumentException("Document sizes " + sizesSpec + " do not contain any size with a positive weight.");
+        }
+
+        int[] sizesInBytes = new int[sizesAndWeights.size()];
+        int[] cumulativeWeights = new int[sizesAndWeights.size()];
+        int cumulativeWeight = 0;
+
+        for (int i = 0; i < sizesAndWeights.size(); i++) {
+            cumulativeWeight += sizesAndWeights.get(i)[1];
+            sizesInBytes[i] = sizesAndWeights.get(i)[0];
+            cumulativeWeights[i] = cumulativeWeight;
+        }
+
+        return new DocumentGenerator(sizesInBytes, cumulativeWeights, fieldCount, nestingDepth);
+    }
+
+    public int nextSizeInBytes(Random random) {
+        int sample = random.nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < this.cumulativeWeights.length; i++) {
+            if (sample < this.cumulativeWeights[i]) {
+                return this.sizesInBytes[i];
+            }
+        }
+
+        return this.sizesInBytes[this.sizesInBytes.length - 1];
+    }
+
+    // a document without its id, the caller adds the id in front of the generated fields
+    public ObjectNode generate(int sizeInBytes, Random random) {
+        ObjectNode document = JsonNodeFactory.instance.objectNode();
+        ObjectNode[] levels = new ObjectNode[this.nestingDepth + 1];
+
+        levels[0] = document;
+
+        for (int i = 1; i < levels.length; i++) {
+            levels[i] = levels[i - 1].putObject("nested");
+        }
+
+        if (this.fieldCount == 0) {
+            return document;
+        }
+
+        // fields and values are ASCII, one byte per character
+        int structureSizeInBytes = ID_OVERHEAD_IN_BYTES + document.toString().length();
+
+        for (int i = 0; i < this.fieldCount; i++) {
+            structureSizeInBytes += ("\"field" + i + "\":\"\",").length();
+        }
+
+        int paddingInBytes = Math.max(0, sizeInBytes - structureSizeInBytes);
+
+        for (int i = 0; i < this.fieldCount; i++) {
+            int valueLength = paddingInBytes / this.fieldCount + (i < paddingInBytes % this.fieldCount ? 1 : 0);
+            levels[i % levels.length].put("field" + i, randomAlphanumeric(valueLength, random));
+        }
+
+        return document;
+    }
+
+    private static String randomAlphanumeric(int length, Random random) {
+        char[] characters = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            characters[i] = ALPHANUMERIC_CHARACTERS[random.nextInt(ALPHANUMERIC_CHARACTERS.length)];
+        }
+
+        return new String(characters);
+    }
+
+    private static int parseSizeInBytes(String size) {
+        String normalizedSize = size.trim().toUpperCase(Locale.ROOT);
+
+        try {
+            int sizeInBytes = normalizedSize.endsWith("KB")
+                    ? Math.multiplyExact(Integer.parseInt(normalizedSize.substring(0, normalizedSize.length() - 2).trim()), 1024)
+                    : Integer.parseInt(normalizedSize);
+
+            if (sizeInBytes < 0) {
+                throw new IllegalArgumentException("Invalid document size : " + size.trim() + ", should not be negative.");
+            }
+
+            return sizeInBytes;
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid document size : " + size.trim() + ", expected bytes or <n>KB.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sizes = new StringBuilder();
+
+        for (int i = 0; i < this.sizesInBytes.length; i++) {
+            int weight = this.cumulativeWeights[i] - (i == 0 ? 0 : this.cumulativeWeights[i - 1]);
+            sizes.append(i == 0 ? "" : ",").append(this.sizesInBytes[i]).append('=').append(weight);
+        }
+
+        return String.format(Locale.ROOT, "sizes=%s, fieldCount=%d, nestingDepth=%d", sizes, this.fieldCount, this.nestingDepth);
+    }
+}
@@ -0,0 +1,87 @@
+package com.benchmarking.workload;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+// poolSize documents generated up front and shared by the preload and the write workload, so that writes neither
+// generate nor serialize documents
+//  - point writes take nextDocument, the serialized fields of a pooled document behind {"id":"<id>", in a single
+//    array, the SDK sends a byte array item as is
+//  - bulk writes take nextDocumentNode, bulk embeds items into the batch request as JSON nodes, the returned node
+//    holds the id and shares the field nodes of a pooled document, which are never modified
+// Ids are written one byte per character, they have to be ASCII without characters that need escaping in JSON, as
+// the numeric ids of the KeyPool and of the preload are.
+public class DocumentPayloadPool {
+
+    private static final byte[] ID_PREFIX = "{\"id\":\"".getBytes(StandardCharsets.US_ASCII);
+
+    private final ObjectNode[] documentNodes;
+
+    // the serialized documentNodes without their opening brace, starting with "," when there are fields
+    private final byte[][] serializedFields;
+
+    private final long averageSizeInBytes;
+
+    public DocumentPayloadPool(DocumentGenerator documentGenerator, int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("documentPayloadPoolSize should be positive.");
+        }
+
+        Random random = new Random();
+        long totalSizeInBytes = 0;
+
+        this.documentNodes = new ObjectNode[poolSize];
+        this.serializedFields = new byte[poolSize][];
+
+        for (int i = 0; i < poolSize; i++) {
+            ObjectNode documentNode = documentGenerator.generate(documentGenerator.nextSizeInBytes(random), random);
+            String serializedDocument = documentNode.toString();
+
+            // {"id":"<id>" followed by "}" or by ",<fields>}"
+            String fields = documentNode.isEmpty() ? "\"}" : "\"," + serializedDocument.substring(1);
+
+            this.documentNodes[i] = documentNode;
+            this.serializedFields[i] = fields.getBytes(StandardCharsets.US_ASCII);
+            totalSizeInBytes += ID_PREFIX.length + this.serializedFields[i].length;
+        }
+
+        this.averageSizeInBytes = totalSizeInBytes / poolSize;
+    }
+
+    public byte[] nextDocument(String id) {
+        byte[] fields = this.serializedFields[ThreadLocalRandom.current().nextInt(this.serializedFields.length)];
+        byte[] document = new byte[ID_PREFIX.length + id.length() + fields.length];
+
+        System.arraycopy(ID_PREFIX, 0, document, 0, ID_PREFIX.length);
+
+        for (int i = 0; i < id.length(); i++) {
+            document[ID_PREFIX.length + i] = (byte) id.charAt(i);
+        }
+
+        System.arraycopy(fields, 0, document, ID_PREFIX.length + id.length(), fields.length);
+
+        return document;
+    }
+
+    public ObjectNode nextDocumentNode(String id) {
+        ObjectNode documentNode = JsonNodeFactory.instance.objectNode();
+
+        documentNode.put("id", id);
+        documentNode.setAll(this.documentNodes[ThreadLocalRandom.current().nextInt(this.documentNodes.length)]);
+
+        return documentNode;
+    }
+
+    public int getPoolSize() {
+        return this.documentNodes.length;
+    }
+
+    // not counting the characters of the id
+    public long getAverageSizeInBytes() {
+        return this.averageSizeInBytes;
+    }
+}
@@ -0,0 +1,171 @@
+package com.benchmarking.workload;
+
+import com.azure.cosmos.BridgeInternal;
+import com.azure.cosmos.implementation.feedranges.FeedRangeEpkImpl;
+import com.azure.cosmos.implementation.routing.PartitionKeyInternalHelper;
+import com.azure.cosmos.implementation.routing.Range;
+import com.azure.cosmos.models.FeedRange;
+import com.azure.cosmos.models.PartitionKeyDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Maps every pre-created key to the physical feed range which owns it.
+//  - feed ranges are the container's physical feed ranges sorted by their effective partition key range
+//  - the feed range of a key is resolved once at startup and kept as a primitive int index per key
+//  - a feed range is faulted when it overlaps any of the feed ranges targeted by the fault payloads
+public class FeedRangeRoutingCache {
+
+    public static final String FAULTED = "faulted";
+
+    public static final String HEALTHY = "healthy";
+
+    private final List<Range<String>> ranges;
+
+    private final String[] feedRangeLabels;
+
+    private final int[] feedRangeIndexByKeyIndex;
+
+    private volatile boolean[] isFaultedByFeedRangeIndex;
+
+    public FeedRangeRoutingCache(List<FeedRange> feedRanges, PartitionKeyDefinition partitionKeyDefinition, KeyPool keyPool) {
+        List<Range<String>> ranges = new ArrayList<>(feedRanges.size());
+
+        for (FeedRange feedRange : feedRanges) {
+            ranges.add(toRange(feedRange));
+        }
+
+        ranges.sort(Comparator.comparing(Range::getMin));
+
+        this.ranges = ranges;
+        this.feedRangeLabels = new String[ranges.size()];
+        this.isFaultedByFeedRangeIndex = new boolean[ranges.size()];
+
+        for (int i = 0; i < ranges.size(); i++) {
+            this.feedRangeLabels[i] = "fr-" + i;
+        }
+
+        String[] minEffectivePartitionKeys = new String[ranges.size()];
+
+        for (int i = 0; i < ranges.size(); i++) {
+            minEffectivePartitionKeys[i] = ranges.get(i).getMin();
+        }
+
+        this.feedRangeIndexByKeyIndex = new int[keyPool.size()];
+
+        IntStream.range(0, keyPool.size()).parallel().forEach(keyIndex -> {
+            String effectivePartitionKey = PartitionKeyInternalHelper.getEffectivePartitionKeyString(
+                    BridgeInternal.getPartitionKeyInternal(keyPool.getPartitionKey(keyIndex)),
+                    partitionKeyDefinition);
+
+            this.feedRangeIndexByKeyIndex[keyIndex] = findFeedRangeIndex(minEffectivePartitionKeys, effectivePartitionKey);
+        });
+    }
+
+    public static Range<String> toRange(FeedRange feedRange) {
+        if (!(feedRange instanceof FeedRangeEpkImpl)) {
+            throw new IllegalArgumentException("Feed range " + feedRange + " is not an effective partition key range.");
+        }
+
+        return ((FeedRangeEpkImpl) feedRange).getRange();
+    }
+
+    public void setFaultedFeedRanges(Collection<FeedRange> faultedFeedRanges) {
+        boolean[] isFaultedByFeedRangeIndex = new boolean[this.ranges.size()];
+
+        for (FeedRange faultedFeedRange : faultedFeedRanges) {
+            boolean[] overlapping = getOverlappingFeedRanges(faultedFeedRange);
+
+            for (int i = 0; i < overlapping.length; i++) {
+                isFaultedByFeedRangeIndex[i] |= overlapping[i];
+            }
+        }
+
+        this.isFaultedByFeedRangeIndex = isFaultedByFeedRangeIndex;
+    }
+
+    // fault injection applies to whole physical partitions, so a fault targeting part of a physical
+    // feed range affects every key of that feed range
+    public boolean[] getOverlappingFeedRanges(FeedRange feedRange) {
+        return getOverlappingRanges(this.ranges, feedRange);
+    }
+
+    // flags the ranges which overlap the feed range, rejects feed ranges which are not effective partition key ranges
+    public static boolean[] getOverlappingRanges(List<Range<String>> ranges, FeedRange feedRange) {
+        Range<String> range = toRange(feedRange);
+        boolean[] overlapping = new boolean[ranges.size()];
+
+        for (int i = 0; i < ranges.size(); i++) {
+            overlapping[i] = Range.checkOverlapping(ranges.get(i), range);
+        }
+
+        return overlapping;
+    }
+
+    public int getFeedRangeCount() {
+        return this.ranges.size();
+    }
+
+    public int getKeyCount() {
+        return this.feedRangeIndexByKeyIndex.length;
+    }
+
+    public int getFeedRangeIndex(int keyIndex) {
+        return this.feedRangeIndexByKeyIndex[keyIndex];
+    }
+
+    public String getFeedRangeLabel(int keyIndex) {
+        return this.feedRangeLabels[this.feedRangeIndexByKeyIndex[keyIndex]];
+    }
+
+    public boolean isFaulted(int keyIndex) {
+        return this.isFaultedByFeedRangeIndex[this.feedRangeIndexByKeyIndex[keyIndex]];
+    }
+
+    public String getPartitionHealth(int keyIndex) {
+        return isFaulted(keyIndex) ? FAULTED : HEALTHY;
+    }
+
+    public Range<String> getRange(int feedRangeIndex) {
+        return this.ranges.get(feedRangeIndex);
+    }
+
+    public String getLabel(int feedRangeIndex) {
+        return this.feedRangeLabels[feedRangeIndex];
+    }
+
+    public boolean isFaultedRange(int feedRangeIndex) {
+        return this.isFaultedByFeedRangeIndex[feedRangeIndex];
+    }
+
+    // indices of all keys which belong to faulted (or healthy) feed ranges
+    public int[] getKeyIndices(boolean isFaulted) {
+        boolean[] isFaultedByFeedRangeIndex = this.isFaultedByFeedRangeIndex;
+
+        return IntStream
+                .range(0, this.feedRangeIndexByKeyIndex.length)
+                .filter(keyIndex -> isFaultedByFeedRangeIndex[this.feedRangeIndexByKeyIndex[keyIndex]] == isFaulted)
+                .toArray();
+    }
+
+    // ranges are sorted, contiguous, min inclusive and max exclusive
+    private static int findFeedRangeIndex(String[] minEffectivePartitionKeys, String effectivePartitionKey) {
+        int low = 0;
+        int high = minEffectivePartitionKeys.length - 1;
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (minEffectivePartitionKeys[mid].compareTo(effectivePartitionKey) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return low;
+    }
+}
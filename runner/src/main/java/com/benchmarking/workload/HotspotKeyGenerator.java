@@ -0,0 +1,39 @@
+package com.benchmarking.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// A hotspotOperationFraction share of the operations targets the first hotspotKeyFraction share of the keys,
+// the remaining operations are spread uniformly across the remaining keys.
+public class HotspotKeyGenerator implements KeyGenerator {
+
+    private final int keyCount;
+
+    private final int hotKeyCount;
+
+    private final double hotspotOperationFraction;
+
+    public HotspotKeyGenerator(int keyCount, double hotspotKeyFraction, double hotspotOperationFraction) {
+        if (hotspotKeyFraction <= 0 || hotspotKeyFraction > 1) {
+            throw new IllegalArgumentException("hotspotKeyFraction should be in (0, 1].");
+        }
+
+        if (hotspotOperationFraction < 0 || hotspotOperationFraction > 1) {
+            throw new IllegalArgumentException("hotspotOperationFraction should be in [0, 1].");
+        }
+
+        this.keyCount = keyCount;
+        this.hotKeyCount = Math.max(1, (int) (keyCount * hotspotKeyFraction));
+        this.hotspotOperationFraction = hotspotOperationFraction;
+    }
+
+    @Override
+    public int nextKeyIndex(long sequenceNumber) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (this.hotKeyCount == this.keyCount || random.nextDouble() < this.hotspotOperationFraction) {
+            return random.nextInt(this.hotKeyCount);
+        }
+
+        return this.hotKeyCount + random.nextInt(this.keyCount - this.hotKeyCount);
+    }
+}
@@ -0,0 +1,8 @@
+package com.benchmarking.workload;
+
+public enum KeyDistribution {
+    UNIFORM,
+    ZIPFIAN,
+    HOTSPOT,
+    SEQUENTIAL
+}
@@ -0,0 +1,8 @@
+package com.benchmarking.workload;
+
+// Selects the index of the key an operation targets. Implementations must be safe to call from many
+// threads concurrently and must not allocate.
+public interface KeyGenerator {
+
+    int nextKeyIndex(long sequenceNumber);
+}
@@ -0,0 +1,38 @@
+package com.benchmarking.workload;
+
+import com.azure.cosmos.models.PartitionKey;
+
+// Ids and partition keys of all pre-created items, built once so that issuing an operation does not
+// allocate a String and a PartitionKey. Item ids are 1-based, the item at index i has id i + 1.
+public class KeyPool {
+
+    private final String[] ids;
+
+    private final PartitionKey[] partitionKeys;
+
+    public KeyPool(int keyCount) {
+        if (keyCount <= 0) {
+            throw new IllegalArgumentException("keyCount should be greater than zero.");
+        }
+
+        this.ids = new String[keyCount];
+        this.partitionKeys = new PartitionKey[keyCount];
+
+        for (int i = 0; i < keyCount; i++) {
+            this.ids[i] = String.valueOf(i + 1);
+            this.partitionKeys[i] = new PartitionKey(this.ids[i]);
+        }
+    }
+
+    public int size() {
+        return this.ids.length;
+    }
+
+    public String getId(int keyIndex) {
+        return this.ids[keyIndex];
+    }
+
+    public PartitionKey getPartitionKey(int keyIndex) {
+        return this.partitionKeys[keyIndex];
+    }
+}
@@ -0,0 +1,9 @@
+package com.benchmarking.workload;
+
+public enum KeySubset {
+    ALL,
+    // only keys owned by feed ranges targeted by a fault payload
+    FAULTED,
+    // only keys owned by feed ranges which are not targeted by any fault payload
+    HEALTHY
+}
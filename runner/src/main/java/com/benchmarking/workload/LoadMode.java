@@ -0,0 +1,8 @@
+package com.benchmarking.workload;
+
+public enum LoadMode {
+    // the next operation is issued once capacity frees up, a stalled operation delays the ones behind it
+    CLOSED_LOOP,
+    // operations are issued on a fixed intended-start schedule and latency is measured from that schedule
+    OPEN_LOOP
+}
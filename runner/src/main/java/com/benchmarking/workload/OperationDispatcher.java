@@ -0,0 +1,270 @@
+package com.benchmarking.workload;
+
+import com.azure.cosmos.models.PartitionKey;
+import com.benchmarking.diagnostics.DiagnosticsCollector;
+import com.benchmarking.metrics.AvailabilityStrategyAnalyzer;
+import com.benchmarking.metrics.CircuitBreakerAnalyzer;
+import com.benchmarking.metrics.LatencyRecorder;
+import com.benchmarking.metrics.RegionTrafficCounters;
+import com.benchmarking.scenario.PhaseTracker;
+import com.benchmarking.target.OperationOutcome;
+import com.benchmarking.target.WorkloadTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Issues a single workload operation and accounts for its outcome, shared by all workload engines.
+// The operation type is drawn from the configured WorkloadMix and every type has its own success / failure
+// counts and request charge. Operations are issued against a WorkloadTarget, a live or a simulated container.
+public class OperationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationDispatcher.class);
+
+    public static final long UNSCHEDULED = Long.MIN_VALUE;
+
+    private static final String UNKNOWN = "unknown";
+
+    private final WorkloadTarget workloadTarget;
+
+    private final WorkloadMix workloadMix;
+
+    private final KeyPool keyPool;
+
+    private final KeyGenerator keyGenerator;
+
+    private final FeedRangeRoutingCache feedRangeRoutingCache;
+
+    private final LatencyRecorder latencyRecorder;
+
+    private final LatencyRecorder correctedLatencyRecorder;
+
+    private final CircuitBreakerAnalyzer circuitBreakerAnalyzer;
+
+    private final DiagnosticsCollector diagnosticsCollector;
+
+    // null without the availability strategy
+    private final AvailabilityStrategyAnalyzer availabilityStrategyAnalyzer;
+
+    private final RegionTrafficCounters regionTrafficCounters;
+
+    private final PhaseTracker phaseTracker;
+
+    private final AtomicBoolean isStopped;
+
+    private final AtomicInteger inFlightOperations = new AtomicInteger(0);
+
+    private final OperationStatistics[] operationStatistics = new OperationStatistics[OperationType.values().length];
+
+    public OperationDispatcher(
+            WorkloadTarget workloadTarget,
+            WorkloadMix workloadMix,
+            KeyPool keyPool,
+            KeyGenerator keyGenerator,
+            FeedRangeRoutingCache feedRangeRoutingCache,
+            LatencyRecorder latencyRecorder,
+            LatencyRecorder correctedLatencyRecorder,
+            CircuitBreakerAnalyzer circuitBreakerAnalyzer,
+            DiagnosticsCollector diagnosticsCollector,
+            AvailabilityStrategyAnalyzer availabilityStrategyAnalyzer,
+            RegionTrafficCounters regionTrafficCounters,
+            PhaseTracker phaseTracker,
+            AtomicBoolean isStopped) {
+
+        this.workloadTarget = workloadTarget;
+        this.workloadMix = workloadMix;
+        this.keyPool = keyPool;
+        this.keyGenerator = keyGenerator;
+        this.feedRangeRoutingCache = feedRangeRoutingCache;
+        this.latencyRecorder = latencyRecorder;
+        this.correctedLatencyRecorder = correctedLatencyRecorder;
+        this.circuitBreakerAnalyzer = circuitBreakerAnalyzer;
+        this.diagnosticsCollector = diagnosticsCollector;
+        this.availabilityStrategyAnalyzer = availabilityStrategyAnalyzer;
+        this.regionTrafficCounters = regionTrafficCounters;
+        this.phaseTracker = phaseTracker;
+        this.isStopped = isStopped;
+
+        for (OperationType operationType : OperationType.values()) {
+            this.operationStatistics[operationType.ordinal()] = new OperationStatistics();
+        }
+    }
+
+    // the returned Mono never errors, failures are accounted for and swallowed
+    public Mono<Void> execute(long sequenceNumber) {
+        return execute(sequenceNumber, UNSCHEDULED);
+    }
+
+    // when an intended start time is known, latency is additionally recorded from that time so that
+    // time spent waiting behind stalled operations is not omitted
+    public Mono<Void> execute(long sequenceNumber, long intendedStartTimeInNanos) {
+        String phase = this.phaseTracker.getCurrentPhase();
+        OperationType operationType = this.workloadMix.next();
+        OperationStatistics statistics = this.operationStatistics[operationType.ordinal()];
+        int keyIndex = this.keyGenerator.nextKeyIndex(sequenceNumber);
+        String id = this.keyPool.getId(keyIndex);
+        PartitionKey partitionKey = this.keyPool.getPartitionKey(keyIndex);
+
+        return Mono.defer(() -> {
+            long startTimeInNanos = System.nanoTime();
+            this.inFlightOperations.incrementAndGet();
+
+            return this.workloadTarget.execute(operationType, id, partitionKey)
+                    .doOnNext(outcome -> {
+                        if (outcome.isSuccess()) {
+                            statistics.successfulOperations.increment();
+                        } else {
+                            statistics.failedOperations.increment();
+                        }
+
+                        // diagnostics are captured off the request path, see DiagnosticsCollector
+                        onOperationCompleted(phase, operationType, keyIndex, outcome, startTimeInNanos, intendedStartTimeInNanos);
+                    })
+                    .then()
+                    .onErrorResume(throwable -> {
+                        statistics.failedOperations.increment();
+
+                        logger.error("Unexpected error in workload, stopping.", throwable);
+                        this.isStopped.compareAndSet(false, true);
+                        return Mono.empty();
+                    })
+                    .doFinally(ignore -> this.inFlightOperations.decrementAndGet());
+        });
+    }
+
+    public int getInFlightOperationCount() {
+        return this.inFlightOperations.get();
+    }
+
+    public long getSuccessfulOperationCount() {
+        long count = 0;
+
+        for (OperationStatistics statistics : this.operationStatistics) {
+            count += statistics.successfulOperations.sum();
+        }
+
+        return count;
+    }
+
+    public long getFailedOperationCount() {
+        long count = 0;
+
+        for (OperationStatistics statistics : this.operationStatistics) {
+            count += statistics.failedOperations.sum();
+        }
+
+        return count;
+    }
+
+    public long getSuccessfulOperationCount(OperationType operationType) {
+        return this.operationStatistics[operationType.ordinal()].successfulOperations.sum();
+    }
+
+    public long getFailedOperationCount(OperationType operationType) {
+        return this.operationStatistics[operationType.ordinal()].failedOperations.sum();
+    }
+
+    public double getRequestCharge(OperationType operationType) {
+        return this.operationStatistics[operationType.ordinal()].requestCharge.sum();
+    }
+
+    // operations completing concurrently may be counted before or after the reset
+    public void resetStatistics() {
+        for (OperationStatistics statistics : this.operationStatistics) {
+            statistics.successfulOperations.reset();
+            statistics.failedOperations.reset();
+            statistics.requestCharge.reset();
+        }
+    }
+
+    public void logStatistics() {
+        for (OperationType operationType : OperationType.values()) {
+            OperationStatistics statistics = this.operationStatistics[operationType.ordinal()];
+            long successfulOperations = statistics.successfulOperations.sum();
+            long failedOperations = statistics.failedOperations.sum();
+
+            if (successfulOperations + failedOperations == 0) {
+                continue;
+            }
+
+            logger.info("  {} - successful : {}, failed : {}, request charge (RU) : {}",
+                    operationType,
+                    successfulOperations,
+                    failedOperations,
+                    String.format("%.2f", statistics.requestCharge.sum()));
+        }
+    }
+
+    private void onOperationCompleted(
+            String phase,
+            OperationType operationType,
+            int keyIndex,
+            OperationOutcome outcome,
+            long startTimeInNanos,
+            long intendedStartTimeInNanos) {
+
+        long endTimeInNanos = System.nanoTime();
+
+        Set<String> contactedRegionNames = outcome.getContactedRegionNames();
+        String region = getContactedRegions(contactedRegionNames);
+        String feedRange = this.feedRangeRoutingCache.getFeedRangeLabel(keyIndex);
+        String partitionHealth = this.feedRangeRoutingCache.getPartitionHealth(keyIndex);
+        int statusCode = outcome.getStatusCode();
+        int subStatusCode = outcome.getSubStatusCode();
+
+        this.latencyRecorder.record(phase, operationType.name(), region, feedRange, partitionHealth, statusCode, subStatusCode, endTimeInNanos - startTimeInNanos);
+
+        if (this.correctedLatencyRecorder != null && intendedStartTimeInNanos != UNSCHEDULED) {
+            this.correctedLatencyRecorder.record(phase, operationType.name(), region, feedRange, partitionHealth, statusCode, subStatusCode, endTimeInNanos - intendedStartTimeInNanos);
+        }
+
+        this.operationStatistics[operationType.ordinal()].requestCharge.add(outcome.getRequestCharge());
+
+        if (this.availabilityStrategyAnalyzer != null) {
+            this.availabilityStrategyAnalyzer.onOperationCompleted(
+                    phase,
+                    operationType.name(),
+                    outcome.isAvailabilityStrategyApplied(),
+                    outcome.getHedgedRequestCount(),
+                    outcome.getRequestCharge(),
+                    endTimeInNanos - startTimeInNanos);
+        }
+
+        if (contactedRegionNames != null) {
+            this.circuitBreakerAnalyzer.onOperationCompleted(keyIndex, contactedRegionNames, outcome.isSuccess());
+            this.regionTrafficCounters.record(keyIndex, contactedRegionNames, outcome.isSuccess());
+        }
+
+        if (outcome.getDiagnosticsContext() != null) {
+            this.diagnosticsCollector.onOperationCompleted(phase, operationType.name(), keyIndex, outcome.getDiagnosticsContext(), outcome.isSuccess(), endTimeInNanos - startTimeInNanos);
+        }
+    }
+
+    // an operation which failed over contacts more than one region, such operations get their own series
+    private static String getContactedRegions(Set<String> contactedRegionNames) {
+        if (contactedRegionNames == null || contactedRegionNames.isEmpty()) {
+            return UNKNOWN;
+        }
+
+        if (contactedRegionNames.size() == 1) {
+            return contactedRegionNames.iterator().next();
+        }
+
+        return String.join("+", new TreeSet<>(contactedRegionNames));
+    }
+
+    private static final class OperationStatistics {
+
+        private final LongAdder successfulOperations = new LongAdder();
+
+        private final LongAdder failedOperations = new LongAdder();
+
+        private final DoubleAdder requestCharge = new DoubleAdder();
+    }
+}
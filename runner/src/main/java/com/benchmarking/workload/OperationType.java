@@ -0,0 +1,8 @@
+package com.benchmarking.workload;
+
+public enum OperationType {
+    READ,
+    UPSERT,
+    PATCH,
+    QUERY
+}
@@ -0,0 +1,209 @@
+package com.benchmarking.workload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Drives operations through a single non-blocking pipeline.
+//  - operations are issued on a parallel scheduler worker rather than on the pacing thread, so that the engines
+//    of several clients and containers do not issue their operations one after the other on a single thread
+//  - the offered load is paced in fixed ticks so that a target ops/sec rate is kept steady, the rate can be
+//    changed while the workload is running
+//  - at most maxInFlightOperations operations are outstanding at any point in time
+//  - in closed-loop mode, ticks which arrive while the pipeline is saturated are dropped and counted
+//  - in open-loop mode, every operation has an intended start time on a fixed schedule, operations
+//    which could not be issued on time are issued as soon as capacity frees up and their latency is
+//    measured from the intended start time
+public class ReactiveWorkloadEngine implements WorkloadEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveWorkloadEngine.class);
+
+    private static final int PACING_TICKS_PER_SECOND = 100;
+
+    // daemon, must not keep the JVM alive once the run has ended, shared by all engines and only emits ticks
+    private static final Scheduler PACING_SCHEDULER = Schedulers.newSingle("workload-pacer", true);
+
+    // a prefetch of one keeps ticks from queueing up in front of a saturated pipeline, they are dropped instead
+    private static final int ISSUING_PREFETCH = 1;
+
+    private final OperationDispatcher operationDispatcher;
+
+    private final AtomicBoolean isStopped;
+
+    private final int maxInFlightOperations;
+
+    private final boolean isRateBounded;
+
+    private volatile int targetOperationsPerSecond;
+
+    private final LoadMode loadMode;
+
+    private final LongAdder droppedTicks = new LongAdder();
+
+    private final LongAdder issuedOperations = new LongAdder();
+
+    // only written from the pacing pipeline
+    private volatile long scheduledOperations;
+
+    // only accessed from the pacing pipeline
+    private double nextIntendedStartTimeInNanos;
+
+    // only accessed from the pacing pipeline
+    private double pendingOperations;
+
+    // only accessed from the serialized flatMap mapper
+    private long nextSequenceNumber;
+
+    private Disposable workload;
+
+    public ReactiveWorkloadEngine(
+            OperationDispatcher operationDispatcher,
+            int maxInFlightOperations,
+            int targetOperationsPerSecond,
+            LoadMode loadMode,
+            AtomicBoolean isStopped) {
+
+        if (maxInFlightOperations <= 0) {
+            throw new IllegalArgumentException("maxInFlightOperations should be greater than zero.");
+        }
+
+        if (loadMode == LoadMode.OPEN_LOOP && targetOperationsPerSecond <= 0) {
+            throw new IllegalArgumentException("An open-loop workload requires a positive targetOperationsPerSecond.");
+        }
+
+        this.operationDispatcher = operationDispatcher;
+        this.maxInFlightOperations = maxInFlightOperations;
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+        this.isRateBounded = targetOperationsPerSecond > 0;
+        this.loadMode = loadMode;
+        this.isStopped = isStopped;
+    }
+
+    @Override
+    public void start() {
+        logger.info("Starting {} reactive workload with target ops/sec : {} and max in-flight operations : {}",
+                this.loadMode,
+                this.targetOperationsPerSecond > 0 ? this.targetOperationsPerSecond : "unbounded",
+                this.maxInFlightOperations);
+
+        if (this.loadMode == LoadMode.OPEN_LOOP) {
+            this.nextIntendedStartTimeInNanos = System.nanoTime();
+            this.workload = openLoopIntendedStartTimes()
+                    .takeWhile(ignore -> !this.isStopped.get())
+                    .publishOn(Schedulers.parallel(), ISSUING_PREFETCH)
+                    .flatMap(this::issueAt, this.maxInFlightOperations, 1)
+                    .subscribe();
+        } else {
+            this.workload = closedLoopOperationSequence()
+                    .takeWhile(ignore -> !this.isStopped.get())
+                    .publishOn(Schedulers.parallel(), ISSUING_PREFETCH)
+                    .flatMap(this::issue, this.maxInFlightOperations, 1)
+                    .subscribe();
+        }
+    }
+
+    @Override
+    public void setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+        if (targetOperationsPerSecond <= 0) {
+            throw new IllegalArgumentException("targetOperationsPerSecond should be greater than zero.");
+        }
+
+        if (!this.isRateBounded) {
+            logger.warn("Ignoring target ops/sec change to {} - the workload was started with an unbounded rate.",
+                    targetOperationsPerSecond);
+            return;
+        }
+
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+    }
+
+    @Override
+    public int getTargetOperationsPerSecond() {
+        return this.targetOperationsPerSecond;
+    }
+
+    @Override
+    public void stop() {
+        if (this.workload != null) {
+            this.workload.dispose();
+        }
+    }
+
+    @Override
+    public void logStatistics() {
+        if (this.loadMode == LoadMode.OPEN_LOOP) {
+            logger.info("Reactive workload - operations behind schedule : {}",
+                    Math.max(0, this.scheduledOperations - this.issuedOperations.sum()));
+        } else {
+            logger.info("Reactive workload - dropped pacing ticks : {}", this.droppedTicks.sum());
+        }
+    }
+
+    private Mono<Void> issue(long sequenceNumber) {
+        this.issuedOperations.increment();
+        return this.operationDispatcher.execute(sequenceNumber);
+    }
+
+    private Mono<Void> issueAt(long intendedStartTimeInNanos) {
+        this.issuedOperations.increment();
+        return this.operationDispatcher.execute(this.nextSequenceNumber++, intendedStartTimeInNanos);
+    }
+
+    // a tick releases every operation whose intended start time has passed, so a tick which was dropped
+    // or delayed while the pipeline was saturated does not lose operations - the intended start times
+    // are spaced by the rate in effect when they are released, so a rate change applies from the next tick
+    private Flux<Long> openLoopIntendedStartTimes() {
+        return Flux.interval(Duration.ZERO, Duration.ofNanos(1_000_000_000L / PACING_TICKS_PER_SECOND), PACING_SCHEDULER)
+                .onBackpressureDrop(ignore -> this.droppedTicks.increment())
+                .concatMap(ignore -> {
+                    long now = System.nanoTime();
+                    double intervalInNanos = 1_000_000_000d / this.targetOperationsPerSecond;
+                    double first = this.nextIntendedStartTimeInNanos;
+
+                    if (first > now) {
+                        return Flux.empty();
+                    }
+
+                    int count = (int) ((now - first) / intervalInNanos) + 1;
+
+                    this.nextIntendedStartTimeInNanos = first + count * intervalInNanos;
+                    this.scheduledOperations += count;
+
+                    return Flux.range(0, count).map(offset -> (long) (first + offset * intervalInNanos));
+                }, 1);
+    }
+
+    private Flux<Long> closedLoopOperationSequence() {
+
+        if (!this.isRateBounded) {
+            return Flux.generate(() -> 0L, (sequenceNumber, sink) -> {
+                sink.next(sequenceNumber);
+                return sequenceNumber + 1;
+            });
+        }
+
+        // spread the rate across ticks without losing the remainder, e.g. 150 ops/sec at 100 ticks/sec
+        // alternates between 1 and 2 operations per tick
+        return Flux.interval(Duration.ofNanos(1_000_000_000L / PACING_TICKS_PER_SECOND), PACING_SCHEDULER)
+                .onBackpressureDrop(ignore -> this.droppedTicks.increment())
+                .concatMap(tick -> {
+                    this.pendingOperations += (double) this.targetOperationsPerSecond / PACING_TICKS_PER_SECOND;
+
+                    int count = (int) this.pendingOperations;
+                    long start = this.scheduledOperations;
+
+                    this.pendingOperations -= count;
+                    this.scheduledOperations += count;
+
+                    return Flux.range(0, count).map(offset -> start + offset);
+                }, 1);
+    }
+}
@@ -0,0 +1,15 @@
+package com.benchmarking.workload;
+
+public class SequentialKeyGenerator implements KeyGenerator {
+
+    private final int keyCount;
+
+    public SequentialKeyGenerator(int keyCount) {
+        this.keyCount = keyCount;
+    }
+
+    @Override
+    public int nextKeyIndex(long sequenceNumber) {
+        return (int) (sequenceNumber % this.keyCount);
+    }
+}
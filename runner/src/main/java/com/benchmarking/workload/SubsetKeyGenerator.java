@@ -0,0 +1,20 @@
+package com.benchmarking.workload;
+
+// Restricts another generator to a subset of the key space, the wrapped generator samples positions
+// within the subset.
+public class SubsetKeyGenerator implements KeyGenerator {
+
+    private final KeyGenerator keyGenerator;
+
+    private final int[] keyIndices;
+
+    public SubsetKeyGenerator(KeyGenerator keyGenerator, int[] keyIndices) {
+        this.keyGenerator = keyGenerator;
+        this.keyIndices = keyIndices;
+    }
+
+    @Override
+    public int nextKeyIndex(long sequenceNumber) {
+        return this.keyIndices[this.keyGenerator.nextKeyIndex(sequenceNumber)];
+    }
+}
@@ -0,0 +1,281 @@
+package com.benchmarking.workload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Runs each logical task as an independent blocking caller with its own thread, either a platform
+// thread or a virtual thread. Every caller paces itself at its share of the target ops/sec rate and keeps
+// its own statistics so that per-worker throughput and latency can be reported. In open-loop mode a caller
+// which fell behind its schedule issues the overdue operations back to back and their latency is measured
+// from the intended start time.
+public class ThreadedWorkloadEngine implements WorkloadEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadedWorkloadEngine.class);
+
+    private static final long WORKER_TERMINATION_TIMEOUT_IN_SECONDS = 30;
+
+    private final OperationDispatcher operationDispatcher;
+
+    private final WorkerMode workerMode;
+
+    private final int workerCount;
+
+    private final boolean isRateBounded;
+
+    private volatile int targetOperationsPerSecond;
+
+    private final LoadMode loadMode;
+
+    private final AtomicBoolean isStopped;
+
+    private final WorkerStatistics[] workerStatistics;
+
+    private final long[] operationCountsAtLastLog;
+
+    private long lastLogTimeInNanos;
+
+    private long startTimeInNanos;
+
+    private ExecutorService executorService;
+
+    public ThreadedWorkloadEngine(
+            OperationDispatcher operationDispatcher,
+            WorkerMode workerMode,
+            int workerCount,
+            int targetOperationsPerSecond,
+            LoadMode loadMode,
+            AtomicBoolean isStopped) {
+
+        if (workerMode == WorkerMode.REACTIVE) {
+            throw new IllegalArgumentException("ThreadedWorkloadEngine requires a thread based worker mode.");
+        }
+
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workerCount should be greater than zero.");
+        }
+
+        if (loadMode == LoadMode.OPEN_LOOP && targetOperationsPerSecond <= 0) {
+            throw new IllegalArgumentException("An open-loop workload requires a positive targetOperationsPerSecond.");
+        }
+
+        this.operationDispatcher = operationDispatcher;
+        this.workerMode = workerMode;
+        this.workerCount = workerCount;
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+        this.isRateBounded = targetOperationsPerSecond > 0;
+        this.loadMode = loadMode;
+        this.isStopped = isStopped;
+        this.workerStatistics = new WorkerStatistics[workerCount];
+        this.operationCountsAtLastLog = new long[workerCount];
+
+        for (int i = 0; i < workerCount; i++) {
+            this.workerStatistics[i] = new WorkerStatistics();
+        }
+    }
+
+    @Override
+    public void start() {
+        this.executorService = buildExecutorService();
+
+        logger.info("Starting {} {} workers in mode : {} with target ops/sec : {}",
+                this.workerCount,
+                this.loadMode,
+                this.workerMode,
+                this.targetOperationsPerSecond > 0 ? this.targetOperationsPerSecond : "unbounded");
+
+        this.startTimeInNanos = System.nanoTime();
+        this.lastLogTimeInNanos = this.startTimeInNanos;
+
+        for (int i = 0; i < this.workerCount; i++) {
+            int workerIndex = i;
+            this.executorService.submit(() -> runWorker(workerIndex));
+        }
+    }
+
+    @Override
+    public void setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+        if (targetOperationsPerSecond <= 0) {
+            throw new IllegalArgumentException("targetOperationsPerSecond should be greater than zero.");
+        }
+
+        if (!this.isRateBounded) {
+            logger.warn("Ignoring target ops/sec change to {} - the workers were started with an unbounded rate.",
+                    targetOperationsPerSecond);
+            return;
+        }
+
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+    }
+
+    @Override
+    public int getTargetOperationsPerSecond() {
+        return this.targetOperationsPerSecond;
+    }
+
+    @Override
+    public void stop() {
+        if (this.executorService == null) {
+            return;
+        }
+
+        this.executorService.shutdownNow();
+
+        try {
+            if (!this.executorService.awaitTermination(WORKER_TERMINATION_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Workers did not terminate within {} seconds.", WORKER_TERMINATION_TIMEOUT_IN_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        double elapsedInSeconds = (System.nanoTime() - this.startTimeInNanos) / 1_000_000_000d;
+
+        for (int i = 0; i < this.workerCount; i++) {
+            WorkerStatistics statistics = this.workerStatistics[i];
+            long operationCount = statistics.operationCount;
+
+            logger.info("Worker {} - operations : {}, ops/sec : {}, mean latency (ms) : {}, max latency (ms) : {}",
+                    i,
+                    operationCount,
+                    String.format("%.2f", operationCount / elapsedInSeconds),
+                    String.format("%.3f", operationCount == 0 ? 0d : statistics.totalLatencyInNanos / (operationCount * 1_000_000d)),
+                    String.format("%.3f", statistics.maxLatencyInNanos / 1_000_000d));
+        }
+    }
+
+    @Override
+    public void logStatistics() {
+        long now = System.nanoTime();
+        double elapsedInSeconds = (now - this.lastLogTimeInNanos) / 1_000_000_000d;
+        double[] operationRates = new double[this.workerCount];
+        int activeWorkerCount = 0;
+
+        for (int i = 0; i < this.workerCount; i++) {
+            long operationCount = this.workerStatistics[i].operationCount;
+            long delta = operationCount - this.operationCountsAtLastLog[i];
+
+            operationRates[i] = delta / elapsedInSeconds;
+            this.operationCountsAtLastLog[i] = operationCount;
+
+            if (delta > 0) {
+                activeWorkerCount++;
+            }
+        }
+
+        this.lastLogTimeInNanos = now;
+
+        Arrays.sort(operationRates);
+
+        logger.info("Threaded workload - active workers : {}/{}, per-worker ops/sec min : {}, median : {}, max : {}",
+                activeWorkerCount,
+                this.workerCount,
+                String.format("%.2f", operationRates[0]),
+                String.format("%.2f", operationRates[operationRates.length / 2]),
+                String.format("%.2f", operationRates[operationRates.length - 1]));
+    }
+
+    private void runWorker(int workerIndex) {
+        WorkerStatistics statistics = this.workerStatistics[workerIndex];
+
+        boolean isOpenLoop = this.loadMode == LoadMode.OPEN_LOOP;
+        long sequenceNumber = workerIndex;
+        long nextStartTimeInNanos = System.nanoTime();
+
+        try {
+            while (!this.isStopped.get() && !Thread.currentThread().isInterrupted()) {
+                long operationStartTimeInNanos = System.nanoTime();
+
+                if (isOpenLoop) {
+                    this.operationDispatcher.execute(sequenceNumber, nextStartTimeInNanos).block();
+                } else {
+                    this.operationDispatcher.execute(sequenceNumber).block();
+                }
+
+                statistics.record(System.nanoTime() - operationStartTimeInNanos);
+                sequenceNumber += this.workerCount;
+
+                if (this.isRateBounded) {
+                    // every worker owns its share of the target rate, re-read so that rate changes apply
+                    nextStartTimeInNanos += (long) (1_000_000_000d * this.workerCount / this.targetOperationsPerSecond);
+
+                    long now = System.nanoTime();
+
+                    // a closed-loop caller which fell behind does not try to catch up with a burst
+                    if (!isOpenLoop && nextStartTimeInNanos < now) {
+                        nextStartTimeInNanos = now;
+                    }
+
+                    while (now < nextStartTimeInNanos && !Thread.currentThread().isInterrupted()) {
+                        LockSupport.parkNanos(nextStartTimeInNanos - now);
+                        now = System.nanoTime();
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!this.isStopped.get() && !Thread.currentThread().isInterrupted()) {
+                logger.error("Worker {} terminated unexpectedly.", workerIndex, e);
+            }
+        }
+    }
+
+    private ExecutorService buildExecutorService() {
+
+        if (this.workerMode == WorkerMode.VIRTUAL_THREADS) {
+            ExecutorService virtualThreadPerTaskExecutor = newVirtualThreadPerTaskExecutor();
+
+            if (virtualThreadPerTaskExecutor != null) {
+                return virtualThreadPerTaskExecutor;
+            }
+
+            logger.warn("Virtual threads require JDK 21+, running on {}. Falling back to platform threads.",
+                    System.getProperty("java.version"));
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+
+        return Executors.newFixedThreadPool(this.workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "workload-worker-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // the project compiles against JDK 17 so the JDK 21 factory is looked up reflectively
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    // written by the owning worker only, read by the statistics logger
+    private static final class WorkerStatistics {
+
+        private volatile long operationCount;
+
+        private volatile long totalLatencyInNanos;
+
+        private volatile long maxLatencyInNanos;
+
+        private void record(long latencyInNanos) {
+            this.totalLatencyInNanos += latencyInNanos;
+
+            if (latencyInNanos > this.maxLatencyInNanos) {
+                this.maxLatencyInNanos = latencyInNanos;
+            }
+
+            this.operationCount++;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.benchmarking.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class UniformKeyGenerator implements KeyGenerator {
+
+    private final int keyCount;
+
+    public UniformKeyGenerator(int keyCount) {
+        this.keyCount = keyCount;
+    }
+
+    @Override
+    public int nextKeyIndex(long sequenceNumber) {
+        return ThreadLocalRandom.current().nextInt(this.keyCount);
+    }
+}
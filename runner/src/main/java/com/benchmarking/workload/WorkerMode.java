@@ -0,0 +1,10 @@
+package com.benchmarking.workload;
+
+public enum WorkerMode {
+    // a single non-blocking pipeline with bounded in-flight operations
+    REACTIVE,
+    // one blocking caller per task, each on its own platform thread
+    PLATFORM_THREADS,
+    // one blocking caller per task, each on its own virtual thread (JDK 21+)
+    VIRTUAL_THREADS
+}
@@ -0,0 +1,15 @@
+package com.benchmarking.workload;
+
+public interface WorkloadEngine {
+
+    void start();
+
+    void stop();
+
+    // takes effect for operations released after the call, used by scenarios to step or ramp the offered load
+    void setTargetOperationsPerSecond(int targetOperationsPerSecond);
+
+    int getTargetOperationsPerSecond();
+
+    void logStatistics();
+}
@@ -0,0 +1,84 @@
+package com.benchmarking.workload;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Weighted operation mix parsed from a spec such as "read=70,upsert=20,patch=5,query=5".
+// Weights are relative and do not have to add up to 100.
+public class WorkloadMix {
+
+    private final OperationType[] operationTypes;
+
+    // cumulativeWeights[i] is the sum of the weights of operationTypes[0..i]
+    private final int[] cumulativeWeights;
+
+    private final Map<OperationType, Integer> weightsByOperationType;
+
+    private WorkloadMix(Map<OperationType, Integer> weightsByOperationType) {
+        this.weightsByOperationType = weightsByOperationType;
+        this.operationTypes = new OperationType[weightsByOperationType.size()];
+        this.cumulativeWeights = new int[weightsByOperationType.size()];
+
+        int index = 0;
+        int cumulativeWeight = 0;
+
+        for (Map.Entry<OperationType, Integer> entry : weightsByOperationType.entrySet()) {
+            cumulativeWeight += entry.getValue();
+            this.operationTypes[index] = entry.getKey();
+            this.cumulativeWeights[index] = cumulativeWeight;
+            index++;
+        }
+    }
+
+    public static WorkloadMix parse(String spec) {
+        Map<OperationType, Integer> weightsByOperationType = new EnumMap<>(OperationType.class);
+
+        for (String entry : spec.split(",")) {
+            String[] operationTypeAndWeight = entry.split("=");
+
+            if (operationTypeAndWeight.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry : " + entry + ", expected <operationType>=<weight>.");
+            }
+
+            OperationType operationType = OperationType.valueOf(operationTypeAndWeight[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(operationTypeAndWeight[1].trim());
+
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid workload mix weight for " + operationType + " : " + weight);
+            }
+
+            if (weight > 0) {
+                weightsByOperationType.merge(operationType, weight, Integer::sum);
+            }
+        }
+
+        if (weightsByOperationType.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix " + spec + " does not contain any operation with a positive weight.");
+        }
+
+        return new WorkloadMix(weightsByOperationType);
+    }
+
+    public OperationType next() {
+        if (this.operationTypes.length == 1) {
+            return this.operationTypes[0];
+        }
+
+        int sample = ThreadLocalRandom.current().nextInt(this.cumulativeWeights[this.cumulativeWeights.length - 1]);
+
+        for (int i = 0; i < this.cumulativeWeights.length; i++) {
+            if (sample < this.cumulativeWeights[i]) {
+                return this.operationTypes[i];
+            }
+        }
+
+        return this.operationTypes[this.operationTypes.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return this.weightsByOperationType.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.benchmarking.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Zipfian sampling as described in "Quickly Generating Billion-Record Synthetic Databases" (Gray et al.),
+// the constants depend on the key count and the skew only and are computed once. Key index 0 is the most
+// popular one, since items are partitioned by a hash of their id the popular keys are still spread across
+// physical partitions.
+public class ZipfianKeyGenerator implements KeyGenerator {
+
+    private final int keyCount;
+
+    private final double alpha;
+
+    private final double zetaN;
+
+    private final double eta;
+
+    private final double halfPowSkew;
+
+    public ZipfianKeyGenerator(int keyCount, double skew) {
+        if (skew <= 0 || skew == 1) {
+            throw new IllegalArgumentException("zipfianSkew should be greater than zero and different from one.");
+        }
+
+        this.keyCount = keyCount;
+
+        double zeta2 = zeta(2, skew);
+
+        this.zetaN = zeta(keyCount, skew);
+        this.alpha = 1d / (1d - skew);
+        this.eta = (1d - Math.pow(2d / keyCount, 1d - skew)) / (1d - zeta2 / this.zetaN);
+        this.halfPowSkew = 1d + Math.pow(0.5d, skew);
+    }
+
+    @Override
+    public int nextKeyIndex(long sequenceNumber) {
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * this.zetaN;
+
+        if (uz < 1d) {
+            return 0;
+        }
+
+        if (uz < this.halfPowSkew) {
+            return Math.min(1, this.keyCount - 1);
+        }
+
+        int keyIndex = (int) (this.keyCount * Math.pow(this.eta * u - this.eta + 1d, this.alpha));
+
+        return Math.min(keyIndex, this.keyCount - 1);
+    }
+
+    private static double zeta(long n, double skew) {
+        double sum = 0;
+
+        for (long i = 1; i <= n; i++) {
+            sum += 1d / Math.pow(i, skew);
+        }
+
+        return sum;
+    }
+}
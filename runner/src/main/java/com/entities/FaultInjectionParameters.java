@@ -2,6 +2,7 @@ package com.entities;
 
 import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionErrorType;
 import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionOperationType;
 import com.azure.cosmos.test.faultinjection.FaultInjectionServerErrorType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JacksonException;
@@ -22,8 +23,12 @@ public class FaultInjectionParameters {
 
     private String region;
 
+    // empty with a feed range selector
     private List<String> base64EncodedFeedRanges;
 
+    // null when the feed ranges are listed
+    private FeedRangeSelector feedRangeSelector;
+
     private FaultInjectionConnectionType connectionType;
 
     private Duration faultInjectionDuration;
@@ -34,6 +39,18 @@ public class FaultInjectionParameters {
 
     private FaultInjectionConnectionErrorType connectionErrorType;
 
+    // null to inject into every matching request, for connection errors the share of connections
+    private Double injectionRate;
+
+    // null without a limit
+    private Integer hitLimit;
+
+    // null for all operation types
+    private List<FaultInjectionOperationType> operationTypes;
+
+    // null for server errors
+    private Duration connectionErrorInterval;
+
     public FaultInjectionParameters() {
     }
 
@@ -53,6 +70,14 @@ public class FaultInjectionParameters {
         this.base64EncodedFeedRanges = base64EncodedFeedRanges;
     }
 
+    public FeedRangeSelector getFeedRangeSelector() {
+        return feedRangeSelector;
+    }
+
+    public void setFeedRangeSelector(FeedRangeSelector feedRangeSelector) {
+        this.feedRangeSelector = feedRangeSelector;
+    }
+
     public FaultInjectionConnectionType getConnectionType() {
         return connectionType;
     }
@@ -92,4 +117,36 @@ public class FaultInjectionParameters {
     public void setConnectionErrorType(FaultInjectionConnectionErrorType connectionErrorType) {
         this.connectionErrorType = connectionErrorType;
     }
+
+    public Double getInjectionRate() {
+        return injectionRate;
+    }
+
+    public void setInjectionRate(Double injectionRate) {
+        this.injectionRate = injectionRate;
+    }
+
+    public Integer getHitLimit() {
+        return hitLimit;
+    }
+
+    public void setHitLimit(Integer hitLimit) {
+        this.hitLimit = hitLimit;
+    }
+
+    public List<FaultInjectionOperationType> getOperationTypes() {
+        return operationTypes;
+    }
+
+    public void setOperationTypes(List<FaultInjectionOperationType> operationTypes) {
+        this.operationTypes = operationTypes;
+    }
+
+    public Duration getConnectionErrorInterval() {
+        return connectionErrorInterval;
+    }
+
+    public void setConnectionErrorInterval(Duration connectionErrorInterval) {
+        this.connectionErrorInterval = connectionErrorInterval;
+    }
 }
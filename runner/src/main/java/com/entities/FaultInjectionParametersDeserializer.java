@@ -0,0 +1,181 @@
+package com.entities;
+
+import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionErrorType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionConnectionType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionOperationType;
+import com.azure.cosmos.test.faultinjection.FaultInjectionServerErrorType;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// A fault lists its "feedRanges" as base64 encoded feed ranges or selects them through a "feedRangeSelector",
+// see FeedRangeSelector. Besides the required fields, a fault may carry
+//  - "delay" : the delay of RESPONSE_DELAY and CONNECTION_DELAY, an ISO-8601 duration
+//  - "injectionRate" : the share of matching requests, or for connection errors of connections, which get the fault
+//  - "hitLimit" : the number of requests after which the fault stops being injected
+//  - "operationTypes" : the FaultInjectionOperationType names the fault is limited to, server errors only
+//  - "connectionErrorInterval" : how often connection errors are injected, PT1S unless given
+public class FaultInjectionParametersDeserializer extends StdDeserializer<FaultInjectionParameters> {
+
+    private static final Duration DEFAULT_CONNECTION_ERROR_INTERVAL = Duration.ofSeconds(1);
+
+    protected FaultInjectionParametersDeserializer(Class<FaultInjectionParameters> vc) {
+        super(vc);
+    }
+
+    public FaultInjectionParametersDeserializer() {
+        super(FaultInjectionParameters.class);
+    }
+
+    @Override
+    public FaultInjectionParameters deserialize(JsonParser p, DeserializationContext ctx) throws IOException, JacksonException {
+
+        JsonNode jsonNode = p.getCodec().readTree(p);
+
+        String region = jsonNode.get("region").asText();
+
+        List<String> feedRanges = new ArrayList<>();
+        FeedRangeSelector feedRangeSelector = null;
+
+        if (jsonNode.has("feedRanges") == jsonNode.has("feedRangeSelector")) {
+            throw new IllegalArgumentException("A fault should either list feedRanges or have a feedRangeSelector.");
+        }
+
+        if (jsonNode.has("feedRangeSelector")) {
+            feedRangeSelector = FeedRangeSelector.parse(jsonNode.get("feedRangeSelector").asText());
+        } else {
+            Iterator<JsonNode> feedRangeIterator = jsonNode.get("feedRanges").elements();
+
+            while (feedRangeIterator.hasNext()) {
+                JsonNode feedRange = feedRangeIterator.next();
+                feedRanges.add(feedRange.asText());
+            }
+        }
+
+        String connectionTypeAsString = jsonNode.get("connectionType").asText();
+        FaultInjectionConnectionType faultInjectionConnectionType = FaultInjectionConnectionType.valueOf(connectionTypeAsString);
+
+        String faultInjectionDurationAsString = jsonNode.get("faultInjectionDuration").asText();
+        String delayAsString = jsonNode.has("delay") ? jsonNode.get("delay").asText() : "-infinite";
+
+        Duration faultInjectionDuration, responseDelayOrConnectionDelay;
+
+        if ("-infinite".equalsIgnoreCase(faultInjectionDurationAsString)) {
+            faultInjectionDuration = Duration.ZERO;
+        } else {
+            faultInjectionDuration = Duration.parse(faultInjectionDurationAsString);
+        }
+
+        if ("-infinite".equalsIgnoreCase(delayAsString)) {
+            responseDelayOrConnectionDelay = Duration.ZERO;
+        } else {
+            responseDelayOrConnectionDelay = Duration.parse(delayAsString);
+        }
+
+        FaultInjectionServerErrorType faultInjectionServerErrorType = null;
+        FaultInjectionConnectionErrorType faultInjectionConnectionErrorType = null;
+
+        boolean isServerError = jsonNode.get("isServerError").asBoolean();
+        String errorType = jsonNode.get("errorType").asText();
+
+        if (isServerError) {
+            faultInjectionServerErrorType = parseErrorType(FaultInjectionServerErrorType.class, errorType);
+
+            boolean isDelay = faultInjectionServerErrorType == FaultInjectionServerErrorType.RESPONSE_DELAY
+                    || faultInjectionServerErrorType == FaultInjectionServerErrorType.CONNECTION_DELAY;
+
+            if (isDelay && responseDelayOrConnectionDelay.isZero()) {
+                throw new IllegalArgumentException("Error type " + errorType + " needs a positive delay.");
+            }
+        } else {
+            // the fault injection library can close or reset connections, it cannot refuse them
+            if ("CONNECTION_REFUSED".equals(errorType)) {
+                throw new UnsupportedOperationException("Unsupported error type: " + errorType + ", use CONNECTION_RESET or CONNECTION_CLOSE.");
+            }
+
+            faultInjectionConnectionErrorType = parseErrorType(FaultInjectionConnectionErrorType.class, errorType);
+        }
+
+        Double injectionRate = null;
+
+        if (jsonNode.has("injectionRate")) {
+            injectionRate = jsonNode.get("injectionRate").asDouble();
+
+            if (injectionRate <= 0 || injectionRate > 1) {
+                throw new IllegalArgumentException("injectionRate should be greater than 0 and at most 1, was " + injectionRate + ".");
+            }
+        }
+
+        Integer hitLimit = null;
+
+        if (jsonNode.has("hitLimit")) {
+            hitLimit = jsonNode.get("hitLimit").asInt();
+
+            if (hitLimit < 1) {
+                throw new IllegalArgumentException("hitLimit should be positive, was " + hitLimit + ".");
+            }
+        }
+
+        List<FaultInjectionOperationType> operationTypes = null;
+
+        if (jsonNode.has("operationTypes")) {
+            if (!isServerError) {
+                throw new IllegalArgumentException("operationTypes only apply to server errors, connection errors affect whole connections.");
+            }
+
+            operationTypes = new ArrayList<>();
+
+            Iterator<JsonNode> operationTypeIterator = jsonNode.get("operationTypes").elements();
+
+            while (operationTypeIterator.hasNext()) {
+                operationTypes.add(FaultInjectionOperationType.valueOf(operationTypeIterator.next().asText()));
+            }
+
+            if (operationTypes.isEmpty()) {
+                throw new IllegalArgumentException("operationTypes should list at least one operation type.");
+            }
+        }
+
+        Duration connectionErrorInterval = null;
+
+        if (!isServerError) {
+            connectionErrorInterval = jsonNode.has("connectionErrorInterval")
+                    ? Duration.parse(jsonNode.get("connectionErrorInterval").asText())
+                    : DEFAULT_CONNECTION_ERROR_INTERVAL;
+        }
+
+        FaultInjectionParameters faultInjectionParameters = new FaultInjectionParameters();
+
+        faultInjectionParameters.setRegion(region);
+        faultInjectionParameters.setBase64EncodedFeedRanges(feedRanges);
+        faultInjectionParameters.setFeedRangeSelector(feedRangeSelector);
+        faultInjectionParameters.setConnectionType(faultInjectionConnectionType);
+        faultInjectionParameters.setFaultInjectionDuration(faultInjectionDuration);
+        faultInjectionParameters.setConnectionOrResponseDelayDuration(responseDelayOrConnectionDelay);
+        faultInjectionParameters.setConnectionErrorType(faultInjectionConnectionErrorType);
+        faultInjectionParameters.setServerErrorType(faultInjectionServerErrorType);
+        faultInjectionParameters.setInjectionRate(injectionRate);
+        faultInjectionParameters.setHitLimit(hitLimit);
+        faultInjectionParameters.setOperationTypes(operationTypes);
+        faultInjectionParameters.setConnectionErrorInterval(connectionErrorInterval);
+
+        return faultInjectionParameters;
+    }
+
+    private static <T extends Enum<T>> T parseErrorType(Class<T> errorTypeClass, String errorType) {
+        try {
+            return Enum.valueOf(errorTypeClass, errorType);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedOperationException("Unsupported error type: " + errorType);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.entities;
+
+import java.util.Locale;
+
+// Selects the physical feed ranges a fault targets instead of listing them, so that a payload does not depend on
+// the partitioning of a container. Resolved against the container's feed ranges when the fault is injected.
+//  - "all" : every feed range
+//  - "random:<k>" : k feed ranges picked at random, all of them if the container has fewer
+//  - "fraction:<x>" : x of the feed ranges picked at random, rounded up, 0 < x <= 1
+//  - "key:<partition key value>" : the feed range owning the logical partition of a string partition key value
+public final class FeedRangeSelector {
+
+    public enum Kind {
+        ALL,
+        RANDOM,
+        FRACTION,
+        KEY
+    }
+
+    private final Kind kind;
+
+    private final int count;
+
+    private final double fraction;
+
+    private final String partitionKeyValue;
+
+    private final String selector;
+
+    private FeedRangeSelector(Kind kind, int count, double fraction, String partitionKeyValue, String selector) {
+        this.kind = kind;
+        this.count = count;
+        this.fraction = fraction;
+        this.partitionKeyValue = partitionKeyValue;
+        this.selector = selector;
+    }
+
+    public static FeedRangeSelector parse(String selector) {
+        String trimmedSelector = selector.trim();
+
+        if ("all".equalsIgnoreCase(trimmedSelector)) {
+            return new FeedRangeSelector(Kind.ALL, 0, 1, null, trimmedSelector);
+        }
+
+        int separatorIndex = trimmedSelector.indexOf(':');
+
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Feed range selector " + selector + " should be all, random:<k>, fraction:<x> or key:<partition key value>.");
+        }
+
+        String kind = trimmedSelector.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT);
+        String argument = trimmedSelector.substring(separatorIndex + 1);
+
+        try {
+            switch (kind) {
+                case "random":
+                    int count = Integer.parseInt(argument.trim());
+
+                    if (count < 1) {
+                        throw new IllegalArgumentException("Feed range selector " + selector + " should pick at least one feed range.");
+                    }
+
+                    return new FeedRangeSelector(Kind.RANDOM, count, 0, null, trimmedSelector);
+                case "fraction":
+                    double fraction = Double.parseDouble(argument.trim());
+
+                    if (fraction <= 0 || fraction > 1) {
+                        throw new IllegalArgumentException("Feed range selector " + selector + " should pick a fraction greater than 0 and at most 1.");
+                    }
+
+                    return new FeedRangeSelector(Kind.FRACTION, 0, fraction, null, trimmedSelector);
+                case "key":
+                    if (argument.isEmpty()) {
+                        throw new IllegalArgumentException("Feed range selector " + selector + " should name a partition key value.");
+                    }
+
+                    // the partition key value is taken as is, it may contain colons and spaces
+                    return new FeedRangeSelector(Kind.KEY, 0, 0, argument, trimmedSelector);
+                default:
+                    throw new IllegalArgumentException("Feed range selector " + selector + " should be all, random:<k>, fraction:<x> or key:<partition key value>.");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Feed range selector " + selector + " has an invalid number.", e);
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getFraction() {
+        return fraction;
+    }
+
+    public String getPartitionKeyValue() {
+        return partitionKeyValue;
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+}
@@ -0,0 +1,33 @@
+package com.entities;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.time.Duration;
+import java.util.List;
+
+@JsonDeserialize(using = ScenarioDeserializer.class)
+public class Scenario {
+
+    private List<ScenarioPhase> phases;
+
+    public Scenario() {
+    }
+
+    public List<ScenarioPhase> getPhases() {
+        return phases;
+    }
+
+    public void setPhases(List<ScenarioPhase> phases) {
+        this.phases = phases;
+    }
+
+    public Duration getTotalDuration() {
+        Duration totalDuration = Duration.ZERO;
+
+        for (ScenarioPhase phase : this.phases) {
+            totalDuration = totalDuration.plus(phase.getDuration());
+        }
+
+        return totalDuration;
+    }
+}
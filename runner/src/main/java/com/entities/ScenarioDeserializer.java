@@ -0,0 +1,118 @@
+package com.entities;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public class ScenarioDeserializer extends StdDeserializer<Scenario> {
+
+    protected ScenarioDeserializer(Class<Scenario> vc) {
+        super(vc);
+    }
+
+    public ScenarioDeserializer() {
+        super(Scenario.class);
+    }
+
+    @Override
+    public Scenario deserialize(JsonParser p, DeserializationContext ctx) throws IOException, JacksonException {
+
+        JsonNode jsonNode = p.getCodec().readTree(p);
+
+        JsonNode phasesNode = jsonNode.get("phases");
+
+        if (phasesNode == null || !phasesNode.isArray() || phasesNode.isEmpty()) {
+            throw new IllegalArgumentException("A scenario requires at least one phase.");
+        }
+
+        List<ScenarioPhase> phases = new ArrayList<>();
+        Set<String> phaseNames = new HashSet<>();
+
+        Iterator<JsonNode> phaseIterator = phasesNode.elements();
+
+        while (phaseIterator.hasNext()) {
+            ScenarioPhase phase = deserializePhase(phaseIterator.next());
+
+            if (!phaseNames.add(phase.getName())) {
+                throw new IllegalArgumentException("Duplicate scenario phase name : " + phase.getName());
+            }
+
+            phases.add(phase);
+        }
+
+        Scenario scenario = new Scenario();
+
+        scenario.setPhases(phases);
+
+        return scenario;
+    }
+
+    private static ScenarioPhase deserializePhase(JsonNode phaseNode) {
+
+        String name = phaseNode.get("name").asText();
+        Duration duration = Duration.parse(phaseNode.get("duration").asText());
+
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Scenario phase " + name + " requires a positive duration.");
+        }
+
+        int targetOperationsPerSecond = phaseNode.has("targetOperationsPerSecond")
+                ? phaseNode.get("targetOperationsPerSecond").asInt()
+                : 0;
+
+        if (targetOperationsPerSecond < 0) {
+            throw new IllegalArgumentException("Scenario phase " + name + " has a negative targetOperationsPerSecond.");
+        }
+
+        boolean isRamp = phaseNode.has("ramp") && phaseNode.get("ramp").asBoolean();
+
+        if (isRamp && targetOperationsPerSecond == 0) {
+            throw new IllegalArgumentException("Scenario phase " + name + " ramps and requires a targetOperationsPerSecond.");
+        }
+
+        List<ScenarioFault> faults = new ArrayList<>();
+
+        if (phaseNode.has("faults")) {
+            Iterator<JsonNode> faultIterator = phaseNode.get("faults").elements();
+
+            while (faultIterator.hasNext()) {
+                JsonNode faultNode = faultIterator.next();
+
+                Duration startOffset = faultNode.has("startOffset")
+                        ? Duration.parse(faultNode.get("startOffset").asText())
+                        : Duration.ZERO;
+
+                if (startOffset.isNegative() || startOffset.compareTo(duration) >= 0) {
+                    throw new IllegalArgumentException("Fault startOffset " + startOffset + " is outside of scenario phase " + name + ".");
+                }
+
+                ScenarioFault fault = new ScenarioFault();
+
+                fault.setFaultInjectionPayloadId(faultNode.get("faultInjectionPayloadId").asText());
+                fault.setStartOffset(startOffset);
+
+                faults.add(fault);
+            }
+        }
+
+        ScenarioPhase phase = new ScenarioPhase();
+
+        phase.setName(name);
+        phase.setDuration(duration);
+        phase.setTargetOperationsPerSecond(targetOperationsPerSecond);
+        phase.setRamp(isRamp);
+        phase.setFaults(faults);
+
+        return phase;
+    }
+}
@@ -0,0 +1,31 @@
+package com.entities;
+
+import java.time.Duration;
+
+public class ScenarioFault {
+
+    // a file in the fault injection payload directory
+    private String faultInjectionPayloadId;
+
+    // relative to the start of the enclosing phase
+    private Duration startOffset;
+
+    public ScenarioFault() {
+    }
+
+    public String getFaultInjectionPayloadId() {
+        return faultInjectionPayloadId;
+    }
+
+    public void setFaultInjectionPayloadId(String faultInjectionPayloadId) {
+        this.faultInjectionPayloadId = faultInjectionPayloadId;
+    }
+
+    public Duration getStartOffset() {
+        return startOffset;
+    }
+
+    public void setStartOffset(Duration startOffset) {
+        this.startOffset = startOffset;
+    }
+}
@@ -0,0 +1,62 @@
+package com.entities;
+
+import java.time.Duration;
+import java.util.List;
+
+public class ScenarioPhase {
+
+    private String name;
+
+    private Duration duration;
+
+    // 0 keeps the rate of the previous phase
+    private int targetOperationsPerSecond;
+
+    // ramp linearly from the rate of the previous phase to targetOperationsPerSecond over the phase
+    private boolean isRamp;
+
+    private List<ScenarioFault> faults;
+
+    public ScenarioPhase() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public int getTargetOperationsPerSecond() {
+        return targetOperationsPerSecond;
+    }
+
+    public void setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+    }
+
+    public boolean isRamp() {
+        return isRamp;
+    }
+
+    public void setRamp(boolean isRamp) {
+        this.isRamp = isRamp;
+    }
+
+    public List<ScenarioFault> getFaults() {
+        return faults;
+    }
+
+    public void setFaults(List<ScenarioFault> faults) {
+        this.faults = faults;
+    }
+}
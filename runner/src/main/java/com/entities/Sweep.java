@@ -0,0 +1,60 @@
+package com.entities;
+
+import java.util.List;
+
+// Every list holds the values a setting takes across the sweep, a missing list keeps the value of the command line.
+public class Sweep {
+
+    private List<Boolean> partitionLevelCircuitBreakerEnabled;
+
+    private List<String> circuitBreakerTypes;
+
+    private List<Integer> consecutiveExceptionCountsToleratedForReads;
+
+    private List<Integer> consecutiveExceptionCountsToleratedForWrites;
+
+    private List<Boolean> thresholdBasedAvailabilityStrategyEnabled;
+
+    public Sweep() {
+    }
+
+    public List<Boolean> getPartitionLevelCircuitBreakerEnabled() {
+        return partitionLevelCircuitBreakerEnabled;
+    }
+
+    public void setPartitionLevelCircuitBreakerEnabled(List<Boolean> partitionLevelCircuitBreakerEnabled) {
+        this.partitionLevelCircuitBreakerEnabled = partitionLevelCircuitBreakerEnabled;
+    }
+
+    public List<String> getCircuitBreakerTypes() {
+        return circuitBreakerTypes;
+    }
+
+    public void setCircuitBreakerTypes(List<String> circuitBreakerTypes) {
+        this.circuitBreakerTypes = circuitBreakerTypes;
+    }
+
+    public List<Integer> getConsecutiveExceptionCountsToleratedForReads() {
+        return consecutiveExceptionCountsToleratedForReads;
+    }
+
+    public void setConsecutiveExceptionCountsToleratedForReads(List<Integer> consecutiveExceptionCountsToleratedForReads) {
+        this.consecutiveExceptionCountsToleratedForReads = consecutiveExceptionCountsToleratedForReads;
+    }
+
+    public List<Integer> getConsecutiveExceptionCountsToleratedForWrites() {
+        return consecutiveExceptionCountsToleratedForWrites;
+    }
+
+    public void setConsecutiveExceptionCountsToleratedForWrites(List<Integer> consecutiveExceptionCountsToleratedForWrites) {
+        this.consecutiveExceptionCountsToleratedForWrites = consecutiveExceptionCountsToleratedForWrites;
+    }
+
+    public List<Boolean> getThresholdBasedAvailabilityStrategyEnabled() {
+        return thresholdBasedAvailabilityStrategyEnabled;
+    }
+
+    public void setThresholdBasedAvailabilityStrategyEnabled(List<Boolean> thresholdBasedAvailabilityStrategyEnabled) {
+        this.thresholdBasedAvailabilityStrategyEnabled = thresholdBasedAvailabilityStrategyEnabled;
+    }
+}
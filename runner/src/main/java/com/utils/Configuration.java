@@ -0,0 +1,891 @@
+package com.utils;
+
+import com.azure.cosmos.ConnectionMode;
+import com.azure.cosmos.implementation.TestConfigurations;
+import com.benchmarking.coordination.CoordinationMode;
+import com.benchmarking.target.WorkloadTargetType;
+import com.benchmarking.workload.KeyDistribution;
+import com.benchmarking.workload.KeySubset;
+import com.benchmarking.workload.LoadMode;
+import com.benchmarking.workload.WorkerMode;
+import com.benchmarking.workload.WorkloadMix;
+import com.beust.jcommander.IStringConverter;
+import com.beust.jcommander.Parameter;
+
+import java.time.Duration;
+import java.util.Locale;
+
+public class Configuration {
+
+    @Parameter(names = "-serviceEndpoint", description = "The service endpoint.")
+    private String serviceEndpoint = TestConfigurations.HOST;
+
+    @Parameter(names = "-masterKey", description = "The master key for the account.")
+    private String masterKey = TestConfigurations.MASTER_KEY;
+
+    @Parameter(names = "-databaseName", description = "The database name.")
+    private String databaseName = "circuitBreakerTestDb";
+
+    @Parameter(names = "-containerName", description = "The container name.")
+    private String containerName = "circuitBreakerTestContainer";
+
+    @Parameter(names = "-connectionMode", description = "The connectivity mode - DIRECT / GATEWAY.", converter = ConnectionModeConverter.class)
+    private ConnectionMode connectionMode = ConnectionMode.DIRECT;
+
+    @Parameter(names = "-isThresholdBasedAvailabilityStrategyEnabled", description = "A boolean flag which indicates whether threshold based availability strategy is enabled.", arity = 1)
+    private boolean isThresholdBasedAvailabilityStrategyEnabled = false;
+
+    @Parameter(names = "-preferredRegions", description = "Comma separated preferred regions list.")
+    private String commaSeparatedPreferredRegions = "East US, South Central US";
+
+    @Parameter(names = "-faultInjectionPeriodicity", description = "The time interval at which a certain set of faults will be injected.", converter = DurationConverter.class)
+    private Duration faultInjectionPeriodicity = Duration.ofMinutes(2);
+
+    @Parameter(names = "-runDuration", description = "The duration for which the workload should run.", converter = DurationConverter.class)
+    private Duration runDuration = Duration.ofMinutes(5);
+
+    @Parameter(names = "-pointOperationEndToEndTimeout", description = "The end-to-end operation timeout for a point operation.", converter = DurationConverter.class)
+    private Duration pointOperationEndToEndTimeout = Duration.ofSeconds(3);
+
+    @Parameter(names = "-itemCountToPreCreate", description = "The count of items to create right after creating the container.")
+    private int itemCountToPreCreate = 100;
+
+    @Parameter(names = "-operationTaskCount", description = "The count of independent workers used to run the operation workload when a thread based worker mode is used.")
+    private int operationTaskCount = 5;
+
+    @Parameter(names = "-workerMode", description = "The worker model used to run the operation workload - REACTIVE / PLATFORM_THREADS / VIRTUAL_THREADS.", converter = WorkerModeConverter.class)
+    private WorkerMode workerMode = WorkerMode.REACTIVE;
+
+    @Parameter(names = "-workloadMix", description = "The relative weights of the operation types in the workload, e.g. read=70,upsert=20,patch=5,query=5.", converter = WorkloadMixConverter.class)
+    private WorkloadMix workloadMix = WorkloadMix.parse("read=100");
+
+    @Parameter(names = "-keyDistribution", description = "The distribution of keys targeted by operations across all pre-created items - UNIFORM / ZIPFIAN / HOTSPOT / SEQUENTIAL.", converter = KeyDistributionConverter.class)
+    private KeyDistribution keyDistribution = KeyDistribution.UNIFORM;
+
+    @Parameter(names = "-zipfianSkew", description = "The skew of the ZIPFIAN key distribution, higher values concentrate operations on fewer keys.")
+    private double zipfianSkew = 0.99;
+
+    @Parameter(names = "-hotspotKeyFraction", description = "The fraction of keys which are hot in the HOTSPOT key distribution.")
+    private double hotspotKeyFraction = 0.2;
+
+    @Parameter(names = "-hotspotOperationFraction", description = "The fraction of operations which target hot keys in the HOTSPOT key distribution.")
+    private double hotspotOperationFraction = 0.8;
+
+    @Parameter(names = "-targetKeySubset", description = "The subset of keys targeted by the workload - ALL / FAULTED / HEALTHY, FAULTED and HEALTHY are derived from the feed ranges of the fault injection payload.", converter = KeySubsetConverter.class)
+    private KeySubset targetKeySubset = KeySubset.ALL;
+
+    @Parameter(names = "-loadMode", description = "The load generation mode - CLOSED_LOOP / OPEN_LOOP. OPEN_LOOP issues operations on a fixed schedule and additionally reports coordinated-omission-corrected latency.", converter = LoadModeConverter.class)
+    private LoadMode loadMode = LoadMode.CLOSED_LOOP;
+
+    @Parameter(names = "-maxInFlightOperations", description = "The maximum count of operations which can be outstanding at any point in time.")
+    private int maxInFlightOperations = 256;
+
+    @Parameter(names = "-targetOperationsPerSecond", description = "The rate at which operations are issued by every client against every container, a non-positive value issues operations as fast as maxInFlightOperations allows.")
+    private int targetOperationsPerSecond = 1_000;
+
+    @Parameter(names = "-metricsReportingInterval", description = "The interval at which latency histograms are merged, logged and written to the interval histogram log.", converter = DurationConverter.class)
+    private Duration metricsReportingInterval = Duration.ofSeconds(10);
+
+    @Parameter(names = "-metricsOutputDirectory", description = "The directory under which a run specific directory with HdrHistogram logs and captured diagnostics is created.")
+    private String metricsOutputDirectory = "metrics-output";
+
+    @Parameter(names = "-containerManualProvisionedThroughput", description = "The manual provisioned throughput to be set on the container if not already created.")
+    private int containerManualProvisionedThroughput = 12_000;
+
+    @Parameter(names = "-faultInjectionPayloadId", description = "The id of the fault injection payload which encapsulates fault settings.")
+    private String faultInjectionPayloadId = "partition_gone_inject_type_1.json";
+
+    @Parameter(names = "-scenarioId", description = "The id of a scenario file in the scenarios directory. When set, load levels and fault injections follow the scenario timeline instead of the periodic re-injection of faultInjectionPayloadId.")
+    private String scenarioId;
+
+    @Parameter(names = "-diagnosticsSamplingRate", description = "The fraction of failed operations whose diagnostics are captured, on top of the always captured ones.")
+    private double diagnosticsSamplingRate = 0.01;
+
+    @Parameter(names = "-diagnosticsCapturesPerFaultWindow", description = "The count of failed operations at the start of every fault window whose diagnostics are always captured.")
+    private int diagnosticsCapturesPerFaultWindow = 10;
+
+    @Parameter(names = "-diagnosticsLatencyThreshold", description = "Diagnostics of any operation slower than this threshold are always captured.", converter = DurationConverter.class)
+    private Duration diagnosticsLatencyThreshold = Duration.ofSeconds(1);
+
+    @Parameter(names = "-diagnosticsBufferCapacity", description = "The count of captured diagnostics buffered for the background writer, captures which do not fit are dropped and counted.")
+    private int diagnosticsBufferCapacity = 16_384;
+
+    @Parameter(names = "-clientCount", description = "The count of CosmosAsyncClient instances, every client runs its own workload against every container.")
+    private int clientCount = 1;
+
+    @Parameter(names = "-containerCount", description = "The count of containers, with more than one container the containers are named containerName-0, containerName-1 and so on.")
+    private int containerCount = 1;
+
+    @Parameter(names = "-isConnectionSharingAcrossClientsEnabled", description = "A boolean flag which indicates whether clients share direct mode connections and their event loops when more than one client is used.", arity = 1)
+    private boolean isConnectionSharingAcrossClientsEnabled = true;
+
+    @Parameter(names = "-coordinationMode", description = "The role of this process in a multi-process run - STANDALONE / COORDINATOR / AGENT.", converter = CoordinationModeConverter.class)
+    private CoordinationMode coordinationMode = CoordinationMode.STANDALONE;
+
+    @Parameter(names = "-coordinatorAddress", description = "The host:port of the coordinator, the coordinator listens on the port on all interfaces.")
+    private String coordinatorAddress = "localhost:7077";
+
+    @Parameter(names = "-agentCount", description = "The count of agents the coordinator waits for before starting the run.")
+    private int agentCount = 1;
+
+    @Parameter(names = "-agentId", description = "The id of an agent in the cluster report, defaults to agent-<pid>.")
+    private String agentId;
+
+    @Parameter(names = "-coordinationStartDelay", description = "The delay between the last agent becoming ready and the synchronized start of the run.", converter = DurationConverter.class)
+    private Duration coordinationStartDelay = Duration.ofSeconds(5);
+
+    @Parameter(names = "-workloadTarget", description = "The target the workload runs against - COSMOS for a live account / SIMULATED for an in-process simulated account.", converter = WorkloadTargetTypeConverter.class)
+    private WorkloadTargetType workloadTarget = WorkloadTargetType.COSMOS;
+
+    @Parameter(names = "-simulatedFeedRangeCount", description = "The count of feed ranges of every simulated container.")
+    private int simulatedFeedRangeCount = 4;
+
+    @Parameter(names = "-simulatedRegionLatencies", description = "The median and p99 latency in milliseconds per simulated region, e.g. East US=2/10,West US=40/80.")
+    private String simulatedRegionLatencies = "";
+
+    @Parameter(names = "-preloadChunkSize", description = "The count of items upserted between two checkpoints of the item preload.")
+    private int preloadChunkSize = 10000;
+
+    @Parameter(names = "-preloadMaxMicroBatchConcurrency", description = "The upper bound of the micro batch concurrency of the item preload, between 1 and 5, lowered while throttled.")
+    private int preloadMaxMicroBatchConcurrency = 5;
+
+    @Parameter(names = "-documentSizes", description = "Weighted serialized sizes of written documents, e.g. 1KB=70,8KB=25,20KB=5, empty for documents without padding")
+    private String documentSizes = "";
+
+    @Parameter(names = "-documentFieldCount", description = "Number of string fields of written documents besides the id, documentSizes needs at least one")
+    private int documentFieldCount = 0;
+
+    @Parameter(names = "-documentNestingDepth", description = "Number of nested object levels the document fields are spread over")
+    private int documentNestingDepth = 0;
+
+    @Parameter(names = "-documentPayloadPoolSize", description = "Number of distinct pre-serialized documents written by the preload and the workload")
+    private int documentPayloadPoolSize = 256;
+
+    @Parameter(names = "-isPartitionLevelCircuitBreakerEnabled", description = "A boolean flag which indicates whether the partition level circuit breaker is enabled.", arity = 1)
+    private boolean isPartitionLevelCircuitBreakerEnabled = true;
+
+    @Parameter(names = "-circuitBreakerType", description = "Type of the partition level circuit breaker, passed to the SDK as is")
+    private String circuitBreakerType = "CONSECUTIVE_EXCEPTION_COUNT_BASED";
+
+    @Parameter(names = "-consecutiveExceptionCountToleratedForReads", description = "Consecutive read failures of a partition in a region after which the circuit breaker marks the region unavailable for the partition")
+    private int consecutiveExceptionCountToleratedForReads = 10;
+
+    @Parameter(names = "-consecutiveExceptionCountToleratedForWrites", description = "Consecutive write failures of a partition in a region after which the circuit breaker marks the region unavailable for the partition")
+    private int consecutiveExceptionCountToleratedForWrites = 5;
+
+    @Parameter(names = "-sweepId", description = "File in the sweeps directory with a matrix of circuit breaker settings, every combination runs the configured workload and faults with fresh clients")
+    private String sweepId;
+
+    @Parameter(names = "-availabilityStrategyThreshold", description = "Latency after which the threshold based availability strategy sends the first hedged request to the next region", converter = DurationConverter.class)
+    private Duration availabilityStrategyThreshold = Duration.ofMillis(500);
+
+    @Parameter(names = "-availabilityStrategyThresholdStep", description = "Additional latency after which every further region gets a hedged request", converter = DurationConverter.class)
+    private Duration availabilityStrategyThresholdStep = Duration.ofMillis(100);
+
+    @Parameter(names = "-availabilityStrategyControlFraction", description = "Fraction of operations issued without the availability strategy as a control group for its latency gain")
+    private double availabilityStrategyControlFraction = 0;
+
+    @Parameter(names = "-proactiveConnectionRegionsCount", description = "Number of preferred regions to which clients open connections and populate their caches for the containers before the workload starts, in direct mode, 0 disables proactive initialization")
+    private int proactiveConnectionRegionsCount = 0;
+
+    @Parameter(names = "-aggressiveWarmupDuration", description = "Duration for which building a client blocks on proactive initialization, remaining connections are opened in the background", converter = DurationConverter.class)
+    private Duration aggressiveWarmupDuration = Duration.ofSeconds(15);
+
+    @Parameter(names = "-warmupDuration", description = "Longest warm-up load before the measured run, it ends earlier once throughput is stable, metrics are reset afterwards, 0 disables the warm-up", converter = DurationConverter.class)
+    private Duration warmupDuration = Duration.ZERO;
+
+    @Parameter(names = "-warmupTargetOperationsPerSecond", description = "The rate of the warm-up load per client and container, the rate of the run when not set")
+    private Integer warmupTargetOperationsPerSecond;
+
+    @Parameter(names = "-warmupStabilityTolerance", description = "Relative deviation from their mean within which the per second throughputs of the warm-up window count as stable")
+    private double warmupStabilityTolerance = 0.1;
+
+    @Parameter(names = "-faultRulePollingInterval", description = "The interval at which the hit counts of the fault rules are polled and written to fault-rules.csv.", converter = DurationConverter.class)
+    private Duration faultRulePollingInterval = Duration.ofSeconds(1);
+
+    @Parameter(names = "-metricsEndpointPort", description = "The port of an HTTP endpoint serving the metrics of the run in Prometheus text format at /metrics, no endpoint when not set.")
+    private Integer metricsEndpointPort;
+
+    @Parameter(names = "-metricsEndpointRefreshInterval", description = "The interval at which the snapshot served by the metrics endpoint is rebuilt.", converter = DurationConverter.class)
+    private Duration metricsEndpointRefreshInterval = Duration.ofSeconds(5);
+
+    public String getServiceEndpoint() {
+        return serviceEndpoint;
+    }
+
+    public Configuration setServiceEndpoint(String serviceEndpoint) {
+        this.serviceEndpoint = serviceEndpoint;
+        return this;
+    }
+
+    public Duration getPointOperationEndToEndTimeout() {
+        return pointOperationEndToEndTimeout;
+    }
+
+    public Configuration setPointOperationEndToEndTimeout(Duration pointOperationEndToEndTimeout) {
+        this.pointOperationEndToEndTimeout = pointOperationEndToEndTimeout;
+        return this;
+    }
+
+    public Duration getRunDuration() {
+        return this.runDuration;
+    }
+
+    public Configuration setRunDuration(Duration runDuration) {
+        this.runDuration = runDuration;
+        return this;
+    }
+
+    public Duration getFaultInjectionPeriodicity() {
+        return faultInjectionPeriodicity;
+    }
+
+    public Configuration setFaultInjectionPeriodicity(Duration faultInjectionPeriodicity) {
+        this.faultInjectionPeriodicity = faultInjectionPeriodicity;
+        return this;
+    }
+
+    public String getCommaSeparatedPreferredRegions() {
+        return commaSeparatedPreferredRegions;
+    }
+
+    public Configuration setCommaSeparatedPreferredRegions(String commaSeparatedPreferredRegions) {
+        this.commaSeparatedPreferredRegions = commaSeparatedPreferredRegions;
+        return this;
+    }
+
+    public boolean isThresholdBasedAvailabilityStrategyEnabled() {
+        return isThresholdBasedAvailabilityStrategyEnabled;
+    }
+
+    public Configuration setThresholdBasedAvailabilityStrategyEnabled(boolean thresholdBasedAvailabilityStrategyEnabled) {
+        isThresholdBasedAvailabilityStrategyEnabled = thresholdBasedAvailabilityStrategyEnabled;
+        return this;
+    }
+
+    public ConnectionMode getConnectionMode() {
+        return connectionMode;
+    }
+
+    public Configuration setConnectionMode(ConnectionMode connectionMode) {
+        this.connectionMode = connectionMode;
+        return this;
+    }
+
+    public String getContainerName() {
+        return containerName;
+    }
+
+    public Configuration setContainerName(String containerName) {
+        this.containerName = containerName;
+        return this;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public Configuration setDatabaseName(String databaseName) {
+        this.databaseName = databaseName;
+        return this;
+    }
+
+    public String getMasterKey() {
+        return masterKey;
+    }
+
+    public Configuration setMasterKey(String masterKey) {
+        this.masterKey = masterKey;
+        return this;
+    }
+
+    public int getItemCountToPreCreate() {
+        return itemCountToPreCreate;
+    }
+
+    public Configuration setItemCountToPreCreate(int itemCountToPreCreate) {
+        this.itemCountToPreCreate = itemCountToPreCreate;
+        return this;
+    }
+
+    public int getOperationTaskCount() {
+        return operationTaskCount;
+    }
+
+    public Configuration setOperationTaskCount(int operationTaskCount) {
+        this.operationTaskCount = operationTaskCount;
+        return this;
+    }
+
+    public WorkerMode getWorkerMode() {
+        return workerMode;
+    }
+
+    public Configuration setWorkerMode(WorkerMode workerMode) {
+        this.workerMode = workerMode;
+        return this;
+    }
+
+    public WorkloadMix getWorkloadMix() {
+        return workloadMix;
+    }
+
+    public Configuration setWorkloadMix(WorkloadMix workloadMix) {
+        this.workloadMix = workloadMix;
+        return this;
+    }
+
+    public KeyDistribution getKeyDistribution() {
+        return keyDistribution;
+    }
+
+    public Configuration setKeyDistribution(KeyDistribution keyDistribution) {
+        this.keyDistribution = keyDistribution;
+        return this;
+    }
+
+    public double getZipfianSkew() {
+        return zipfianSkew;
+    }
+
+    public Configuration setZipfianSkew(double zipfianSkew) {
+        this.zipfianSkew = zipfianSkew;
+        return this;
+    }
+
+    public double getHotspotKeyFraction() {
+        return hotspotKeyFraction;
+    }
+
+    public Configuration setHotspotKeyFraction(double hotspotKeyFraction) {
+        this.hotspotKeyFraction = hotspotKeyFraction;
+        return this;
+    }
+
+    public double getHotspotOperationFraction() {
+        return hotspotOperationFraction;
+    }
+
+    public Configuration setHotspotOperationFraction(double hotspotOperationFraction) {
+        this.hotspotOperationFraction = hotspotOperationFraction;
+        return this;
+    }
+
+    public KeySubset getTargetKeySubset() {
+        return targetKeySubset;
+    }
+
+    public Configuration setTargetKeySubset(KeySubset targetKeySubset) {
+        this.targetKeySubset = targetKeySubset;
+        return this;
+    }
+
+    public LoadMode getLoadMode() {
+        return loadMode;
+    }
+
+    public Configuration setLoadMode(LoadMode loadMode) {
+        this.loadMode = loadMode;
+        return this;
+    }
+
+    public int getMaxInFlightOperations() {
+        return maxInFlightOperations;
+    }
+
+    public Configuration setMaxInFlightOperations(int maxInFlightOperations) {
+        this.maxInFlightOperations = maxInFlightOperations;
+        return this;
+    }
+
+    public int getTargetOperationsPerSecond() {
+        return targetOperationsPerSecond;
+    }
+
+    public Configuration setTargetOperationsPerSecond(int targetOperationsPerSecond) {
+        this.targetOperationsPerSecond = targetOperationsPerSecond;
+        return this;
+    }
+
+    public Duration getMetricsReportingInterval() {
+        return metricsReportingInterval;
+    }
+
+    public Configuration setMetricsReportingInterval(Duration metricsReportingInterval) {
+        this.metricsReportingInterval = metricsReportingInterval;
+        return this;
+    }
+
+    public String getMetricsOutputDirectory() {
+        return metricsOutputDirectory;
+    }
+
+    public Configuration setMetricsOutputDirectory(String metricsOutputDirectory) {
+        this.metricsOutputDirectory = metricsOutputDirectory;
+        return this;
+    }
+
+    public int getContainerManualProvisionedThroughput() {
+        return containerManualProvisionedThroughput;
+    }
+
+    public Configuration setContainerManualProvisionedThroughput(int containerManualProvisionedThroughput) {
+        this.containerManualProvisionedThroughput = containerManualProvisionedThroughput;
+        return this;
+    }
+
+    public String getFaultInjectionPayloadId() {
+        return faultInjectionPayloadId;
+    }
+
+    public Configuration setFaultInjectionPayloadId(String faultInjectionPayloadId) {
+        this.faultInjectionPayloadId = faultInjectionPayloadId;
+        return this;
+    }
+
+    public String getScenarioId() {
+        return scenarioId;
+    }
+
+    public Configuration setScenarioId(String scenarioId) {
+        this.scenarioId = scenarioId;
+        return this;
+    }
+
+    public double getDiagnosticsSamplingRate() {
+        return diagnosticsSamplingRate;
+    }
+
+    public Configuration setDiagnosticsSamplingRate(double diagnosticsSamplingRate) {
+        this.diagnosticsSamplingRate = diagnosticsSamplingRate;
+        return this;
+    }
+
+    public int getDiagnosticsCapturesPerFaultWindow() {
+        return diagnosticsCapturesPerFaultWindow;
+    }
+
+    public Configuration setDiagnosticsCapturesPerFaultWindow(int diagnosticsCapturesPerFaultWindow) {
+        this.diagnosticsCapturesPerFaultWindow = diagnosticsCapturesPerFaultWindow;
+        return this;
+    }
+
+    public Duration getDiagnosticsLatencyThreshold() {
+        return diagnosticsLatencyThreshold;
+    }
+
+    public Configuration setDiagnosticsLatencyThreshold(Duration diagnosticsLatencyThreshold) {
+        this.diagnosticsLatencyThreshold = diagnosticsLatencyThreshold;
+        return this;
+    }
+
+    public int getDiagnosticsBufferCapacity() {
+        return diagnosticsBufferCapacity;
+    }
+
+    public Configuration setDiagnosticsBufferCapacity(int diagnosticsBufferCapacity) {
+        this.diagnosticsBufferCapacity = diagnosticsBufferCapacity;
+        return this;
+    }
+
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    public Configuration setClientCount(int clientCount) {
+        this.clientCount = clientCount;
+        return this;
+    }
+
+    public int getContainerCount() {
+        return containerCount;
+    }
+
+    public Configuration setContainerCount(int containerCount) {
+        this.containerCount = containerCount;
+        return this;
+    }
+
+    public boolean isConnectionSharingAcrossClientsEnabled() {
+        return isConnectionSharingAcrossClientsEnabled;
+    }
+
+    public Configuration setConnectionSharingAcrossClientsEnabled(boolean isConnectionSharingAcrossClientsEnabled) {
+        this.isConnectionSharingAcrossClientsEnabled = isConnectionSharingAcrossClientsEnabled;
+        return this;
+    }
+
+    public CoordinationMode getCoordinationMode() {
+        return coordinationMode;
+    }
+
+    public Configuration setCoordinationMode(CoordinationMode coordinationMode) {
+        this.coordinationMode = coordinationMode;
+        return this;
+    }
+
+    public String getCoordinatorAddress() {
+        return coordinatorAddress;
+    }
+
+    public Configuration setCoordinatorAddress(String coordinatorAddress) {
+        this.coordinatorAddress = coordinatorAddress;
+        return this;
+    }
+
+    public int getAgentCount() {
+        return agentCount;
+    }
+
+    public Configuration setAgentCount(int agentCount) {
+        this.agentCount = agentCount;
+        return this;
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public Configuration setAgentId(String agentId) {
+        this.agentId = agentId;
+        return this;
+    }
+
+    public Duration getCoordinationStartDelay() {
+        return coordinationStartDelay;
+    }
+
+    public Configuration setCoordinationStartDelay(Duration coordinationStartDelay) {
+        this.coordinationStartDelay = coordinationStartDelay;
+        return this;
+    }
+
+    public WorkloadTargetType getWorkloadTarget() {
+        return workloadTarget;
+    }
+
+    public Configuration setWorkloadTarget(WorkloadTargetType workloadTarget) {
+        this.workloadTarget = workloadTarget;
+        return this;
+    }
+
+    public int getSimulatedFeedRangeCount() {
+        return simulatedFeedRangeCount;
+    }
+
+    public Configuration setSimulatedFeedRangeCount(int simulatedFeedRangeCount) {
+        this.simulatedFeedRangeCount = simulatedFeedRangeCount;
+        return this;
+    }
+
+    public String getSimulatedRegionLatencies() {
+        return simulatedRegionLatencies;
+    }
+
+    public Configuration setSimulatedRegionLatencies(String simulatedRegionLatencies) {
+        this.simulatedRegionLatencies = simulatedRegionLatencies;
+        return this;
+    }
+
+    public int getPreloadChunkSize() {
+        return preloadChunkSize;
+    }
+
+    public Configuration setPreloadChunkSize(int preloadChunkSize) {
+        this.preloadChunkSize = preloadChunkSize;
+        return this;
+    }
+
+    public int getPreloadMaxMicroBatchConcurrency() {
+        return preloadMaxMicroBatchConcurrency;
+    }
+
+    public Configuration setPreloadMaxMicroBatchConcurrency(int preloadMaxMicroBatchConcurrency) {
+        this.preloadMaxMicroBatchConcurrency = preloadMaxMicroBatchConcurrency;
+        return this;
+    }
+
+    public String getDocumentSizes() {
+        return documentSizes;
+    }
+
+    public Configuration setDocumentSizes(String documentSizes) {
+        this.documentSizes = documentSizes;
+        return this;
+    }
+
+    public int getDocumentFieldCount() {
+        return documentFieldCount;
+    }
+
+    public Configuration setDocumentFieldCount(int documentFieldCount) {
+        this.documentFieldCount = documentFieldCount;
+        return this;
+    }
+
+    public int getDocumentNestingDepth() {
+        return documentNestingDepth;
+    }
+
+    public Configuration setDocumentNestingDepth(int documentNestingDepth) {
+        this.documentNestingDepth = documentNestingDepth;
+        return this;
+    }
+
+    public int getDocumentPayloadPoolSize() {
+        return documentPayloadPoolSize;
+    }
+
+    public Configuration setDocumentPayloadPoolSize(int documentPayloadPoolSize) {
+        this.documentPayloadPoolSize = documentPayloadPoolSize;
+        return this;
+    }
+
+    public boolean isPartitionLevelCircuitBreakerEnabled() {
+        return isPartitionLevelCircuitBreakerEnabled;
+    }
+
+    public Configuration setPartitionLevelCircuitBreakerEnabled(boolean isPartitionLevelCircuitBreakerEnabled) {
+        this.isPartitionLevelCircuitBreakerEnabled = isPartitionLevelCircuitBreakerEnabled;
+        return this;
+    }
+
+    public String getCircuitBreakerType() {
+        return circuitBreakerType;
+    }
+
+    public Configuration setCircuitBreakerType(String circuitBreakerType) {
+        this.circuitBreakerType = circuitBreakerType;
+        return this;
+    }
+
+    public int getConsecutiveExceptionCountToleratedForReads() {
+        return consecutiveExceptionCountToleratedForReads;
+    }
+
+    public Configuration setConsecutiveExceptionCountToleratedForReads(int consecutiveExceptionCountToleratedForReads) {
+        this.consecutiveExceptionCountToleratedForReads = consecutiveExceptionCountToleratedForReads;
+        return this;
+    }
+
+    public int getConsecutiveExceptionCountToleratedForWrites() {
+        return consecutiveExceptionCountToleratedForWrites;
+    }
+
+    public Configuration setConsecutiveExceptionCountToleratedForWrites(int consecutiveExceptionCountToleratedForWrites) {
+        this.consecutiveExceptionCountToleratedForWrites = consecutiveExceptionCountToleratedForWrites;
+        return this;
+    }
+
+    public String getSweepId() {
+        return sweepId;
+    }
+
+    public Configuration setSweepId(String sweepId) {
+        this.sweepId = sweepId;
+        return this;
+    }
+
+    public Duration getAvailabilityStrategyThreshold() {
+        return availabilityStrategyThreshold;
+    }
+
+    public Configuration setAvailabilityStrategyThreshold(Duration availabilityStrategyThreshold) {
+        this.availabilityStrategyThreshold = availabilityStrategyThreshold;
+        return this;
+    }
+
+    public Duration getAvailabilityStrategyThresholdStep() {
+        return availabilityStrategyThresholdStep;
+    }
+
+    public Configuration setAvailabilityStrategyThresholdStep(Duration availabilityStrategyThresholdStep) {
+        this.availabilityStrategyThresholdStep = availabilityStrategyThresholdStep;
+        return this;
+    }
+
+    public double getAvailabilityStrategyControlFraction() {
+        return availabilityStrategyControlFraction;
+    }
+
+    public Configuration setAvailabilityStrategyControlFraction(double availabilityStrategyControlFraction) {
+        this.availabilityStrategyControlFraction = availabilityStrategyControlFraction;
+        return this;
+    }
+
+    public int getProactiveConnectionRegionsCount() {
+        return proactiveConnectionRegionsCount;
+    }
+
+    public Configuration setProactiveConnectionRegionsCount(int proactiveConnectionRegionsCount) {
+        this.proactiveConnectionRegionsCount = proactiveConnectionRegionsCount;
+        return this;
+    }
+
+    public Duration getAggressiveWarmupDuration() {
+        return aggressiveWarmupDuration;
+    }
+
+    public Configuration setAggressiveWarmupDuration(Duration aggressiveWarmupDuration) {
+        this.aggressiveWarmupDuration = aggressiveWarmupDuration;
+        return this;
+    }
+
+    public Duration getWarmupDuration() {
+        return warmupDuration;
+    }
+
+    public Configuration setWarmupDuration(Duration warmupDuration) {
+        this.warmupDuration = warmupDuration;
+        return this;
+    }
+
+    public Integer getWarmupTargetOperationsPerSecond() {
+        return warmupTargetOperationsPerSecond;
+    }
+
+    public Configuration setWarmupTargetOperationsPerSecond(Integer warmupTargetOperationsPerSecond) {
+        this.warmupTargetOperationsPerSecond = warmupTargetOperationsPerSecond;
+        return this;
+    }
+
+    public double getWarmupStabilityTolerance() {
+        return warmupStabilityTolerance;
+    }
+
+    public Configuration setWarmupStabilityTolerance(double warmupStabilityTolerance) {
+        this.warmupStabilityTolerance = warmupStabilityTolerance;
+        return this;
+    }
+
+    public Duration getFaultRulePollingInterval() {
+        return faultRulePollingInterval;
+    }
+
+    public Configuration setFaultRulePollingInterval(Duration faultRulePollingInterval) {
+        this.faultRulePollingInterval = faultRulePollingInterval;
+        return this;
+    }
+
+    public Integer getMetricsEndpointPort() {
+        return metricsEndpointPort;
+    }
+
+    public Configuration setMetricsEndpointPort(Integer metricsEndpointPort) {
+        this.metricsEndpointPort = metricsEndpointPort;
+        return this;
+    }
+
+    public Duration getMetricsEndpointRefreshInterval() {
+        return metricsEndpointRefreshInterval;
+    }
+
+    public Configuration setMetricsEndpointRefreshInterval(Duration metricsEndpointRefreshInterval) {
+        this.metricsEndpointRefreshInterval = metricsEndpointRefreshInterval;
+        return this;
+    }
+
+    static class DurationConverter implements IStringConverter<Duration> {
+        @Override
+        public Duration convert(String value) {
+            if (value == null) {
+                return null;
+            }
+
+            return Duration.parse(value);
+        }
+    }
+
+    static class ConnectionModeConverter implements IStringConverter<ConnectionMode> {
+
+        @Override
+        public ConnectionMode convert(String value) {
+            String normalizedConnectionModeAsString
+                    = value.toLowerCase(Locale.ROOT).replace(" ", "").trim();
+
+            ConnectionMode result;
+
+            if (normalizedConnectionModeAsString.equals("gateway")) {
+                result = ConnectionMode.GATEWAY;
+            } else {
+                result = ConnectionMode.DIRECT;
+            }
+
+            return result;
+        }
+    }
+
+    static class WorkerModeConverter implements IStringConverter<WorkerMode> {
+
+        @Override
+        public WorkerMode convert(String value) {
+            String normalizedWorkerModeAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").trim();
+
+            return WorkerMode.valueOf(normalizedWorkerModeAsString);
+        }
+    }
+
+    static class LoadModeConverter implements IStringConverter<LoadMode> {
+
+        @Override
+        public LoadMode convert(String value) {
+            String normalizedLoadModeAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").replace("-", "_").trim();
+
+            return LoadMode.valueOf(normalizedLoadModeAsString);
+        }
+    }
+
+    static class WorkloadMixConverter implements IStringConverter<WorkloadMix> {
+
+        @Override
+        public WorkloadMix convert(String value) {
+            return WorkloadMix.parse(value);
+        }
+    }
+
+    static class KeyDistributionConverter implements IStringConverter<KeyDistribution> {
+
+        @Override
+        public KeyDistribution convert(String value) {
+            String normalizedKeyDistributionAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").trim();
+
+            return KeyDistribution.valueOf(normalizedKeyDistributionAsString);
+        }
+    }
+
+    static class KeySubsetConverter implements IStringConverter<KeySubset> {
+
+        @Override
+        public KeySubset convert(String value) {
+            String normalizedKeySubsetAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").trim();
+
+            return KeySubset.valueOf(normalizedKeySubsetAsString);
+        }
+    }
+
+    static class CoordinationModeConverter implements IStringConverter<CoordinationMode> {
+
+        @Override
+        public CoordinationMode convert(String value) {
+            String normalizedCoordinationModeAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").trim();
+
+            return CoordinationMode.valueOf(normalizedCoordinationModeAsString);
+        }
+    }
+
+    static class WorkloadTargetTypeConverter implements IStringConverter<WorkloadTargetType> {
+
+        @Override
+        public WorkloadTargetType convert(String value) {
+            String normalizedWorkloadTargetTypeAsString
+                    = value.toUpperCase(Locale.ROOT).replace(" ", "").trim();
+
+            return WorkloadTargetType.valueOf(normalizedWorkloadTargetTypeAsString);
+        }
+    }
+}
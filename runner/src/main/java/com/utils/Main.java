@@ -0,0 +1,31 @@
+package com.utils;
+
+import com.benchmarking.PerPartitionCircuitBreakerChaosRunner;
+import com.benchmarking.coordination.CoordinationMode;
+import com.benchmarking.coordination.RunCoordinator;
+import com.benchmarking.sweep.CircuitBreakerSweep;
+import com.beust.jcommander.JCommander;
+
+public class Main {
+    public static void main(String[] args) {
+
+        Configuration config = new Configuration();
+
+        JCommander jCommander = new JCommander(config, null, args);
+
+        if (config.getCoordinationMode() == CoordinationMode.COORDINATOR) {
+            RunCoordinator runCoordinator = new RunCoordinator();
+            runCoordinator.run(config);
+            return;
+        }
+
+        if (config.getSweepId() != null) {
+            CircuitBreakerSweep circuitBreakerSweep = new CircuitBreakerSweep();
+            circuitBreakerSweep.run(config);
+            return;
+        }
+
+        PerPartitionCircuitBreakerChaosRunner perPartitionCircuitBreakerChaosRunner = new PerPartitionCircuitBreakerChaosRunner();
+        perPartitionCircuitBreakerChaosRunner.run(config);
+    }
+}
\ No newline at end of file